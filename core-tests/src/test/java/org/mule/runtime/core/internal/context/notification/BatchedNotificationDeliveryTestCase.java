@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.mule.runtime.core.internal.context.notification.BatchedNotificationDelivery.OverflowPolicy.BLOCK;
+import static org.mule.runtime.core.internal.context.notification.BatchedNotificationDelivery.OverflowPolicy.DROP;
+import static org.mule.runtime.core.internal.context.notification.BatchedNotificationDelivery.OverflowPolicy.SAMPLE;
+
+import static java.lang.Thread.State.TIMED_WAITING;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.core.api.context.notification.Event1;
+import org.mule.runtime.core.internal.context.notification.BatchedNotificationDelivery.OverflowPolicy;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BatchedNotificationDeliveryTestCase extends AbstractMuleTestCase {
+
+  private final List<Runnable> liteTasks = new ArrayList<>();
+  private final List<Runnable> ioTasks = new ArrayList<>();
+  private final List<Notification> received = new ArrayList<>();
+
+  private ExecutorService liteExecutor;
+  private ExecutorService ioExecutor;
+  private NotificationListener<Notification> listener;
+
+  @Before
+  public void before() {
+    liteExecutor = mockExecutor(liteTasks);
+    ioExecutor = mockExecutor(ioTasks);
+    listener = received::add;
+  }
+
+  @Test
+  public void notificationsAreDeliveredInBatches() {
+    BatchedNotificationDelivery delivery = createDelivery(16, 2, DROP);
+    Notification first = new Event1();
+    Notification second = new Event1();
+    Notification third = new Event1();
+
+    delivery.notify(listener, first);
+    delivery.notify(listener, second);
+    delivery.notify(listener, third);
+    assertThat(liteTasks, hasSize(1));
+
+    runTasks(liteTasks);
+
+    assertThat(received, contains(first, second, third));
+    assertThat(delivery.getDroppedNotifications(), is(0L));
+  }
+
+  @Test
+  public void blockingListenersAreDeliveredInIoExecutor() {
+    BatchedNotificationDelivery delivery = createDelivery(16, 2, DROP);
+    NotificationListener<Notification> blockingListener = new NotificationListener<Notification>() {
+
+      @Override
+      public boolean isBlocking() {
+        return true;
+      }
+
+      @Override
+      public void onNotification(Notification notification) {
+        received.add(notification);
+      }
+    };
+
+    delivery.notify(blockingListener, new Event1());
+
+    assertThat(liteTasks, hasSize(0));
+    assertThat(ioTasks, hasSize(1));
+    runTasks(ioTasks);
+    assertThat(received, hasSize(1));
+  }
+
+  @Test
+  public void notificationsAreDroppedWhenBufferIsFull() {
+    BatchedNotificationDelivery delivery = createDelivery(2, 2, DROP);
+
+    for (int i = 0; i < 5; ++i) {
+      delivery.notify(listener, new Event1());
+    }
+    runTasks(liteTasks);
+
+    assertThat(received, hasSize(2));
+    assertThat(delivery.getDroppedNotifications(listener), is(3L));
+    assertThat(delivery.getDroppedNotifications(), is(3L));
+  }
+
+  @Test
+  public void notificationsAreSampledWhenBufferIsHalfFull() {
+    BatchedNotificationDelivery delivery = createDelivery(8, 8, SAMPLE);
+
+    for (int i = 0; i < 24; ++i) {
+      delivery.notify(listener, new Event1());
+    }
+    runTasks(liteTasks);
+
+    // 4 fill half the buffer, then one of every 10 of the remaining 20
+    assertThat(received, hasSize(6));
+    assertThat(delivery.getDroppedNotifications(listener), is(18L));
+  }
+
+  @Test
+  public void blockedNotificationIsDroppedAfterTimeout() {
+    // The drain task is never run, as when every thread of the executor is waiting for room in the buffer
+    BatchedNotificationDelivery delivery =
+        new BatchedNotificationDelivery(liteExecutor, ioExecutor, 1, 1, BLOCK, 10, 10);
+
+    delivery.notify(listener, new Event1());
+    delivery.notify(listener, new Event1());
+
+    assertThat(delivery.getDroppedNotifications(listener), is(1L));
+    runTasks(liteTasks);
+    assertThat(received, hasSize(1));
+  }
+
+  @Test
+  public void blockedNotificationIsDeliveredOnceThereIsRoom() throws Exception {
+    BatchedNotificationDelivery delivery =
+        new BatchedNotificationDelivery(liteExecutor, ioExecutor, 1, 1, BLOCK, 10, 5000);
+    Notification first = new Event1();
+    Notification second = new Event1();
+    delivery.notify(listener, first);
+
+    Thread blocked = new Thread(() -> delivery.notify(listener, second));
+    blocked.start();
+    // Drain the first notification while the second one waits for room
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> blocked.getState() == TIMED_WAITING));
+    liteTasks.remove(0).run();
+    blocked.join(5000);
+    runTasks(liteTasks);
+
+    assertThat(received, contains(first, second));
+    assertThat(delivery.getDroppedNotifications(listener), is(0L));
+  }
+
+  @Test
+  public void listenerExceptionDoesNotPreventDeliveryOfBatch() {
+    BatchedNotificationDelivery delivery = createDelivery(16, 16, DROP);
+    List<Notification> delivered = new ArrayList<>();
+    NotificationListener<Notification> failingListener = notification -> {
+      delivered.add(notification);
+      throw new IllegalStateException("Expected");
+    };
+
+    delivery.notify(failingListener, new Event1());
+    delivery.notify(failingListener, new Event1());
+    runTasks(liteTasks);
+
+    assertThat(delivered, hasSize(2));
+  }
+
+  private BatchedNotificationDelivery createDelivery(int bufferSize, int batchSize, OverflowPolicy overflowPolicy) {
+    return new BatchedNotificationDelivery(liteExecutor, ioExecutor, bufferSize, batchSize, overflowPolicy, 10);
+  }
+
+  private static ExecutorService mockExecutor(List<Runnable> tasks) {
+    ExecutorService executor = mock(ExecutorService.class);
+    when(executor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+      tasks.add(invocation.getArgument(0));
+      return null;
+    });
+    return executor;
+  }
+
+  private static void runTasks(List<Runnable> tasks) {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.apache.commons.lang3.SerializationUtils.clone;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+@SmallTest
+public class DefaultFlowCallStackTestCase extends AbstractMuleTestCase {
+
+  private final DefaultFlowCallStack flowCallStack = new DefaultFlowCallStack();
+  private final FlowStackElement parent = new FlowStackElement("parent", "parent/processors/0");
+  private final FlowStackElement child = new FlowStackElement("child", "child/processors/0");
+
+  @Test
+  public void pushAndPop() {
+    flowCallStack.push(parent);
+    flowCallStack.push(child);
+
+    assertThat(flowCallStack.peek(), is(sameInstance(child)));
+    assertThat(flowCallStack.getElements(), contains(child, parent));
+    assertThat(flowCallStack.pop(), is(sameInstance(child)));
+    assertThat(flowCallStack.pop(), is(sameInstance(parent)));
+    assertThat(flowCallStack.peek(), is(nullValue()));
+    assertThat(flowCallStack.getElements(), is(empty()));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void popEmpty() {
+    flowCallStack.pop();
+  }
+
+  @Test
+  public void pushCurrentProcessorPath() {
+    flowCallStack.push(parent);
+    flowCallStack.push(child);
+
+    flowCallStack.pushCurrentProcessorPath("child/processors/1");
+
+    assertThat(flowCallStack.peek().getFlowName(), is("child"));
+    assertThat(flowCallStack.peek().getProcessorPath(), is("child/processors/1"));
+    assertThat(flowCallStack.getElements().get(1), is(sameInstance(parent)));
+  }
+
+  @Test
+  public void pushCurrentProcessorPathOnEmpty() {
+    flowCallStack.pushCurrentProcessorPath("child/processors/1");
+
+    assertThat(flowCallStack.getElements(), is(empty()));
+  }
+
+  @Test
+  public void cloneIsNotAffectedByChanges() {
+    flowCallStack.push(parent);
+    DefaultFlowCallStack clone = flowCallStack.clone();
+
+    flowCallStack.push(child);
+    clone.pushCurrentProcessorPath("parent/processors/1");
+
+    assertThat(flowCallStack.getElements(), contains(child, parent));
+    assertThat(clone.getElements().size(), is(1));
+    assertThat(clone.peek().getProcessorPath(), is("parent/processors/1"));
+  }
+
+  @Test(expected = EventContextDeepNestingException.class)
+  public void maxDepth() {
+    for (int i = 0; i < 1000; ++i) {
+      flowCallStack.push(child);
+    }
+  }
+
+  @Test
+  public void serialization() {
+    flowCallStack.push(parent);
+    flowCallStack.push(child);
+
+    DefaultFlowCallStack deserialized = clone(flowCallStack);
+
+    assertThat(deserialized.toString(), is(flowCallStack.toString()));
+    assertThat(deserialized.getElements().size(), is(2));
+  }
+}
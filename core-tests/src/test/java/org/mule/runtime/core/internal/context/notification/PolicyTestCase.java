@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.api.notification.AbstractServerNotification;
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.core.api.context.notification.ListenerSubscriptionPair;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+@SmallTest
+public class PolicyTestCase extends AbstractMuleTestCase {
+
+  private final Map<Class<? extends NotificationListener>, Set<Class<? extends Notification>>> interfaceToEvents =
+      new HashMap<>();
+  private final Set<ListenerSubscriptionPair> listeners = new HashSet<>();
+  private final Set<Class<? extends NotificationListener>> disabledInterfaces = new HashSet<>();
+  private final Set<Class<? extends Notification>> disabledEvents = new HashSet<>();
+
+  private final List<Notification> parentListenerNotifications = new ArrayList<>();
+  private final List<Notification> childListenerNotifications = new ArrayList<>();
+
+  private final ParentNotification parentNotification = new ParentNotification();
+  private final ChildNotification childNotification = new ChildNotification();
+
+  @Test
+  public void subclassIsDispatchedToListenerOfSuperclass() {
+    registerParentListener();
+    Policy policy = createPolicy();
+
+    policy.dispatch(childNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(parentListenerNotifications, contains(childNotification));
+  }
+
+  @Test
+  public void superclassIsNotDispatchedToListenerOfSubclass() {
+    registerChildListener();
+    Policy policy = createPolicy();
+
+    policy.dispatch(parentNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(childListenerNotifications, is(empty()));
+  }
+
+  @Test
+  public void notificationIsDispatchedToEveryMatchingListener() {
+    registerParentListener();
+    registerChildListener();
+    Policy policy = createPolicy();
+
+    // Dispatch twice, so that the cached entry is used as well
+    policy.dispatch(childNotification, (listener, notification) -> listener.onNotification(notification));
+    policy.dispatch(parentNotification, (listener, notification) -> listener.onNotification(notification));
+    policy.dispatch(childNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(parentListenerNotifications, contains(childNotification, parentNotification, childNotification));
+    assertThat(childListenerNotifications, contains(childNotification, childNotification));
+  }
+
+  @Test
+  public void subclassEnabledByListenerOfSuperclass() {
+    registerParentListener();
+    Policy policy = createPolicy();
+
+    assertThat(policy.isNotificationEnabled(ParentNotification.class), is(true));
+    assertThat(policy.isNotificationEnabled(ChildNotification.class), is(true));
+    assertThat(policy.isNotificationEnabled(OtherNotification.class), is(false));
+  }
+
+  @Test
+  public void superclassEnabledByListenerOfSubclass() {
+    registerChildListener();
+    Policy policy = createPolicy();
+
+    // Conservative: some subclass of the notification is accepted
+    assertThat(policy.isNotificationEnabled(ParentNotification.class), is(true));
+    assertThat(policy.isNotificationEnabled(ChildNotification.class), is(true));
+    assertThat(policy.isNotificationEnabled(Notification.class), is(true));
+    assertThat(policy.isNotificationEnabled(OtherNotification.class), is(false));
+  }
+
+  @Test
+  public void disabledEventIsNotDispatched() {
+    registerParentListener();
+    disabledEvents.add(ParentNotification.class);
+    Policy policy = createPolicy();
+
+    policy.dispatch(childNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(parentListenerNotifications, is(empty()));
+    assertThat(policy.isNotificationEnabled(ParentNotification.class), is(false));
+    assertThat(policy.isNotificationEnabled(ChildNotification.class), is(false));
+  }
+
+  @Test
+  public void disabledInterfaceIsNotDispatched() {
+    registerParentListener();
+    disabledInterfaces.add(ParentListener.class);
+    Policy policy = createPolicy();
+
+    policy.dispatch(childNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(parentListenerNotifications, is(empty()));
+    assertThat(policy.isNotificationEnabled(ChildNotification.class), is(false));
+  }
+
+  @Test
+  public void selectorIsApplied() {
+    interfaceToEvents.put(ParentListener.class, singleton(ParentNotification.class));
+    listeners.add(new ListenerSubscriptionPair<>((ParentListener) parentListenerNotifications::add,
+                                                 notification -> notification instanceof ChildNotification));
+    Policy policy = createPolicy();
+
+    policy.dispatch(parentNotification, (listener, notification) -> listener.onNotification(notification));
+    policy.dispatch(childNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(parentListenerNotifications, contains(childNotification));
+  }
+
+  @Test
+  public void nothingEnabledWithoutListeners() {
+    interfaceToEvents.put(ParentListener.class, singleton(ParentNotification.class));
+    Policy policy = new Policy(interfaceToEvents, emptySet(), emptySet(), emptySet());
+
+    policy.dispatch(parentNotification, (listener, notification) -> listener.onNotification(notification));
+
+    assertThat(policy.isNotificationEnabled(ParentNotification.class), is(false));
+    assertThat(policy.isNotificationEnabled(ChildNotification.class), is(false));
+  }
+
+  private void registerParentListener() {
+    interfaceToEvents.put(ParentListener.class, singleton(ParentNotification.class));
+    listeners.add(new ListenerSubscriptionPair<>((ParentListener) parentListenerNotifications::add));
+  }
+
+  private void registerChildListener() {
+    interfaceToEvents.put(ChildListener.class, singleton(ChildNotification.class));
+    listeners.add(new ListenerSubscriptionPair<>((ChildListener) childListenerNotifications::add));
+  }
+
+  private Policy createPolicy() {
+    return new Policy(interfaceToEvents, listeners, disabledInterfaces, disabledEvents);
+  }
+
+  public interface ParentListener extends NotificationListener<ParentNotification> {
+
+  }
+
+  public interface ChildListener extends NotificationListener<ChildNotification> {
+
+  }
+
+  public static class ParentNotification extends AbstractServerNotification {
+
+    public ParentNotification() {
+      super("", 0);
+    }
+
+    @Override
+    public String getEventName() {
+      return "ParentNotification";
+    }
+  }
+
+  public static class ChildNotification extends ParentNotification {
+
+  }
+
+  public static class OtherNotification extends AbstractServerNotification {
+
+    public OtherNotification() {
+      super("", 0);
+    }
+
+    @Override
+    public String getEventName() {
+      return "OtherNotification";
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lifecycle;
+
+import static org.mule.runtime.core.internal.lifecycle.LifecycleLockDelegation.getLifecycleLock;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LIFECYCLE_AND_DEPENDENCY_INJECTION;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LifecyclePhaseStory.LIFECYCLE_PHASE_STORY;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.context.DefaultMuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(LIFECYCLE_AND_DEPENDENCY_INJECTION)
+@Story(LIFECYCLE_PHASE_STORY)
+public class LifecycleLockDelegationTestCase extends AbstractMuleTestCase {
+
+  private final Object lifecycleLock = new Object();
+  private final MuleContext muleContext = mock(MuleContext.class);
+  private final ExecutorService executor = newSingleThreadExecutor();
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void lifecycleLockIsUsedWithoutDelegation() {
+    assertThat(getLifecycleLock(muleContext, lifecycleLock), is(sameInstance(lifecycleLock)));
+  }
+
+  @Test
+  public void delegatedLockIsUsedWhileDelegated() {
+    final LifecycleLockDelegation delegation = new LifecycleLockDelegation(muleContext);
+    final Object[] delegatedLocks = new Object[2];
+
+    delegation.runDelegated(() -> delegatedLocks[0] = getLifecycleLock(muleContext, lifecycleLock));
+    delegation.runDelegated(() -> delegatedLocks[1] = getLifecycleLock(muleContext, lifecycleLock));
+
+    assertThat(delegatedLocks[0], is(not(sameInstance(lifecycleLock))));
+    assertThat(delegatedLocks[1], is(sameInstance(delegatedLocks[0])));
+    assertThat(getLifecycleLock(muleContext, lifecycleLock), is(sameInstance(lifecycleLock)));
+  }
+
+  @Test
+  public void lifecycleLockOfOtherContextIsNotDelegated() {
+    final MuleContext otherContext = mock(MuleContext.class);
+    final Object otherLifecycleLock = new Object();
+    final Object[] otherLock = new Object[1];
+
+    new LifecycleLockDelegation(muleContext)
+        .runDelegated(() -> otherLock[0] = getLifecycleLock(otherContext, otherLifecycleLock));
+
+    assertThat(otherLock[0], is(sameInstance(otherLifecycleLock)));
+  }
+
+  @Test
+  public void nestedDelegationIsRestored() {
+    final LifecycleLockDelegation outer = new LifecycleLockDelegation(muleContext);
+    final LifecycleLockDelegation inner = new LifecycleLockDelegation(muleContext);
+    final Object[] locks = new Object[3];
+
+    outer.runDelegated(() -> {
+      locks[0] = getLifecycleLock(muleContext, lifecycleLock);
+      inner.runDelegated(() -> locks[1] = getLifecycleLock(muleContext, lifecycleLock));
+      locks[2] = getLifecycleLock(muleContext, lifecycleLock);
+    });
+
+    assertThat(locks[1], is(not(sameInstance(locks[0]))));
+    assertThat(locks[2], is(sameInstance(locks[0])));
+  }
+
+  @Test
+  public void delegatedThreadDoesNotWaitForLifecycleLockHolder() {
+    final DefaultMuleContext defaultMuleContext = new DefaultMuleContext();
+    final LifecycleLockDelegation delegation = new LifecycleLockDelegation(defaultMuleContext);
+    final AtomicBoolean run = new AtomicBoolean();
+
+    // Waiting for another thread while holding the lifecycle lock would deadlock if the other thread took it
+    defaultMuleContext.withLifecycleLock(() -> {
+      try {
+        executor.submit(() -> delegation.runDelegated(() -> defaultMuleContext.withLifecycleLock(() -> run.set(true))))
+            .get(5, SECONDS);
+      } catch (Exception e) {
+        throw new AssertionError(e);
+      }
+    });
+
+    assertThat(run.get(), is(true));
+  }
+}
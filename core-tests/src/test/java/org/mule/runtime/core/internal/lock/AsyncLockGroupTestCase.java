@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class AsyncLockGroupTestCase extends AbstractMuleTestCase {
+
+  private static final String LOCK_ID = "lock";
+
+  private final AsyncLockGroup lockGroup = new AsyncLockGroup();
+
+  @After
+  public void after() {
+    lockGroup.dispose();
+  }
+
+  @Test
+  public void acquireFreeLock() {
+    CompletableFuture<LockToken> acquisition = lockGroup.acquire(LOCK_ID);
+
+    assertThat(acquisition.isDone(), is(true));
+    assertThat(acquisition.join().getLockId(), is(LOCK_ID));
+  }
+
+  @Test
+  public void handOverInRequestOrder() {
+    LockToken owner = lockGroup.acquire(LOCK_ID).join();
+    List<Integer> acquired = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      final int waiter = i;
+      lockGroup.acquire(LOCK_ID).thenAccept(token -> {
+        acquired.add(waiter);
+        token.release();
+      });
+    }
+
+    assertThat(acquired.isEmpty(), is(true));
+    owner.release();
+    assertThat(acquired, contains(0, 1, 2));
+    assertThat(lockGroup.acquire(LOCK_ID).isDone(), is(true));
+  }
+
+  @Test
+  public void differentLockIdsDontExcludeEachOther() {
+    lockGroup.acquire(LOCK_ID).join();
+
+    assertThat(lockGroup.acquire("other").isDone(), is(true));
+  }
+
+  @Test
+  public void releaseFromAnotherThread() throws Exception {
+    LockToken owner = lockGroup.acquire(LOCK_ID).join();
+    CompletableFuture<LockToken> waiting = lockGroup.acquire(LOCK_ID);
+
+    Thread releaser = new Thread(owner::release);
+    releaser.start();
+    releaser.join();
+
+    assertThat(waiting.get(5, SECONDS).getLockId(), is(LOCK_ID));
+  }
+
+  @Test
+  public void releaseIsIdempotent() {
+    LockToken owner = lockGroup.acquire(LOCK_ID).join();
+    CompletableFuture<LockToken> first = lockGroup.acquire(LOCK_ID);
+    CompletableFuture<LockToken> second = lockGroup.acquire(LOCK_ID);
+
+    owner.release();
+    owner.release();
+
+    assertThat(first.isDone(), is(true));
+    assertThat(second.isDone(), is(false));
+  }
+
+  @Test
+  public void cancelledAcquisitionIsSkipped() {
+    LockToken owner = lockGroup.acquire(LOCK_ID).join();
+    CompletableFuture<LockToken> cancelled = lockGroup.acquire(LOCK_ID);
+    CompletableFuture<LockToken> waiting = lockGroup.acquire(LOCK_ID);
+
+    cancelled.cancel(false);
+    owner.release();
+
+    assertThat(waiting.isDone(), is(true));
+    assertThat(waiting.isCancelled(), is(false));
+  }
+
+  @Test
+  public void manyWaitersDontGrowTheStack() {
+    final int waiters = 100000;
+    LockToken owner = lockGroup.acquire(LOCK_ID).join();
+    AtomicInteger acquired = new AtomicInteger();
+    for (int i = 0; i < waiters; i++) {
+      lockGroup.acquire(LOCK_ID).thenAccept(token -> {
+        acquired.incrementAndGet();
+        token.release();
+      });
+    }
+
+    owner.release();
+
+    assertThat(acquired.get(), is(waiters));
+    assertThat(lockGroup.acquire(LOCK_ID).isDone(), is(true));
+  }
+
+  @Test
+  public void disposeCancelsWaitingAcquisitions() {
+    lockGroup.acquire(LOCK_ID).join();
+    CompletableFuture<LockToken> waiting = lockGroup.acquire(LOCK_ID);
+
+    lockGroup.dispose();
+
+    assertThat(waiting.isCancelled(), is(true));
+    assertThat(lockGroup.acquire(LOCK_ID).isDone(), is(true));
+  }
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 import org.junit.Test;
 import org.mockito.Answers;
@@ -57,6 +58,37 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     lockUnlockThenDestroy(5);
   }
 
+  @Test
+  public void failedTryLockReleasesEntry() throws Exception {
+    mockLockProvider = Mockito.mock(LockProvider.class);
+    Lock lock = Mockito.mock(Lock.class);
+    Mockito.when(mockLockProvider.createLock("lockId")).thenReturn(lock);
+    Mockito.when(lock.tryLock()).thenReturn(false);
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
+
+    assertThat(instanceLockGroup.tryLock("lockId"), is(false));
+    assertThat(instanceLockGroup.tryLock("lockId"), is(false));
+    Mockito.verify(mockLockProvider, VerificationModeFactory.times(2)).createLock("lockId");
+  }
+
+  @Test
+  public void differentLockIdsDontBlockEachOther() throws Exception {
+    instanceLockGroup.lock(sharedKeyA);
+    try {
+      Latch lockedB = new Latch();
+      Thread thread = new Thread(() -> {
+        if (instanceLockGroup.tryLock(sharedKeyB)) {
+          instanceLockGroup.unlock(sharedKeyB);
+          lockedB.release();
+        }
+      });
+      thread.start();
+      assertThat(lockedB.await(5, TimeUnit.SECONDS), is(true));
+    } finally {
+      instanceLockGroup.unlock(sharedKeyA);
+    }
+  }
+
   private void lockUnlockThenDestroy(int lockTimes) {
     mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
     InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.EXECUTION_ENGINE;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.ExecutionEngineStory.REACTOR;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+import org.mule.runtime.core.internal.processor.strategy.StreamEmitterProcessingStrategyFactory.StreamEmitterProcessingStrategy.LeastLoadedReactorSink;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(EXECUTION_ENGINE)
+@Story(REACTOR)
+public class LeastLoadedReactorSinkTestCase extends AbstractMuleTestCase {
+
+  private ReactorSink<CoreEvent> sink0;
+  private ReactorSink<CoreEvent> sink1;
+  private LeastLoadedReactorSink<CoreEvent> leastLoadedSink;
+
+  private final List<BiConsumer<CoreEvent, Throwable>> responseCallbacks = new ArrayList<>();
+
+  @Before
+  public void before() {
+    sink0 = mock(ReactorSink.class);
+    sink1 = mock(ReactorSink.class);
+    leastLoadedSink = new LeastLoadedReactorSink<>(asList(sink0, sink1));
+  }
+
+  @Test
+  public void balancesPendingEvents() {
+    for (int i = 0; i < 10; i++) {
+      leastLoadedSink.accept(pendingEvent());
+    }
+
+    assertThat(leastLoadedSink.getInFlightEvents(0), is(5));
+    assertThat(leastLoadedSink.getInFlightEvents(1), is(5));
+  }
+
+  @Test
+  public void avoidsBusySink() {
+    // sink0 keeps an event that is not responded, while the ones sent to sink1 complete right away
+    leastLoadedSink.accept(pendingEvent());
+    responseCallbacks.clear();
+    for (int i = 0; i < 10; i++) {
+      respondAll();
+      leastLoadedSink.accept(pendingEvent());
+    }
+
+    verify(sink0, times(1)).accept(any());
+    verify(sink1, times(10)).accept(any());
+  }
+
+  @Test
+  public void responseReleasesSink() {
+    leastLoadedSink.accept(pendingEvent());
+    leastLoadedSink.accept(pendingEvent());
+    respondAll();
+
+    assertThat(leastLoadedSink.getInFlightEvents(0), is(0));
+    assertThat(leastLoadedSink.getInFlightEvents(1), is(0));
+  }
+
+  @Test
+  public void emitFallsBackToOtherCandidateWhenFull() {
+    when(sink0.emit(any())).thenReturn(EVENTS_ACCUMULATED);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(leastLoadedSink.emit(pendingEvent()), is(nullValue()));
+    }
+
+    assertThat(leastLoadedSink.getInFlightEvents(0), is(0));
+    assertThat(leastLoadedSink.getInFlightEvents(1), is(4));
+  }
+
+  @Test
+  public void emitBackPressureWhenAllCandidatesFull() {
+    when(sink0.emit(any())).thenReturn(EVENTS_ACCUMULATED);
+    when(sink1.emit(any())).thenReturn(EVENTS_ACCUMULATED);
+
+    assertThat(leastLoadedSink.emit(pendingEvent()), is(EVENTS_ACCUMULATED));
+    assertThat(leastLoadedSink.getInFlightEvents(0), is(0));
+    assertThat(leastLoadedSink.getInFlightEvents(1), is(0));
+  }
+
+  private CoreEvent pendingEvent() {
+    CoreEvent event = mock(CoreEvent.class);
+    BaseEventContext eventContext = mock(BaseEventContext.class);
+    when(event.getContext()).thenReturn(eventContext);
+    doAnswer(inv -> responseCallbacks.add(inv.getArgument(0))).when(eventContext).onResponse(any());
+    return event;
+  }
+
+  private void respondAll() {
+    responseCallbacks.forEach(callback -> callback.accept(null, null));
+    responseCallbacks.clear();
+  }
+}
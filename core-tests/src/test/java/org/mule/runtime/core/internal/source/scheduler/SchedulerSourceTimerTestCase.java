@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import static org.mule.test.allure.AllureConstants.SchedulerFeature.SCHEDULER;
+import static org.mule.test.allure.AllureConstants.SchedulerFeature.SchedulerStories.SCHEDULED_FLOW_EXECUTION;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.api.source.scheduler.FixedFrequencyScheduler;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(SCHEDULER)
+@Story(SCHEDULED_FLOW_EXECUTION)
+public class SchedulerSourceTimerTestCase extends AbstractMuleTestCase {
+
+  private static final long PROBER_TIMEOUT = 5000;
+  private static final long PROBER_INTERVAL = 20;
+  private static final long SPREAD_MILLIS = 100;
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private final SchedulerSourceStatistics statistics = new SchedulerSourceStatistics();
+  private final AtomicInteger executions = new AtomicInteger();
+
+  private SchedulerSourceTimer timer;
+  private Scheduler executor;
+
+  @Before
+  public void before() {
+    timer = new SchedulerSourceTimer(new TimingWheel(1, MILLISECONDS, 8, new NamedThreadFactory("test.timer")),
+                                     SPREAD_MILLIS);
+    executor = schedulerService.cpuLightScheduler();
+  }
+
+  @After
+  public void after() throws Exception {
+    timer.stop();
+    schedulerService.stop();
+  }
+
+  @Test
+  public void fixedFrequencySourceIsFired() {
+    timer.schedule(fixedFrequency(10), executor, executions::incrementAndGet, "flow/source", statistics);
+
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> executions.get() >= 3));
+    assertThat(statistics.getFired(), greaterThanOrEqualTo(3L));
+    assertThat(statistics.getMaxLagNanos(), greaterThanOrEqualTo(statistics.getAverageLagNanos()));
+  }
+
+  @Test
+  public void cancelledSourceIsNotFired() throws Exception {
+    ScheduledFuture<?> scheduled =
+        timer.schedule(fixedFrequency(10), executor, executions::incrementAndGet, "flow/source", statistics);
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> executions.get() >= 1));
+
+    assertThat(scheduled.cancel(false), is(true));
+    final int executionsOnCancel = executions.get();
+    Thread.sleep(100);
+
+    assertThat(scheduled.isCancelled(), is(true));
+    assertThat(executions.get(), is(executionsOnCancel));
+  }
+
+  @Test
+  public void sourceIsStillFiredAfterExecutorRejectsIt() {
+    Scheduler busyExecutor = mock(Scheduler.class);
+    AtomicInteger rejections = new AtomicInteger();
+    doAnswer(invocation -> {
+      if (rejections.getAndIncrement() < 2) {
+        throw new RejectedExecutionException("busy");
+      }
+      executor.execute(invocation.getArgument(0));
+      return null;
+    }).when(busyExecutor).execute(any());
+
+    ScheduledFuture<?> scheduled =
+        timer.schedule(fixedFrequency(10), busyExecutor, executions::incrementAndGet, "flow/source", statistics);
+
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> executions.get() >= 2));
+    assertThat(scheduled.isCancelled(), is(false));
+    assertThat(statistics.getSkipped(), greaterThanOrEqualTo(2L));
+  }
+
+  @Test
+  public void firingIsSkippedWhilePreviousOneIsInProgress() throws Exception {
+    Latch release = new Latch();
+    Scheduler singleTaskExecutor = mock(Scheduler.class);
+    doAnswer(invocation -> {
+      executor.execute(invocation.getArgument(0));
+      return null;
+    }).when(singleTaskExecutor).execute(any());
+
+    ScheduledFuture<?> scheduled = timer.schedule(fixedFrequency(10), singleTaskExecutor, () -> {
+      executions.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    }, "flow/source", statistics);
+
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> statistics.getSkipped() >= 3));
+    // The executor was not even asked to run the firings due while the first one was in progress
+    verify(singleTaskExecutor, times(1)).execute(any());
+    assertThat(executions.get(), is(1));
+
+    release.release();
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> executions.get() >= 2));
+    scheduled.cancel(false);
+  }
+
+  @Test
+  public void offsetIsWithinSpread() {
+    for (int i = 0; i < 1000; ++i) {
+      final long offset = timer.getOffsetMillis("flow" + i + "/source");
+      assertThat(offset, greaterThanOrEqualTo(0L));
+      assertThat(offset, lessThanOrEqualTo(SPREAD_MILLIS));
+    }
+    assertThat(timer.getOffsetMillis("flow/source"), is(timer.getOffsetMillis("flow/source")));
+  }
+
+  @Test
+  public void noOffsetWithoutSpread() {
+    SchedulerSourceTimer noSpreadTimer =
+        new SchedulerSourceTimer(new TimingWheel(1, MILLISECONDS, 8, new NamedThreadFactory("test.timer")), 0);
+
+    assertThat(noSpreadTimer.getOffsetMillis("flow/source"), is(0L));
+  }
+
+  private FixedFrequencyScheduler fixedFrequency(long frequency) {
+    FixedFrequencyScheduler scheduler = new FixedFrequencyScheduler();
+    scheduler.setFrequency(frequency);
+    scheduler.setStartDelay(0);
+    return scheduler;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.FILE_STORE_DEFAULT_STREAMING_PROPERTY;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.factory.FileStoreCursorStreamProviderFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class DefaultByteStreamingManagerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty fileStoreDefault = new SystemProperty(FILE_STORE_DEFAULT_STREAMING_PROPERTY);
+
+  private final DefaultByteStreamingManager streamingManager =
+      new DefaultByteStreamingManager(mock(ByteBufferManager.class), mock(StreamingManager.class));
+
+  @Test
+  public void defaultIsInMemory() {
+    assertThat(streamingManager.getDefaultCursorProviderFactory(), instanceOf(InMemoryCursorStreamProviderFactory.class));
+  }
+
+  @Test
+  public void defaultIsFileStoreWhenEnabled() {
+    System.setProperty(FILE_STORE_DEFAULT_STREAMING_PROPERTY, "true");
+    assertThat(streamingManager.getDefaultCursorProviderFactory(), instanceOf(FileStoreCursorStreamProviderFactory.class));
+  }
+}
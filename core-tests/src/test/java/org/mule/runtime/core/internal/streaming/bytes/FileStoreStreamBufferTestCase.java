@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.internal.streaming.bytes.FileStoreStreamBuffer.MAPPED_REGION_BUCKETS;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+/**
+ * Reads and seeks across the memory mapped regions of a {@link FileStoreStreamBuffer}, which the parameters of
+ * {@link FileStoreCursorStreamProviderTestCase} never go past the first one of.
+ */
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreStreamBufferTestCase extends AbstractMuleTestCase {
+
+  // A single in memory bucket, so that most of the data goes to the file
+  private static final int IN_MEMORY_SIZE = 1024;
+  private static final int MAPPED_REGION_SIZE = IN_MEMORY_SIZE * MAPPED_REGION_BUCKETS;
+
+  // ends halfway through the third mapped region
+  private final String data = randomAlphanumeric(IN_MEMORY_SIZE + 2 * MAPPED_REGION_SIZE + MAPPED_REGION_SIZE / 2);
+
+  private PoolingByteBufferManager bufferManager;
+  private CursorStreamProvider streamProvider;
+
+  @Before
+  public void before() {
+    bufferManager = new PoolingByteBufferManager();
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(IN_MEMORY_SIZE, BYTE));
+    streamProvider =
+        new FileStoreCursorStreamProvider(new ByteArrayInputStream(data.getBytes()), config, bufferManager, from("log"), false);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void readFullyAcrossMappedRegions() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(IOUtils.toString(cursor), equalTo(data));
+    }
+  }
+
+  @Test
+  public void readSpanningMappedRegionBoundaries() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      // starts in the first region, covers the whole second one and ends in the third
+      assertReadAt(cursor, IN_MEMORY_SIZE + MAPPED_REGION_SIZE - 10, MAPPED_REGION_SIZE + 20);
+    }
+  }
+
+  @Test
+  public void seekBackAcrossMappedRegionBoundaries() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertThat(IOUtils.toString(cursor), equalTo(data));
+
+      // from the memory bucket into the first region
+      assertReadAt(cursor, IN_MEMORY_SIZE - 10, 20);
+      // exactly at the start of the second region
+      assertReadAt(cursor, IN_MEMORY_SIZE + MAPPED_REGION_SIZE, 20);
+      // from the last region back to the end of the first one
+      assertReadAt(cursor, IN_MEMORY_SIZE + 2 * MAPPED_REGION_SIZE + 5, 20);
+      assertReadAt(cursor, IN_MEMORY_SIZE + MAPPED_REGION_SIZE - 1, 2);
+    }
+  }
+
+  private void assertReadAt(CursorStream cursor, int position, int len) throws Exception {
+    byte[] dest = new byte[len];
+    cursor.seek(position);
+    assertThat(cursor.read(dest, 0, len), is(len));
+    assertThat(new String(dest), equalTo(data.substring(position, position + len)));
+  }
+}
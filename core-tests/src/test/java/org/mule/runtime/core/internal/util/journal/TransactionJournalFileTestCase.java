@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -16,7 +17,11 @@ import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Rule;
@@ -51,11 +56,51 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
     assertThat(entry.getValue(), equalTo(payload));
   }
 
+  @Test
+  public void groupCommitWritesAllConcurrentEntries() throws Exception {
+    final int threads = 8;
+    final int entriesPerThread = 50;
+
+    final TransactionJournalFile<Integer, LocalQueueTxJournalEntry> writingJournal = openJournal(16);
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        final int txId = i;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < entriesPerThread; j++) {
+            LocalQueueTxJournalEntry entry = new LocalQueueTxJournalEntry(txId, (byte) 6, "queue", "value" + j);
+            writingJournal.awaitWritten(writingJournal.enqueueOperation(entry, writingJournal.serialize(entry)));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    writingJournal.close();
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal();
+    for (int i = 0; i < threads; i++) {
+      List<LocalQueueTxJournalEntry> entries = new ArrayList<>(journal.getLogEntries(i));
+      assertThat(entries.size(), equalTo(entriesPerThread));
+      for (int j = 0; j < entriesPerThread; j++) {
+        assertThat(entries.get(j).getValue(), equalTo("value" + j));
+      }
+    }
+  }
+
   private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal() {
+    return openJournal(1);
+  }
+
+  private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal(int maxBatchSize) {
     File journalFile = new File(temporaryFolder.getRoot(), "journal");
     JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
 
-    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500);
+    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500, maxBatchSize, 0);
   }
 
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.util.queue.QueueConfiguration.MAXIMUM_CAPACITY;
+import static org.mule.runtime.core.internal.util.queue.DualRandomAccessFileQueueStoreDelegate.MAX_LENGTH_PER_FILE_PROPERTY_KEY;
+import static org.mule.runtime.core.internal.util.queue.SegmentedFileQueueStoreDelegate.FSYNC_INTERVAL_PROPERTY_KEY;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedFileQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int NUMBER_OF_ITEMS = 100;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty maxSegmentLength = new SystemProperty(MAX_LENGTH_PER_FILE_PROPERTY_KEY, "200");
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void recoversQueueOrderAfterRestart() throws Exception {
+    SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    for (int i = 0; i < NUMBER_OF_ITEMS / 2; i++) {
+      queueStore.poll(0);
+    }
+    queueStore.untake("untaken");
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS / 2 + 1));
+    assertThat(queueStore.poll(0), is("untaken"));
+    for (int i = NUMBER_OF_ITEMS / 2; i < NUMBER_OF_ITEMS; i++) {
+      assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+    }
+    assertThat(queueStore.poll(0), is(nullValue()));
+    queueStore.close();
+  }
+
+  @Test
+  public void consumedSegmentsAreDeleted() throws Exception {
+    SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    assertThat(segmentFilesCount() > 1, is(true));
+
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.poll(0);
+    }
+    assertThat(segmentFilesCount(), is(1));
+    queueStore.close();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+
+    String value = createTestDataForIndex(NUMBER_OF_ITEMS / 2);
+    assertThat(queueStore.contains(value), is(true));
+    queueStore.remove(value);
+    assertThat(queueStore.contains(value), is(false));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS - 1));
+    assertThat(queueStore.contains(value), is(false));
+    queueStore.close();
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    SegmentedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow("item");
+    queueStore.dispose();
+
+    assertThat(new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-segments").exists(), is(false));
+  }
+
+  @Test
+  public void groupCommitWriterWaitsForTheForceCoveringItsWrite() throws Exception {
+    SegmentedFileQueueStoreDelegate queueStore;
+    System.setProperty(FSYNC_INTERVAL_PROPERTY_KEY, "500");
+    try {
+      queueStore = createTestQueueStore();
+    } finally {
+      System.clearProperty(FSYNC_INTERVAL_PROPERTY_KEY);
+    }
+
+    // Nothing was forced within the interval, so the first write is forced right away
+    queueStore.putNow(createTestDataForIndex(0));
+
+    final SegmentedFileQueueStoreDelegate writingQueueStore = queueStore;
+    Thread writer = new Thread(() -> writingQueueStore.putNow(createTestDataForIndex(1)));
+    writer.start();
+    writer.join(100);
+    assertThat(writer.isAlive(), is(true));
+    // The queue is not locked while the writer waits
+    assertThat(queueStore.getSize(), is(2));
+
+    writer.join(5000);
+    assertThat(writer.isAlive(), is(false));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(0)));
+    assertThat(queueStore.poll(0), is(createTestDataForIndex(1)));
+    queueStore.close();
+  }
+
+  @Test
+  public void groupCommitForcesWritesOfEveryWrittenSegment() throws Exception {
+    SegmentedFileQueueStoreDelegate queueStore;
+    System.setProperty(FSYNC_INTERVAL_PROPERTY_KEY, "1");
+    try {
+      queueStore = createTestQueueStore();
+    } finally {
+      System.clearProperty(FSYNC_INTERVAL_PROPERTY_KEY);
+    }
+
+    // Spans several segments, forcing each one before moving to the next
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    assertThat(segmentFilesCount() > 1, is(true));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS));
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      assertThat(queueStore.poll(0), is(createTestDataForIndex(i)));
+    }
+    queueStore.close();
+  }
+
+  private int segmentFilesCount() {
+    File segmentsDirectory = new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-segments");
+    return segmentsDirectory.listFiles((dir, name) -> name.startsWith("segment-")).length;
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private SegmentedFileQueueStoreDelegate createTestQueueStore() {
+    return new SegmentedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext,
+                                               MAXIMUM_CAPACITY);
+  }
+}
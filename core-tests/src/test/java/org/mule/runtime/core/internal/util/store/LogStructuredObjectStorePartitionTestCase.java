@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.COMPACTION_THRESHOLD_PROPERTY_KEY;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.DATA_FILE;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty compactionThreshold = new SystemProperty(COMPACTION_THRESHOLD_PROPERTY_KEY, "1024");
+
+  private MuleContext muleContext = mockMuleContext();
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<Serializable> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+
+    assertThat(partition.contains("key1"), is(true));
+    assertThat(partition.retrieve("key2"), is("value2"));
+    assertThat(partition.remove("key1"), is("value1"));
+    assertThat(partition.contains("key1"), is(false));
+    assertThat(partition.allKeys(), contains("key2"));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    partition.store("key", "value");
+    partition.store("key", "otherValue");
+  }
+
+  @Test
+  public void keepsSingleDataFile() throws ObjectStoreException {
+    for (int i = 0; i < 100; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    // the data file and the partition-descriptor file
+    assertThat(objectStoreFolder.getRoot().listFiles().length, is(2));
+  }
+
+  @Test
+  public void recoversAfterRestart() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+    partition.store("key3", "value3");
+    partition.remove("key2");
+    partition.dispose();
+
+    LogStructuredObjectStorePartition<Serializable> restored =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    restored.open();
+
+    assertThat(restored.getPartitionName(), is("test"));
+    assertThat(restored.allKeys(), contains("key1", "key3"));
+    assertThat(restored.retrieve("key3"), is("value3"));
+  }
+
+  @Test
+  public void discardsIncompleteRecordOnRestart() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+    partition.dispose();
+
+    File dataFile = new File(objectStoreFolder.getRoot(), DATA_FILE);
+    try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    LogStructuredObjectStorePartition<Serializable> restored =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    restored.open();
+
+    assertThat(restored.allKeys(), contains("key1"));
+    restored.store("key2", "newValue2");
+    assertThat(restored.retrieve("key2"), is("newValue2"));
+  }
+
+  @Test
+  public void discardsRecordWithNegativeKeyLengthOnRestart() throws Exception {
+    assertDiscardsCorruptLength(9, -1);
+  }
+
+  @Test
+  public void discardsRecordWithTooLargeKeyLengthOnRestart() throws Exception {
+    assertDiscardsCorruptLength(9, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void discardsRecordWithNegativeValueLengthOnRestart() throws Exception {
+    // type + timestamp + key length + "key2"
+    assertDiscardsCorruptLength(17, -1);
+  }
+
+  @Test
+  public void discardsRecordWithTooLargeValueLengthOnRestart() throws Exception {
+    assertDiscardsCorruptLength(17, Integer.MAX_VALUE);
+  }
+
+  private void assertDiscardsCorruptLength(int lengthOffsetInRecord, int corruptLength) throws Exception {
+    partition.store("key1", "value1");
+    File dataFile = new File(objectStoreFolder.getRoot(), DATA_FILE);
+    final long secondRecordOffset = dataFile.length();
+    partition.store("key2", "value2");
+    partition.dispose();
+
+    try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+      file.seek(secondRecordOffset + lengthOffsetInRecord);
+      file.writeInt(corruptLength);
+    }
+
+    LogStructuredObjectStorePartition<Serializable> restored =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    restored.open();
+
+    assertThat(restored.allKeys(), contains("key1"));
+    assertThat(dataFile.length(), is(secondRecordOffset));
+    restored.store("key2", "newValue2");
+    assertThat(restored.retrieve("key2"), is("newValue2"));
+  }
+
+  @Test
+  public void disposeWhileRetrieving() throws Exception {
+    partition.store("key", "value");
+
+    ExecutorService executor = newSingleThreadExecutor();
+    try {
+      Future<?> disposals = executor.submit(() -> {
+        for (int i = 0; i < 1000; i++) {
+          partition.dispose();
+        }
+      });
+
+      while (!disposals.isDone()) {
+        assertThat(partition.retrieve("key"), is("value"));
+      }
+      disposals.get(5, SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void expireMaxEntries() throws ObjectStoreException {
+    for (int i = 0; i < 10; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    partition.expire(UNBOUNDED, 3);
+
+    assertThat(partition.allKeys(), contains("key7", "key8", "key9"));
+  }
+
+  @Test
+  public void expireEntryTTL() throws Exception {
+    partition.store("old", "value");
+    Thread.sleep(50);
+    partition.store("new", "value");
+
+    partition.expire(40, UNBOUNDED);
+
+    assertThat(partition.allKeys(), contains("new"));
+  }
+
+  @Test
+  public void compactsDataFile() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    File dataFile = new File(objectStoreFolder.getRoot(), DATA_FILE);
+    final long fullLength = dataFile.length();
+
+    partition.expire(UNBOUNDED, 5);
+
+    assertThat(dataFile.length(), lessThan(fullLength / 10));
+    assertThat(partition.allKeys(), contains("key95", "key96", "key97", "key98", "key99"));
+    assertThat(partition.retrieve("key97"), is("value97"));
+
+    partition.dispose();
+    LogStructuredObjectStorePartition<Serializable> restored =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    restored.open();
+    assertThat(restored.retrieve("key99"), is("value99"));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store("key", "value");
+    partition.clear();
+
+    assertThat(partition.contains("key"), is(false));
+    assertThat(new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(), is(true));
+
+    partition.store("key", "otherValue");
+    assertThat(partition.retrieve("key"), is("otherValue"));
+  }
+}
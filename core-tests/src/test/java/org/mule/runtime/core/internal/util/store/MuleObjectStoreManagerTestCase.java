@@ -161,6 +161,29 @@ public class MuleObjectStoreManagerTestCase extends AbstractMuleTestCase {
     expireDelayLatch.countDown();
   }
 
+  @Test
+  public void monitoredStoresShareExpirationScheduler() throws InitialisationException {
+    try {
+      addJavaSerializerToMockMuleContext(muleContext);
+      storeManager.initialise();
+
+      for (int i = 0; i < 10; i++) {
+        storeManager.createObjectStore(TEST_PARTITION_NAME + "_" + i, ObjectStoreSettings.builder()
+            .persistent(i % 2 == 0)
+            .entryTtl(10000L)
+            .expirationInterval(50L)
+            .build());
+      }
+
+      assertMonitorsCount(10);
+      assertThat(schedulerService.getSchedulers().size(), is(1));
+    } finally {
+      storeManager.dispose();
+    }
+
+    assertThat(schedulerService.getSchedulers().size(), is(0));
+  }
+
   private void ensurePartitionIsCleared(boolean isPersistent) throws ObjectStoreException, InitialisationException {
     try {
       ObjectStorePartition<Serializable> store = createStorePartition(TEST_PARTITION_NAME, isPersistent);
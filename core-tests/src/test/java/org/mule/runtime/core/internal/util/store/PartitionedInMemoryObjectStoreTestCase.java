@@ -14,6 +14,7 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -97,6 +98,53 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
   }
 
+  @Test
+  public void expireSkipsRemovedEntries() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    store.expire(UNBOUNDED, 1, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(true));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.getEvictedByMaxEntriesCount(TEST_PARTITION), is(1L));
+  }
+
+  @Test
+  public void countsEvictions() throws ObjectStoreException {
+    for (int i = 0; i < 10; i++) {
+      store.store(TEST_KEY1 + i, TEST_VALUE, TEST_PARTITION);
+    }
+    currentNanoTime = MILLISECONDS.toNanos(2);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+
+    store.expire(1, 8, TEST_PARTITION);
+
+    assertThat(store.getEvictedByMaxEntriesCount(TEST_PARTITION), is(4L));
+    assertThat(store.getEvictedByTtlCount(TEST_PARTITION), is(6L));
+    assertThat(store.allKeys(TEST_PARTITION).size(), is(2));
+  }
+
+  @Test
+  public void removeManyEntriesKeepsExpiryOrder() throws ObjectStoreException {
+    for (int i = 0; i < 5000; i++) {
+      store.store(TEST_KEY1 + i, TEST_VALUE, TEST_PARTITION);
+      if (i % 2 == 0) {
+        store.remove(TEST_KEY1 + i, TEST_PARTITION);
+      }
+    }
+
+    store.expire(UNBOUNDED, 10, TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION).size(), is(10));
+    assertThat(store.contains(TEST_KEY1 + 4999, TEST_PARTITION), is(true));
+    assertThat(store.contains(TEST_KEY1 + 4981, TEST_PARTITION), is(true));
+    assertThat(store.contains(TEST_KEY1 + 4979, TEST_PARTITION), is(false));
+  }
+
   @Test
   public void removesDataOnClear() throws ObjectStoreException {
     PartitionedInMemoryObjectStore os = spy(store);
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.privileged.util;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -465,6 +466,65 @@ public class TemplateParserTestCase extends AbstractMuleTestCase {
     assertEquals(expectedResult, result);
   }
 
+  @Test
+  public void muleCompiledTemplateResolvesAsParsed() {
+    TemplateParser tp = createMuleStyleParser();
+    Map<String, Object> values = new HashMap<>();
+    values.put("payload", "value");
+    values.put("withSharps", "##[muleman] # ###[value]");
+    values.put("withBackSlash", "a \\b \\#[c]");
+    values.put("withExpression", "#[payload]");
+
+    assertCompiledMatchesParsed(tp, "No expressions at all", values);
+    assertCompiledMatchesParsed(tp, "#[payload]", values);
+    assertCompiledMatchesParsed(tp, "Hi #[payload], #[payload]#[payload]!", values);
+    assertCompiledMatchesParsed(tp, "#[missing] and #[payload]", values);
+    assertCompiledMatchesParsed(tp, "Escaped \\#[payload] and \\'quoted\\' #[payload] \\n", values);
+    assertCompiledMatchesParsed(tp, "# ## #[payload] ##[payload] trailing #", values);
+    assertCompiledMatchesParsed(tp, "#[withSharps] #[withBackSlash] #[withExpression]", values);
+    assertCompiledMatchesParsed(tp, "nested #['#[payload]'] and #[[1, [2]]]", values);
+    assertCompiledMatchesParsed(tp, "multi\nline #[{\n  \"text\" : \"#\n 3\"\n}]\n", values);
+  }
+
+  @Test
+  public void muleCompiledTemplateCompilesEachExpressionOnce() {
+    TemplateParser tp = createMuleStyleParser();
+    List<String> compiled = new ArrayList<>();
+
+    TemplateParser.CompiledTemplate<String> template = tp.compile("a #[first] b #[second] c", expression -> {
+      compiled.add(expression);
+      return expression.toUpperCase();
+    });
+
+    assertEquals(asList("first", "second"), compiled);
+    assertEquals(asList("FIRST", "SECOND"), template.getCompiledExpressions());
+    assertEquals("a FIRST b SECOND c", template.resolve(expression -> expression, token -> token));
+    assertEquals("a FIRST b SECOND c", template.resolve(expression -> expression, token -> token));
+    assertEquals(asList("first", "second"), compiled);
+  }
+
+  @Test
+  public void muleCompiledTemplateWithoutExpressions() {
+    TemplateParser.CompiledTemplate<String> template = createMuleStyleParser().compile("plain text", expression -> {
+      throw new AssertionError("Nothing to compile");
+    });
+
+    assertFalse(template.hasExpressions());
+    assertEquals("plain text", template.resolve(expression -> {
+      throw new AssertionError("Nothing to evaluate");
+    }, token -> token));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void muleCompiledTemplateValidatesBalance() {
+    createMuleStyleParser().compile("#[payload", expression -> expression);
+  }
+
+  private void assertCompiledMatchesParsed(TemplateParser tp, String template, Map<String, Object> values) {
+    TemplateParser.CompiledTemplate<String> compiled = tp.compile(template, expression -> expression);
+    assertEquals(tp.parse(values::get, template), compiled.resolve(values::get, values::get));
+  }
+
   private Map<String, Object> buildMap() {
     Map<String, Object> props = new HashMap<String, Object>();
     props.put("prop1", "value1");
@@ -51,6 +51,7 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.BatchedNotificationDelivery;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotificationListener;
@@ -105,6 +106,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private MuleContext muleContext;
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private BatchedNotificationDelivery batchedDelivery;
 
   @Override
   public boolean isNotificationDynamic() {
@@ -127,6 +129,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = muleContext.getSchedulerService().cpuLightScheduler();
     notificationsIoScheduler = muleContext.getSchedulerService().ioScheduler();
+    batchedDelivery = BatchedNotificationDelivery.fromSystemProperties(notificationsLiteScheduler, notificationsIoScheduler);
   }
 
   public void addInterfaceToType(Class<? extends NotificationListener> iface,
@@ -157,6 +160,9 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
    */
   public void removeListener(NotificationListener<?> listener) {
     configuration.removeListener(listener);
+    if (batchedDelivery != null) {
+      batchedDelivery.removeListener(listener);
+    }
   }
 
   public void disableInterface(Class<? extends NotificationListener> iface) {
@@ -196,6 +202,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (batchedDelivery != null) {
+        notifyListeners(notification, batchedDelivery);
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -252,6 +260,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       notificationsIoScheduler.stop();
       notificationsIoScheduler = null;
     }
+    batchedDelivery = null;
 
     configuration = null;
   }
@@ -286,6 +295,15 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     return unmodifiableSet(configuration.getListeners());
   }
 
+  /**
+   * @return the amount of asynchronous notifications that were not delivered because the buffer of the listener was full, when
+   *         delivered in batches as enabled by {@link BatchedNotificationDelivery#BATCHED_DELIVERY_PROPERTY}.
+   * @since 4.5.0
+   */
+  public long getDroppedNotifications() {
+    return batchedDelivery == null ? 0 : batchedDelivery.getDroppedNotifications();
+  }
+
   public boolean isDisposed() {
     return disposed.get();
   }
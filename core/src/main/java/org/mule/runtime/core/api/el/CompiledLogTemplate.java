@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.el;
+
+import org.mule.api.annotation.NoImplement;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+/**
+ * A logging expression template already split into its literal content and compiled expressions, so it can be parsed for many
+ * events without going through its text again.
+ * <p>
+ * Obtained through {@link ExtendedExpressionManager#compileLogTemplate(String)} and parsed through
+ * {@link ExtendedExpressionManager#parseLogTemplate(CompiledLogTemplate, CoreEvent, ComponentLocation, BindingContext)}.
+ *
+ * @since 4.5.0
+ */
+@NoImplement
+public interface CompiledLogTemplate {
+
+  /**
+   * @return the template this was compiled from.
+   */
+  String getTemplate();
+
+}
@@ -8,11 +8,15 @@ package org.mule.runtime.core.api.el;
 
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.internal.message.InternalMessage;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Extends the {@link ExpressionManager} supporting mutating operations and the propagation of more variables.
  * <p>
@@ -66,4 +70,47 @@ public interface ExtendedExpressionManager extends ExpressionManager {
   @Deprecated
   String parse(String expression, CoreEvent event, ComponentLocation componentLocation) throws ExpressionRuntimeException;
 
+  /**
+   * Compiles a logging expression template, so that it can be parsed for many events without going through its text again.
+   *
+   * @param template the string template featuring inner expressions to parse
+   * @return the compiled template
+   * @throws IllegalArgumentException if the template is not balanced
+   * @since 4.5.0
+   */
+  CompiledLogTemplate compileLogTemplate(String template);
+
+  /**
+   * Parses a logging expression template previously compiled through {@link #compileLogTemplate(String)}, giving the same result
+   * as {@link #parseLogTemplate(String, CoreEvent, ComponentLocation, BindingContext)} for its template.
+   *
+   * @param template          the compiled template to parse
+   * @param event             the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param bindingContext    the bindings to consider
+   * @return the result of the evaluation
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   * @since 4.5.0
+   */
+  String parseLogTemplate(CompiledLogTemplate template, CoreEvent event, ComponentLocation componentLocation,
+                          BindingContext bindingContext)
+      throws ExpressionRuntimeException;
+
+  /**
+   * Parses a logging expression template previously compiled through {@link #compileLogTemplate(String)}, writing the result to
+   * the given {@code writer} as each part of the template is resolved instead of building it in memory.
+   *
+   * @param template          the compiled template to parse
+   * @param event             the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param bindingContext    the bindings to consider
+   * @param writer            where the result is written to
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expression
+   * @throws IOException                if a problem occurs writing the result
+   * @since 4.5.0
+   */
+  void parseLogTemplate(CompiledLogTemplate template, CoreEvent event, ComponentLocation componentLocation,
+                        BindingContext bindingContext, Writer writer)
+      throws ExpressionRuntimeException, IOException;
+
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.System.getProperty;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.core.api.context.notification.NotifierCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to each listener through a bounded buffer of its own, drained in batches by a single task
+ * at a time in the scheduler for the listener.
+ * <p>
+ * This avoids submitting a task to the notification schedulers for each notification and listener, which is significant when
+ * fine-grained notifications (like {@link org.mule.runtime.api.notification.MessageProcessorNotification}) are being listened to.
+ * Notifications are delivered to each listener in the same order they were fired.
+ * <p>
+ * What happens when the buffer of a listener is full is determined by the {@link OverflowPolicy}. Notifications not delivered
+ * because of it are counted for each listener.
+ *
+ * @since 4.5.0
+ */
+public class BatchedNotificationDelivery implements NotifierCallback {
+
+  /**
+   * Property used to deliver asynchronous notifications in batches through a buffer for each listener.
+   */
+  public static final String BATCHED_DELIVERY_PROPERTY = "mule.notifications.batchedDelivery";
+
+  /**
+   * Property to set the maximum amount of notifications waiting to be delivered to each listener. Defaults to
+   * {@link #DEFAULT_BUFFER_SIZE}.
+   */
+  public static final String BUFFER_SIZE_PROPERTY = BATCHED_DELIVERY_PROPERTY + ".bufferSize";
+
+  /**
+   * Property to set the maximum amount of notifications delivered to a listener in each task. Defaults to
+   * {@link #DEFAULT_BATCH_SIZE}.
+   */
+  public static final String BATCH_SIZE_PROPERTY = BATCHED_DELIVERY_PROPERTY + ".batchSize";
+
+  /**
+   * Property to set the {@link OverflowPolicy} to apply when the buffer of a listener is full. Defaults to
+   * {@link OverflowPolicy#DROP}.
+   */
+  public static final String OVERFLOW_POLICY_PROPERTY = BATCHED_DELIVERY_PROPERTY + ".overflowPolicy";
+
+  /**
+   * Property to set how many notifications are fired for each one buffered when sampling. Defaults to
+   * {@link #DEFAULT_SAMPLE_RATE}.
+   */
+  public static final String SAMPLE_RATE_PROPERTY = BATCHED_DELIVERY_PROPERTY + ".sampleRate";
+
+  /**
+   * Property to set the maximum time, in milliseconds, that the thread firing a notification waits for room in the buffer of a
+   * listener with {@link OverflowPolicy#BLOCK}. Defaults to {@link #DEFAULT_BLOCK_TIMEOUT_MILLIS}.
+   */
+  public static final String BLOCK_TIMEOUT_PROPERTY = BATCHED_DELIVERY_PROPERTY + ".blockTimeoutMillis";
+
+  public static final int DEFAULT_BUFFER_SIZE = 1024;
+  public static final int DEFAULT_BATCH_SIZE = 64;
+  public static final int DEFAULT_SAMPLE_RATE = 10;
+  public static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 100;
+
+  private static final Logger LOGGER = getLogger(BatchedNotificationDelivery.class);
+
+  /**
+   * What to do with the notifications for a listener whose buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The notification is not delivered to the listener.
+     */
+    DROP,
+
+    /**
+     * The thread firing the notification waits until there is room in the buffer, for up to
+     * {@link BatchedNotificationDelivery#BLOCK_TIMEOUT_PROPERTY} milliseconds. The notification is not delivered if there is no
+     * room by then, since the buffer may only be drained by the very threads that are waiting for it.
+     */
+    BLOCK,
+
+    /**
+     * Once the buffer is half full, only one of every {@link BatchedNotificationDelivery#SAMPLE_RATE_PROPERTY} notifications is
+     * buffered, until there is room again. Notifications that don't fit are not delivered.
+     */
+    SAMPLE
+  }
+
+  private final ExecutorService liteExecutor;
+  private final ExecutorService ioExecutor;
+  private final int bufferSize;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final int sampleRate;
+  private final long blockTimeoutMillis;
+
+  private final Map<NotificationListener, ListenerBuffer> buffers = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a {@link BatchedNotificationDelivery} configured through the system properties, if enabled by
+   * {@link #BATCHED_DELIVERY_PROPERTY}.
+   *
+   * @param liteExecutor where notifications are delivered to non blocking listeners.
+   * @param ioExecutor   where notifications are delivered to blocking listeners.
+   * @return a new {@link BatchedNotificationDelivery}, or {@code null} if not enabled.
+   */
+  public static BatchedNotificationDelivery fromSystemProperties(ExecutorService liteExecutor, ExecutorService ioExecutor) {
+    if (!Boolean.getBoolean(BATCHED_DELIVERY_PROPERTY)) {
+      return null;
+    }
+
+    return new BatchedNotificationDelivery(liteExecutor, ioExecutor,
+                                           getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE),
+                                           getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE),
+                                           OverflowPolicy.valueOf(getProperty(OVERFLOW_POLICY_PROPERTY,
+                                                                              OverflowPolicy.DROP.name())
+                                               .toUpperCase()),
+                                           getInteger(SAMPLE_RATE_PROPERTY, DEFAULT_SAMPLE_RATE),
+                                           getLong(BLOCK_TIMEOUT_PROPERTY, DEFAULT_BLOCK_TIMEOUT_MILLIS));
+  }
+
+  public BatchedNotificationDelivery(ExecutorService liteExecutor, ExecutorService ioExecutor, int bufferSize, int batchSize,
+                                     OverflowPolicy overflowPolicy, int sampleRate) {
+    this(liteExecutor, ioExecutor, bufferSize, batchSize, overflowPolicy, sampleRate, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+  }
+
+  public BatchedNotificationDelivery(ExecutorService liteExecutor, ExecutorService ioExecutor, int bufferSize, int batchSize,
+                                     OverflowPolicy overflowPolicy, int sampleRate, long blockTimeoutMillis) {
+    if (bufferSize < 1 || batchSize < 1 || sampleRate < 1) {
+      throw new IllegalArgumentException("Buffer size, batch size and sample rate must be positive");
+    }
+    if (blockTimeoutMillis < 0) {
+      throw new IllegalArgumentException("Block timeout must not be negative");
+    }
+    this.liteExecutor = liteExecutor;
+    this.ioExecutor = ioExecutor;
+    this.bufferSize = bufferSize;
+    this.batchSize = batchSize;
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = sampleRate;
+    this.blockTimeoutMillis = blockTimeoutMillis;
+  }
+
+  @Override
+  public void notify(NotificationListener listener, Notification notification) {
+    buffers.computeIfAbsent(listener, ListenerBuffer::new).offer(notification);
+  }
+
+  /**
+   * Stops using the buffer of the given listener. Notifications already in it are still delivered.
+   *
+   * @param listener the listener that no longer receives notifications.
+   */
+  public void removeListener(NotificationListener listener) {
+    buffers.remove(listener);
+  }
+
+  /**
+   * @param listener a listener notifications were delivered to.
+   * @return the amount of notifications that were not delivered to the given listener because its buffer was full.
+   */
+  public long getDroppedNotifications(NotificationListener listener) {
+    final ListenerBuffer buffer = buffers.get(listener);
+    return buffer == null ? 0 : buffer.dropped.get();
+  }
+
+  /**
+   * @return the amount of notifications that were not delivered to any listener because its buffer was full.
+   */
+  public long getDroppedNotifications() {
+    long dropped = 0;
+    for (ListenerBuffer buffer : buffers.values()) {
+      dropped += buffer.dropped.get();
+    }
+    return dropped;
+  }
+
+  private final class ListenerBuffer {
+
+    private final NotificationListener listener;
+    private final BlockingQueue<Notification> notifications = new ArrayBlockingQueue<>(bufferSize);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread drainingThread;
+
+    private ListenerBuffer(NotificationListener listener) {
+      this.listener = listener;
+    }
+
+    private void offer(Notification notification) {
+      if (!enqueue(notification)) {
+        if (dropped.getAndIncrement() == 0) {
+          LOGGER.warn("Notifications buffer of listener '{}' is full, notifications for it are being dropped", listener);
+        }
+        return;
+      }
+      scheduleDrain();
+    }
+
+    private boolean enqueue(Notification notification) {
+      switch (overflowPolicy) {
+        case BLOCK:
+          if (notifications.offer(notification)) {
+            return true;
+          }
+          // A listener firing notifications to itself would wait for its own buffer to be drained
+          if (drainingThread == currentThread()) {
+            return false;
+          }
+          // Make sure the buffer is being drained while waiting. The wait is bounded, since the drain may be queued behind the
+          // very threads waiting here.
+          scheduleDrain();
+          try {
+            return notifications.offer(notification, blockTimeoutMillis, MILLISECONDS);
+          } catch (InterruptedException e) {
+            currentThread().interrupt();
+            return false;
+          }
+        case SAMPLE:
+          if (notifications.size() >= bufferSize / 2 && fired.getAndIncrement() % sampleRate != 0) {
+            return false;
+          }
+          return notifications.offer(notification);
+        default:
+          return notifications.offer(notification);
+      }
+    }
+
+    private void scheduleDrain() {
+      if (drainScheduled.compareAndSet(false, true)) {
+        try {
+          (listener.isBlocking() ? ioExecutor : liteExecutor).submit(this::drain);
+        } catch (RejectedExecutionException e) {
+          drainScheduled.set(false);
+          throw e;
+        }
+      }
+    }
+
+    private void drain() {
+      final List<Notification> batch = new ArrayList<>(batchSize);
+      drainingThread = currentThread();
+      try {
+        notifications.drainTo(batch, batchSize);
+        for (Notification notification : batch) {
+          try {
+            listener.onNotification(notification);
+          } catch (Throwable e) {
+            LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", listener,
+                        notification, e);
+          }
+        }
+      } finally {
+        drainingThread = null;
+        drainScheduled.set(false);
+      }
+
+      // Notifications added while the batch was being delivered are delivered in a new task, letting others run meanwhile
+      if (!notifications.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+  }
+}
@@ -15,33 +15,49 @@ import org.mule.runtime.core.api.context.notification.FlowStackElement;
 import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.EmptyStackException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 /**
  * Keeps context information about the executing flows and its callers in order to provide augmented troubleshooting information
  * for an application developer.
+ * <p>
+ * The elements are kept in an immutable linked stack, where pushing an element creates a new head that shares the rest of the
+ * stack. This way, {@link #clone()} doesn't copy the elements and no locks are needed to read or update the stack.
  */
 public class DefaultFlowCallStack implements FlowCallStack {
 
   private static final long serialVersionUID = -8683711977929802819L;
 
+  // Keeps the serialized form of this class as it was when the elements were held in a Deque
+  private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("innerStack", Deque.class)};
+
+  private static final AtomicReferenceFieldUpdater<DefaultFlowCallStack, Node> HEAD_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(DefaultFlowCallStack.class, Node.class, "head");
+
   // BaseEventContext.class.getName() is here for backwards compatibility, since it was the equivalent property until 4.2.x
   private static final int MAX_DEPTH =
       getInteger(MULE_FLOW_STACK_MAX_DEPTH, getInteger(BaseEventContext.class.getName() + ".maxDepth", 45));
 
-  private final Deque<FlowStackElement> innerStack;
+  private transient volatile Node head;
 
   public DefaultFlowCallStack() {
-    this.innerStack = new ArrayDeque<>(4);
+    this.head = null;
   }
 
-  private DefaultFlowCallStack(final Deque<FlowStackElement> innerStack) {
-    this.innerStack = ((ArrayDeque) innerStack).clone();
+  private DefaultFlowCallStack(final Node head) {
+    this.head = head;
   }
 
   /**
@@ -50,19 +66,19 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @param flowStackElement the element to add
    */
   public void push(FlowStackElement flowStackElement) {
-    if (innerStack.size() >= MAX_DEPTH) {
-      StringBuilder messageBuilder = new StringBuilder();
-
-      messageBuilder.append("Too many nested child contexts.")
-          .append(lineSeparator())
-          .append(toString());
+    Node current;
+    do {
+      current = head;
+      if (current != null && current.depth >= MAX_DEPTH) {
+        StringBuilder messageBuilder = new StringBuilder();
 
-      throw new EventContextDeepNestingException(messageBuilder.toString());
-    }
+        messageBuilder.append("Too many nested child contexts.")
+            .append(lineSeparator())
+            .append(toString());
 
-    synchronized (innerStack) {
-      innerStack.push(flowStackElement);
-    }
+        throw new EventContextDeepNestingException(messageBuilder.toString());
+      }
+    } while (!HEAD_UPDATER.compareAndSet(this, current, new Node(flowStackElement, current)));
   }
 
   /**
@@ -72,11 +88,15 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public void pushCurrentProcessorPath(String processorPath) {
-    if (!innerStack.isEmpty()) {
-      synchronized (innerStack) {
-        innerStack.push(new FlowStackElement(innerStack.pop().getFlowName(), processorPath));
+    Node current;
+    do {
+      current = head;
+      if (current == null) {
+        return;
       }
-    }
+    } while (!HEAD_UPDATER.compareAndSet(this, current,
+                                         new Node(new FlowStackElement(current.element.getFlowName(), processorPath),
+                                                  current.next)));
   }
 
   /**
@@ -86,9 +106,14 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement pop() {
-    synchronized (innerStack) {
-      return innerStack.pop();
-    }
+    Node current;
+    do {
+      current = head;
+      if (current == null) {
+        throw new NoSuchElementException();
+      }
+    } while (!HEAD_UPDATER.compareAndSet(this, current, current.next));
+    return current.element;
   }
 
   /**
@@ -98,23 +123,23 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement peek() {
-    synchronized (innerStack) {
-      return innerStack.peek();
-    }
+    final Node current = head;
+    return current == null ? null : current.element;
   }
 
   @Override
   public List<FlowStackElement> getElements() {
-    synchronized (innerStack) {
-      return new ArrayList<>(innerStack);
+    final Node current = head;
+    final List<FlowStackElement> elements = new ArrayList<>(current == null ? 0 : current.depth);
+    for (Node node = current; node != null; node = node.next) {
+      elements.add(node.element);
     }
+    return elements;
   }
 
   @Override
   public DefaultFlowCallStack clone() {
-    synchronized (innerStack) {
-      return new DefaultFlowCallStack(innerStack);
-    }
+    return new DefaultFlowCallStack(head);
   }
 
   @Override
@@ -129,15 +154,45 @@ public class DefaultFlowCallStack implements FlowCallStack {
   private String doToString(Function<FlowStackElement, String> toString) {
     StringBuilder stackString = new StringBuilder(256);
 
-    int i = 0;
-    synchronized (innerStack) {
-      for (FlowStackElement flowStackElement : innerStack) {
-        stackString.append("at ").append(toString.apply(flowStackElement));
-        if (++i != innerStack.size()) {
-          stackString.append(lineSeparator());
-        }
+    for (Node node = head; node != null; node = node.next) {
+      stackString.append("at ").append(toString.apply(node.element));
+      if (node.next != null) {
+        stackString.append(lineSeparator());
       }
     }
     return stackString.toString();
   }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("innerStack", new ArrayDeque<>(getElements()));
+    out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    Deque<FlowStackElement> innerStack = (Deque<FlowStackElement>) in.readFields().get("innerStack", null);
+    Node node = null;
+    if (innerStack != null) {
+      for (Iterator<FlowStackElement> elements = innerStack.descendingIterator(); elements.hasNext();) {
+        node = new Node(elements.next(), node);
+      }
+    }
+    head = node;
+  }
+
+  /**
+   * An element of the stack along with the ones below it, which are shared by every stack pushed from it.
+   */
+  private static final class Node {
+
+    private final FlowStackElement element;
+    private final Node next;
+    private final int depth;
+
+    private Node(FlowStackElement element, Node next) {
+      this.element = element;
+      this.next = next;
+      this.depth = next == null ? 1 : next.depth + 1;
+    }
+  }
 }
@@ -16,9 +16,9 @@ import org.mule.runtime.core.api.context.notification.NotifierCallback;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -27,22 +27,23 @@ import java.util.concurrent.ConcurrentMap;
 
 /**
  * For a particular configuration, this describes what events should be delivered where. It is read-only and a lazy instance is
- * cached by the {@link Configuration}
+ * cached by the {@link Configuration}, which builds a new one when the configuration changes.
+ * <p>
+ * The senders for each notification class, along with whether that class is enabled, are resolved once into a dispatch table, so
+ * that dispatching a notification or checking if it is enabled is a single lookup. The table is filled up front for the
+ * configured notification types, and on the first use for any other class.
  */
 public class Policy {
 
   private static final Logger LOGGER = getLogger(Policy.class);
 
-  // map from event to set of senders
-  private Map<Class<? extends Notification>, Collection<Sender>> eventToSenders =
-      new HashMap<>();
-  private Map<Class<? extends Notification>, Collection<Sender>> concreteEventToSenders =
-      new ConcurrentHashMap<>();
+  private static final Sender[] NO_SENDERS = new Sender[0];
 
-  // these are cumulative - set values should never change, they are just a cache of known info
-  // they are co and contra-variant wrt to exact event type (see code below).
-  private ConcurrentMap<Class, Boolean> knownEventsExact = new ConcurrentHashMap<>();
-  private ConcurrentMap<Class, Boolean> knownEventsSuper = new ConcurrentHashMap<>();
+  // map from event to the senders for it, in a collection with predictable iteration order
+  private final Map<Class<? extends Notification>, List<Sender>> eventToSenders = new HashMap<>();
+
+  // map from any notification class to what is done with it
+  private final ConcurrentMap<Class, DispatchEntry> dispatchTable = new ConcurrentHashMap<>();
 
   /**
    * For each listener, we check each interface and see what events can be delivered.
@@ -59,19 +60,19 @@ public class Policy {
             Set<Class<? extends Notification>> events = interfaceToEvents.get(iface);
             for (Class<? extends Notification> event : events) {
               if (notASubclassOfAnyClassInSet(disabledEvents, event)) {
-                knownEventsExact.put(event, Boolean.TRUE);
-                knownEventsSuper.put(event, Boolean.TRUE);
-                if (!eventToSenders.containsKey(event)) {
-                  // use a collection with predictable iteration order
-                  eventToSenders.put(event, new ArrayList<Sender>());
-                }
-                eventToSenders.get(event).add(new Sender(pair));
+                eventToSenders.computeIfAbsent(event, e -> new ArrayList<>()).add(new Sender(pair));
               }
             }
           }
         }
       }
     }
+
+    for (Set<Class<? extends Notification>> events : interfaceToEvents.values()) {
+      for (Class<? extends Notification> event : events) {
+        dispatchTable.put(event, createDispatchEntry(event));
+      }
+    }
   }
 
   protected static boolean notASubclassOfAnyClassInSet(Set set, Class clazz) {
@@ -96,57 +97,22 @@ public class Policy {
 
   public void dispatch(Notification notification, NotifierCallback notifier) {
     if (null != notification) {
-      Class notfnClass = notification.getClass();
-      Boolean eventKnown = knownEventsExact.get(notfnClass);
-      // search if we don't know about this event, or if we do know it is used
-      if (eventKnown == null) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-      } else if (eventKnown.booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        // reduce contention on the map by not writing the same value over and over again.
-        if (!found) {
-          knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-        }
-      }
-    }
-  }
-
-  protected boolean doDispatch(Notification notification, Class<? extends Notification> notfnClass,
-                               NotifierCallback notifier) {
-    // Optimization to avoid iterating the eventToSenders map each time a notification is fired
-    Collection<Sender> senders = concreteEventToSenders.get(notfnClass);
-    if (senders != null) {
-      dispatchToSenders(notification, senders, notifier);
-      return true;
-    }
-
-    senders = new ArrayList<>();
-    for (Entry<Class<? extends Notification>, Collection<Sender>> event : eventToSenders.entrySet()) {
-      if (event.getKey().isAssignableFrom(notfnClass)) {
-        senders.addAll(event.getValue());
+      final Sender[] senders = getDispatchEntry(notification.getClass()).senders;
+      for (int i = 0; i < senders.length; ++i) {
+        dispatchToSender(notification, senders[i], notifier);
       }
     }
-
-    if (!senders.isEmpty()) {
-      dispatchToSenders(notification, senders, notifier);
-      concreteEventToSenders.putIfAbsent(notfnClass, senders);
-    }
-
-    return !senders.isEmpty();
   }
 
-  private void dispatchToSenders(Notification notification, Collection<Sender> senders, NotifierCallback notifier) {
-    for (Sender sender : senders) {
-      try {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Sending notification: " + notification.toString());
-        }
-        sender.dispatch(notification, notifier);
-      } catch (Throwable e) {
-        LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", sender.getListener(),
-                    notification, e);
+  private void dispatchToSender(Notification notification, Sender sender, NotifierCallback notifier) {
+    try {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Sending notification: " + notification.toString());
       }
+      sender.dispatch(notification, notifier);
+    } catch (Throwable e) {
+      LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", sender.getListener(),
+                  notification, e);
     }
   }
 
@@ -159,31 +125,49 @@ public class Policy {
    * @return false if there is no need to dispatch the notification
    */
   public boolean isNotificationEnabled(Class notfnClass) {
-    // if (!knownEventsSuper.containsKey(notfnClass)) {
-    Boolean knownSuper = knownEventsSuper.get(notfnClass);
-    if (knownSuper == null) {
-      boolean found = false;
-      // this is exhaustive because we initialise to include all events handled.
-      for (Iterator<Class> events = knownEventsSuper.keySet().iterator(); events.hasNext() && !found;) {
-        Class event = events.next();
-        found = knownEventsSuper.get(event).booleanValue() && notfnClass.isAssignableFrom(event);
+    return getDispatchEntry(notfnClass).enabled;
+  }
+
+  private DispatchEntry getDispatchEntry(Class notfnClass) {
+    DispatchEntry entry = dispatchTable.get(notfnClass);
+    if (entry == null) {
+      // Not using computeIfAbsent, which locks even when the entry is already there
+      entry = createDispatchEntry(notfnClass);
+      final DispatchEntry previous = dispatchTable.putIfAbsent(notfnClass, entry);
+      if (previous != null) {
+        entry = previous;
       }
-      knownSuper = Boolean.valueOf(found);
-      knownEventsSuper.put(notfnClass, Boolean.valueOf(found));
     }
+    return entry;
+  }
 
-    Boolean knownExact = knownEventsExact.get(notfnClass);
-    if (knownExact == null) {
-      boolean found = false;
-      for (Iterator events = eventToSenders.keySet().iterator(); events.hasNext() && !found;) {
-        Class event = (Class) events.next();
-        found = event.isAssignableFrom(notfnClass);
+  private DispatchEntry createDispatchEntry(Class notfnClass) {
+    final List<Sender> senders = new ArrayList<>();
+    boolean enabled = false;
+    for (Entry<Class<? extends Notification>, List<Sender>> event : eventToSenders.entrySet()) {
+      if (event.getKey().isAssignableFrom(notfnClass)) {
+        senders.addAll(event.getValue());
+        enabled = true;
+      } else if (notfnClass.isAssignableFrom(event.getKey())) {
+        // a subclass of the notification is accepted
+        enabled = true;
       }
-      knownExact = Boolean.valueOf(found);
-      knownEventsExact.put(notfnClass, knownExact);
     }
+    return new DispatchEntry(senders.isEmpty() ? NO_SENDERS : senders.toArray(new Sender[senders.size()]), enabled);
+  }
 
-    return knownSuper.booleanValue() || knownExact.booleanValue();
+  /**
+   * What is done with the notifications of a particular class.
+   */
+  private static final class DispatchEntry {
+
+    private final Sender[] senders;
+    private final boolean enabled;
+
+    private DispatchEntry(Sender[] senders, boolean enabled) {
+      this.senders = senders;
+      this.enabled = enabled;
+    }
   }
 
 }
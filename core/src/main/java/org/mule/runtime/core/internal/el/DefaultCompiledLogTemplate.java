@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import org.mule.runtime.api.el.CompiledExpression;
+import org.mule.runtime.core.api.el.CompiledLogTemplate;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
+
+/**
+ * Default {@link CompiledLogTemplate}, compiled by {@link DefaultExpressionManager}.
+ * <p>
+ * Templates to be parsed with MEL keep their expressions as text, since MEL evaluation is done through the expression text.
+ *
+ * @since 4.5.0
+ */
+final class DefaultCompiledLogTemplate implements CompiledLogTemplate {
+
+  private final CompiledTemplate<CompiledExpression> compiledTemplate;
+  private final CompiledTemplate<String> melCompiledTemplate;
+
+  static DefaultCompiledLogTemplate compiled(CompiledTemplate<CompiledExpression> compiledTemplate) {
+    return new DefaultCompiledLogTemplate(compiledTemplate, null);
+  }
+
+  static DefaultCompiledLogTemplate melCompiled(CompiledTemplate<String> melCompiledTemplate) {
+    return new DefaultCompiledLogTemplate(null, melCompiledTemplate);
+  }
+
+  private DefaultCompiledLogTemplate(CompiledTemplate<CompiledExpression> compiledTemplate,
+                                     CompiledTemplate<String> melCompiledTemplate) {
+    this.compiledTemplate = compiledTemplate;
+    this.melCompiledTemplate = melCompiledTemplate;
+  }
+
+  boolean isMel() {
+    return melCompiledTemplate != null;
+  }
+
+  /**
+   * @return the compiled template, if not to be parsed with MEL.
+   */
+  CompiledTemplate<CompiledExpression> getCompiledTemplate() {
+    return compiledTemplate;
+  }
+
+  /**
+   * @return the compiled template, if to be parsed with MEL.
+   */
+  CompiledTemplate<String> getMelCompiledTemplate() {
+    return melCompiledTemplate;
+  }
+
+  @Override
+  public String getTemplate() {
+    return isMel() ? melCompiledTemplate.getTemplate() : compiledTemplate.getTemplate();
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledLogTemplate[" + getTemplate() + "]";
+  }
+}
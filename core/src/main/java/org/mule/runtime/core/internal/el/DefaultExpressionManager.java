@@ -13,9 +13,12 @@ import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.core.api.util.ClassUtils.isInstance;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
+import static org.mule.runtime.core.internal.el.DefaultCompiledLogTemplate.compiled;
+import static org.mule.runtime.core.internal.el.DefaultCompiledLogTemplate.melCompiled;
 
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
+import static java.util.function.Function.identity;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -31,6 +34,7 @@ import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.el.CompiledLogTemplate;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -41,7 +45,11 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.util.OneTimeWarning;
 import org.mule.runtime.core.privileged.transformer.TransformersRegistry;
 import org.mule.runtime.core.privileged.util.TemplateParser;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
+import org.mule.runtime.core.privileged.util.TemplateParser.TemplateCallback;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -250,26 +258,88 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
                                  BindingContext bindingContext)
       throws ExpressionRuntimeException {
 
-    if ((!hasDwExpression(template) && !hasMelExpression(template) && melDefault) || hasMelExpression(template)) {
+    if (isMelTemplate(template)) {
       Builder eventBuilder = CoreEvent.builder(event);
       return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
     } else {
-      return parser.parse(token -> {
-        TypedValue<?> evaluation = expressionLanguage.evaluateLogExpression(token, event, componentLocation, bindingContext);
-        if (evaluation.getValue() instanceof Message) {
-          // Do not apply transformation to Message since payload will be considered then
-          return evaluation.getValue();
-        }
-        try {
-          return transform(evaluation, evaluation.getDataType(), STRING).getValue();
-        } catch (TransformerException e) {
-          throw new ExpressionRuntimeException(
-                                               createStaticMessage(format("Failed to transform %s to %s.",
-                                                                          evaluation.getDataType(),
-                                                                          STRING)),
-                                               e);
-        }
-      }, template);
+      return parser.parse(token -> logEvaluationValue(expressionLanguage
+          .evaluateLogExpression(token, event, componentLocation, bindingContext)), template);
+    }
+  }
+
+  @Override
+  public CompiledLogTemplate compileLogTemplate(String template) {
+    if (isMelTemplate(template)) {
+      return melCompiled(parser.compile(template, identity()));
+    } else {
+      return compiled(parser.compile(template, token -> ExpressionLanguageUtils.compile(token, this)));
+    }
+  }
+
+  @Override
+  public String parseLogTemplate(CompiledLogTemplate template, CoreEvent event, ComponentLocation componentLocation,
+                                 BindingContext bindingContext)
+      throws ExpressionRuntimeException {
+    final DefaultCompiledLogTemplate compiledLogTemplate = (DefaultCompiledLogTemplate) template;
+
+    if (compiledLogTemplate.isMel()) {
+      Builder eventBuilder = CoreEvent.builder(event);
+      TemplateCallback callback = token -> melParseEvaluation(event, componentLocation, eventBuilder, token);
+      return compiledLogTemplate.getMelCompiledTemplate().resolve(callback::match, callback);
+    } else {
+      final CompiledTemplate<CompiledExpression> compiledTemplate = compiledLogTemplate.getCompiledTemplate();
+      if (!compiledTemplate.hasExpressions()) {
+        return compiledTemplate.getTemplate();
+      }
+
+      try (ExpressionLanguageSessionAdaptor session = expressionLanguage.openSession(componentLocation, event, bindingContext)) {
+        return compiledTemplate.resolve(expression -> logEvaluationValue(session.evaluateLogExpression(expression)),
+                                        token -> logEvaluationValue(session.evaluateLogExpression(token)));
+      }
+    }
+  }
+
+  @Override
+  public void parseLogTemplate(CompiledLogTemplate template, CoreEvent event, ComponentLocation componentLocation,
+                               BindingContext bindingContext, Writer writer)
+      throws ExpressionRuntimeException, IOException {
+    final DefaultCompiledLogTemplate compiledLogTemplate = (DefaultCompiledLogTemplate) template;
+
+    if (compiledLogTemplate.isMel()) {
+      Builder eventBuilder = CoreEvent.builder(event);
+      TemplateCallback callback = token -> melParseEvaluation(event, componentLocation, eventBuilder, token);
+      compiledLogTemplate.getMelCompiledTemplate().resolve(callback::match, callback, writer);
+    } else {
+      final CompiledTemplate<CompiledExpression> compiledTemplate = compiledLogTemplate.getCompiledTemplate();
+      if (!compiledTemplate.hasExpressions()) {
+        writer.write(compiledTemplate.getTemplate());
+        return;
+      }
+
+      try (ExpressionLanguageSessionAdaptor session = expressionLanguage.openSession(componentLocation, event, bindingContext)) {
+        compiledTemplate.resolve(expression -> logEvaluationValue(session.evaluateLogExpression(expression)),
+                                 token -> logEvaluationValue(session.evaluateLogExpression(token)), writer);
+      }
+    }
+  }
+
+  private boolean isMelTemplate(String template) {
+    return (!hasDwExpression(template) && !hasMelExpression(template) && melDefault) || hasMelExpression(template);
+  }
+
+  private Object logEvaluationValue(TypedValue<?> evaluation) {
+    if (evaluation.getValue() instanceof Message) {
+      // Do not apply transformation to Message since payload will be considered then
+      return evaluation.getValue();
+    }
+    try {
+      return transform(evaluation, evaluation.getDataType(), STRING).getValue();
+    } catch (TransformerException e) {
+      throw new ExpressionRuntimeException(
+                                           createStaticMessage(format("Failed to transform %s to %s.",
+                                                                      evaluation.getDataType(),
+                                                                      STRING)),
+                                           e);
     }
   }
 
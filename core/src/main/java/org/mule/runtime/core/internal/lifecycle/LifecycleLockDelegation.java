@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lifecycle;
+
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.core.api.MuleContext;
+
+/**
+ * Allows the thread that holds the lifecycle lock of a {@link MuleContext} to have work that requires that lock done by other
+ * threads while it waits for them.
+ * <p>
+ * The threads running work through {@link #runDelegated(Runnable)} synchronize on a lock of this delegation instead of the
+ * lifecycle lock when calling {@link MuleContext#withLifecycleLock(Runnable)}, since waiting for the lifecycle lock would
+ * deadlock them with the thread that holds it. The work of the delegated threads is still serialized among them.
+ *
+ * @since 4.5.0
+ */
+public final class LifecycleLockDelegation {
+
+  private static final ThreadLocal<LifecycleLockDelegation> CURRENT_DELEGATION = new ThreadLocal<>();
+
+  private final MuleContext muleContext;
+  private final Object lock = new Object();
+
+  /**
+   * Creates a new delegation.
+   *
+   * @param muleContext the context whose lifecycle lock is held by the thread creating the delegation.
+   */
+  public LifecycleLockDelegation(MuleContext muleContext) {
+    this.muleContext = requireNonNull(muleContext);
+  }
+
+  /**
+   * Runs the given {@code command} in the current thread on behalf of the thread holding the lifecycle lock of the
+   * {@link MuleContext}.
+   *
+   * @param command the work to run.
+   */
+  public void runDelegated(Runnable command) {
+    final LifecycleLockDelegation previous = CURRENT_DELEGATION.get();
+    CURRENT_DELEGATION.set(this);
+    try {
+      command.run();
+    } finally {
+      if (previous == null) {
+        CURRENT_DELEGATION.remove();
+      } else {
+        CURRENT_DELEGATION.set(previous);
+      }
+    }
+  }
+
+  /**
+   * @param muleContext   the context whose lifecycle lock is requested.
+   * @param lifecycleLock the lifecycle lock of the {@code muleContext}.
+   * @return the lock to synchronize on instead of the {@code lifecycleLock}, which is the {@code lifecycleLock} itself unless the
+   *         current thread runs work delegated by the thread holding it.
+   */
+  public static Object getLifecycleLock(MuleContext muleContext, Object lifecycleLock) {
+    final LifecycleLockDelegation delegation = CURRENT_DELEGATION.get();
+    return delegation != null && delegation.muleContext == muleContext ? delegation.lock : lifecycleLock;
+  }
+}
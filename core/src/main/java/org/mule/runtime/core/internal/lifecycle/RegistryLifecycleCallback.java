@@ -12,6 +12,8 @@ import static org.mule.runtime.core.api.util.ExceptionUtils.extractOfType;
 
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
@@ -72,11 +74,23 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       LOGGER.debug("Applying lifecycle phase: {} for registry: {}", phase, object.getClass().getSimpleName());
     }
 
-    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    final long startNanos = nanoTime();
+    applyLifecycle(phase);
+    registryLifecycleManager.recordPhaseExecutionTime(phaseName, NANOSECONDS.toMillis(nanoTime() - startNanos));
 
     interceptor.onPhaseCompleted(phase);
   }
 
+  /**
+   * Applies the given {@code phase} to all the objects in the registry, in the order the phase requires.
+   *
+   * @param phase the phase to apply
+   * @throws LifecycleException if the phase could not be applied to some object
+   */
+  protected void applyLifecycle(LifecyclePhase phase) throws LifecycleException {
+    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+  }
+
   private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Collection<?> targetObjects)
       throws LifecycleException {
     for (Object target : targetObjects) {
@@ -90,7 +104,15 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     }
   }
 
-  private void applyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Object target) throws LifecycleException {
+  /**
+   * Applies the given {@code phase} to {@code target}, unless the interceptor prevents it.
+   *
+   * @param phase      the phase to apply
+   * @param duplicates the objects to which the phase was already applied. {@code target} is added to it once the phase is applied.
+   * @param target     the object to apply the phase to
+   * @throws LifecycleException if the phase could not be applied to {@code target}
+   */
+  protected void applyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Object target) throws LifecycleException {
     try {
       if (interceptor.beforePhaseExecution(phase, target)) {
         phase.applyLifecycle(target);
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.lifecycle;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
@@ -32,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry> {
@@ -42,6 +44,7 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
 
   protected MuleContext muleContext;
   private final LifecycleInterceptor lifecycleInterceptor;
+  private final Map<String, Long> phaseExecutionTimes = new ConcurrentHashMap<>();
 
   public RegistryLifecycleManager(String id, Registry object, MuleContext muleContext,
                                   LifecycleInterceptor lifecycleInterceptor) {
@@ -180,6 +183,18 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
     }
   }
 
+  /**
+   * @return how long, in milliseconds, the last execution of each phase took to be applied to all the objects in the registry.
+   */
+  public Map<String, Long> getPhaseExecutionTimes() {
+    return unmodifiableMap(phaseExecutionTimes);
+  }
+
+  void recordPhaseExecutionTime(String phaseName, long executionTimeMillis) {
+    phaseExecutionTimes.put(phaseName, executionTimeMillis);
+    logger.debug("Lifecycle phase '{}' of '{}' applied in {} ms", phaseName, lifecycleManagerId, executionTimeMillis);
+  }
+
   protected List<Object> getObjectsForPhase(LifecyclePhase phase) {
     LifecycleObjectSorter sorter = phase.newLifecycleObjectSorter();
 
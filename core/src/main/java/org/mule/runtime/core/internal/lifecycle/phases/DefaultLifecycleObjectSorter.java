@@ -83,4 +83,21 @@ public class DefaultLifecycleObjectSorter implements LifecycleObjectSorter {
 
     return sorted;
   }
+
+  /**
+   * Same as {@link #getSortedObjects()}, but keeping apart the objects of each of the {@code orderedLifecycleTypes}. The lifecycle
+   * must be applied to all the objects of a group before any of the following one.
+   *
+   * @return the sorted objects, grouped by type
+   */
+  public List<List<Object>> getSortedObjectGroups() {
+    List<List<Object>> groups = new ArrayList<>(buckets.length);
+    for (List<Object> bucket : buckets) {
+      if (bucket != null) {
+        groups.add(bucket);
+      }
+    }
+
+    return groups;
+  }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import org.mule.runtime.api.lock.LockFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Extension of a {@link LockFactory} that provides non blocking locks which are not bound to a thread.
+ * <p>
+ * Async locks are not reentrant, and they don't exclude the {@link java.util.concurrent.locks.Lock}s created through
+ * {@link LockFactory#createLock(String)} for the same id. Each lock id must be used either only with async locks or only with
+ * regular ones.
+ *
+ * @since 4.5.0
+ */
+public interface AsyncLockFactory {
+
+  /**
+   * Async locks are only available if they provide the same guarantees as the regular ones, i.e., not when regular locks have to
+   * be acquired across a cluster.
+   *
+   * @return whether {@link #acquireAsync(String)} may be used.
+   */
+  boolean isAsyncLockSupported();
+
+  /**
+   * Requests the lock identified by {@code lockId} without blocking the calling thread. Acquisitions of the same lock are
+   * granted in the order they were requested.
+   * <p>
+   * Cancelling the returned future before it completes withdraws the request.
+   *
+   * @param lockId the id of the lock to acquire
+   * @return a future completed with the {@link LockToken} once the lock has been acquired
+   * @throws IllegalStateException if async locks are not supported.
+   */
+  CompletableFuture<LockToken> acquireAsync(String lockId);
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the state of the locks handed out by an {@link AsyncLockFactory} inside a mule instance.
+ * <p>
+ * An entry exists for each lock id while its lock is held, keeping the acquisitions waiting for it in request order. When the
+ * lock is released, it is handed over to the next waiting acquisition, or the entry is discarded if there is none. Entries are
+ * updated atomically per lock id, so different locks don't contend with each other.
+ *
+ * @since 4.5.0
+ */
+public class AsyncLockGroup implements Disposable {
+
+  private static final ThreadLocal<Deque<Runnable>> PENDING_HAND_OVERS = ThreadLocal.withInitial(ArrayDeque::new);
+
+  private final ConcurrentMap<String, AsyncLockEntry> locks = new ConcurrentHashMap<>();
+
+  /**
+   * @see AsyncLockFactory#acquireAsync(String)
+   */
+  public CompletableFuture<LockToken> acquire(String lockId) {
+    final AtomicReference<CompletableFuture<LockToken>> acquisition = new AtomicReference<>();
+    locks.compute(lockId, (k, lockEntry) -> {
+      if (lockEntry == null) {
+        acquisition.set(completedFuture(new DefaultLockToken(k)));
+        return new AsyncLockEntry();
+      }
+
+      acquisition.set(new CompletableFuture<>());
+      lockEntry.waiting.add(acquisition.get());
+      return lockEntry;
+    });
+
+    return acquisition.get();
+  }
+
+  private void release(String lockId) {
+    final AtomicReference<CompletableFuture<LockToken>> nextAcquisition = new AtomicReference<>();
+    locks.computeIfPresent(lockId, (k, lockEntry) -> {
+      nextAcquisition.set(lockEntry.waiting.poll());
+      return nextAcquisition.get() == null ? null : lockEntry;
+    });
+
+    final CompletableFuture<LockToken> next = nextAcquisition.get();
+    if (next != null) {
+      // A waiting acquisition that was cancelled just passes the lock on to the following one.
+      handOver(() -> {
+        if (!next.complete(new DefaultLockToken(lockId))) {
+          release(lockId);
+        }
+      });
+    }
+  }
+
+  /**
+   * Completing an acquisition runs the callbacks of the new owner in the current thread, which may in turn release the lock and
+   * complete the following acquisition. Hand overs triggered that way are queued and run by the outermost call instead of
+   * nesting, so that the stack doesn't grow with the amount of waiting acquisitions.
+   */
+  private static void handOver(Runnable handOver) {
+    final Deque<Runnable> pending = PENDING_HAND_OVERS.get();
+    final boolean outermost = pending.isEmpty();
+    pending.add(handOver);
+    if (!outermost) {
+      return;
+    }
+
+    try {
+      Runnable next;
+      while ((next = pending.peek()) != null) {
+        next.run();
+        pending.poll();
+      }
+    } finally {
+      pending.clear();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    for (String lockId : locks.keySet()) {
+      List<CompletableFuture<LockToken>> waiting = new ArrayList<>();
+      locks.computeIfPresent(lockId, (k, lockEntry) -> {
+        waiting.addAll(lockEntry.waiting);
+        return null;
+      });
+      waiting.forEach(acquisition -> acquisition.cancel(false));
+    }
+  }
+
+  private static final class AsyncLockEntry {
+
+    // only accessed from within the map update functions
+    private final Queue<CompletableFuture<LockToken>> waiting = new ArrayDeque<>();
+  }
+
+  private final class DefaultLockToken implements LockToken {
+
+    private final String lockId;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    private DefaultLockToken(String lockId) {
+      this.lockId = lockId;
+    }
+
+    @Override
+    public String getLockId() {
+      return lockId;
+    }
+
+    @Override
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        AsyncLockGroup.this.release(lockId);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "LockToken[" + lockId + "]" + (released.get() ? " (released)" : "");
+    }
+  }
+}
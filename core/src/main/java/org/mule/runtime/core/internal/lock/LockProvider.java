@@ -27,4 +27,15 @@ public interface LockProvider {
    */
   Lock createLock(String lockId);
 
+  /**
+   * Locks handed out by an {@link AsyncLockFactory} are only valid within a mule instance. They may only be used instead of
+   * the locks of this provider if these don't need to exclude anything else.
+   *
+   * @return whether the locks of this provider only have to exclude threads of this mule instance.
+   * @since 4.5.0
+   */
+  default boolean isAsyncLockSupported() {
+    return false;
+  }
+
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+/**
+ * Proof of ownership of a lock acquired through {@link AsyncLockFactory#acquireAsync(String)}.
+ * <p>
+ * Unlike a {@link java.util.concurrent.locks.Lock}, the lock is owned by the token and not by the thread that acquired it, so it
+ * may be released from any thread.
+ *
+ * @since 4.5.0
+ */
+public interface LockToken {
+
+  /**
+   * @return the id of the lock this token owns
+   */
+  String getLockId();
+
+  /**
+   * Releases the lock, handing it over to the next waiting acquisition if any. Calling this method more than once has no effect.
+   */
+  void release();
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static org.mule.runtime.api.util.Preconditions.checkState;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_LOCK_PROVIDER;
 
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -14,14 +15,16 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.scheduler.SchedulerService;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
-public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
+public class MuleLockFactory implements LockFactory, AsyncLockFactory, Initialisable, Disposable {
 
   private LockGroup lockGroup;
+  private final AsyncLockGroup asyncLockGroup = new AsyncLockGroup();
   private LockProvider lockProvider;
 
   @Inject
@@ -32,11 +35,23 @@ public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
     return new LockAdapter(lockId, lockGroup, schedulerService);
   }
 
+  @Override
+  public boolean isAsyncLockSupported() {
+    return lockProvider != null && lockProvider.isAsyncLockSupported();
+  }
+
+  @Override
+  public CompletableFuture<LockToken> acquireAsync(String lockId) {
+    checkState(isAsyncLockSupported(), "Async locks are not supported by lock provider " + lockProvider);
+    return asyncLockGroup.acquire(lockId);
+  }
+
   @Override
   public void dispose() {
     if (lockGroup != null) {
       lockGroup.dispose();
     }
+    asyncLockGroup.dispose();
   }
 
   @Override
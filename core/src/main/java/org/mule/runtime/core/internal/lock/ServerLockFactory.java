@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.lock;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lock.LockFactory;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -19,20 +20,32 @@ import java.util.concurrent.locks.Lock;
  *
  * @since 4.3.0, 4.2.2
  */
-public class ServerLockFactory implements LockFactory, Disposable {
+public class ServerLockFactory implements LockFactory, AsyncLockFactory, Disposable {
 
   private LockGroup lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+  private final AsyncLockGroup asyncLockGroup = new AsyncLockGroup();
 
   @Override
   public synchronized Lock createLock(String lockId) {
     return new LockAdapter(lockId, lockGroup);
   }
 
+  @Override
+  public boolean isAsyncLockSupported() {
+    return true;
+  }
+
+  @Override
+  public CompletableFuture<LockToken> acquireAsync(String lockId) {
+    return asyncLockGroup.acquire(lockId);
+  }
+
   @Override
   public void dispose() {
     if (lockGroup != null) {
       lockGroup.dispose();
     }
+    asyncLockGroup.dispose();
   }
 
   private static class LockAdapter implements Lock {
@@ -45,7 +45,9 @@ import org.mule.runtime.core.privileged.event.BaseEventContext;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -253,7 +255,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       }
 
       activeSinksCount.addAndGet(sinksCount);
-      return new RoundRobinReactorSink<>(sinks);
+      return new LeastLoadedReactorSink<>(sinks);
     }
 
     @Override
@@ -367,15 +369,32 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       return bufferSize / sinksCount;
     }
 
-    static class RoundRobinReactorSink<E> implements AbstractProcessingStrategy.ReactorSink<E> {
+    /**
+     * Dispatches each event to the less loaded of two candidate sinks, instead of blindly rotating through them. That way, a slow
+     * event doesn't keep stalling the events that would otherwise be queued behind it in the same sink.
+     * <p>
+     * The load of each sink is the amount of events dispatched to it that didn't get their response yet, tracked in the same way
+     * as {@code queuedEvents}. The candidates are the next one in round robin order and a random other one, which balances the
+     * sinks almost as well as looking for the least loaded one without having to check all of them for each event.
+     */
+    static class LeastLoadedReactorSink<E> implements AbstractProcessingStrategy.ReactorSink<E> {
 
       private final List<AbstractProcessingStrategy.ReactorSink<E>> fluxSinks;
+      private final AtomicIntegerArray inFlightEvents;
+      // Saving the decrement callbacks to avoid creating a lambda for every event
+      private final List<BiConsumer<CoreEvent, Throwable>> inFlightDecrementCallbacks;
       private final AtomicInteger index = new AtomicInteger(0);
       // Saving update function to avoid creating the lambda every time
       private final IntUnaryOperator update;
 
-      public RoundRobinReactorSink(List<AbstractProcessingStrategy.ReactorSink<E>> sinks) {
+      public LeastLoadedReactorSink(List<AbstractProcessingStrategy.ReactorSink<E>> sinks) {
         this.fluxSinks = sinks;
+        this.inFlightEvents = new AtomicIntegerArray(sinks.size());
+        this.inFlightDecrementCallbacks = new ArrayList<>(sinks.size());
+        for (int i = 0; i < sinks.size(); i++) {
+          final int sinkIndex = i;
+          inFlightDecrementCallbacks.add((e, t) -> inFlightEvents.decrementAndGet(sinkIndex));
+        }
         this.update = value -> (value + 1) % fluxSinks.size();
       }
 
@@ -392,16 +411,60 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
 
       @Override
       public void accept(CoreEvent event) {
-        fluxSinks.get(nextIndex()).accept(event);
+        final int sinkIndex = nextIndex();
+        fluxSinks.get(sinkIndex).accept(event);
+        trackInFlight(sinkIndex, event);
+      }
+
+      @Override
+      public BackPressureReason emit(CoreEvent event) {
+        final int roundRobinIndex = index.getAndUpdate(update);
+        final int otherIndex = otherCandidateIndex(roundRobinIndex);
+        final int sinkIndex = lessLoaded(roundRobinIndex, otherIndex);
+
+        BackPressureReason reason = fluxSinks.get(sinkIndex).emit(event);
+        if (reason == null) {
+          trackInFlight(sinkIndex, event);
+          return null;
+        }
+
+        // The chosen sink is full, the other candidate may still have room for the event
+        final int fallbackIndex = sinkIndex == roundRobinIndex ? otherIndex : roundRobinIndex;
+        if (fallbackIndex != sinkIndex && fluxSinks.get(fallbackIndex).emit(event) == null) {
+          trackInFlight(fallbackIndex, event);
+          return null;
+        }
+        return reason;
       }
 
       private int nextIndex() {
-        return index.getAndUpdate(update);
+        final int roundRobinIndex = index.getAndUpdate(update);
+        return lessLoaded(roundRobinIndex, otherCandidateIndex(roundRobinIndex));
       }
 
-      @Override
-      public BackPressureReason emit(CoreEvent event) {
-        return fluxSinks.get(nextIndex()).emit(event);
+      /**
+       * @return a random sink index, other than {@code candidate} unless there is just one sink.
+       */
+      private int otherCandidateIndex(int candidate) {
+        final int size = fluxSinks.size();
+        if (size == 1) {
+          return candidate;
+        }
+        return (candidate + 1 + ThreadLocalRandom.current().nextInt(size - 1)) % size;
+      }
+
+      private int lessLoaded(int candidate, int otherCandidate) {
+        return inFlightEvents.get(otherCandidate) < inFlightEvents.get(candidate) ? otherCandidate : candidate;
+      }
+
+      private void trackInFlight(int sinkIndex, CoreEvent event) {
+        inFlightEvents.incrementAndGet(sinkIndex);
+        // If the response was already sent, the callback is called right away
+        ((BaseEventContext) event.getContext()).onResponse(inFlightDecrementCallbacks.get(sinkIndex));
+      }
+
+      int getInFlightEvents(int sinkIndex) {
+        return inFlightEvents.get(sinkIndex);
       }
 
       @Override
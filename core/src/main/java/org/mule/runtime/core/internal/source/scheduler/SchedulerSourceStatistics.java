@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import static java.lang.Math.max;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the executions of a source triggered by a scheduler.
+ * <p>
+ * The lag between the planned and the actual time of each execution is only known for sources fired by the
+ * {@link SchedulerSourceTimer}.
+ *
+ * @since 4.5.0
+ */
+public final class SchedulerSourceStatistics {
+
+  private final AtomicLong fired = new AtomicLong();
+  private final AtomicLong skipped = new AtomicLong();
+  private final AtomicLong totalLagNanos = new AtomicLong();
+  private final AtomicLong maxLagNanos = new AtomicLong();
+  private volatile long lastLagNanos;
+
+  /**
+   * Records an execution of the source.
+   *
+   * @param lagNanos the time between the planned and the actual start of the execution.
+   */
+  public void fired(long lagNanos) {
+    final long lag = max(lagNanos, 0);
+    fired.incrementAndGet();
+    totalLagNanos.addAndGet(lag);
+    maxLagNanos.accumulateAndGet(lag, Math::max);
+    lastLagNanos = lag;
+  }
+
+  /**
+   * Records an execution of the source that was skipped because the previous one had not finished and concurrent executions are
+   * not allowed, or because its executor rejected it.
+   */
+  public void skipped() {
+    skipped.incrementAndGet();
+  }
+
+  /**
+   * @return the amount of executions of the source fired by the {@link SchedulerSourceTimer}.
+   */
+  public long getFired() {
+    return fired.get();
+  }
+
+  /**
+   * @return the amount of executions skipped because the previous one had not finished or the executor rejected them.
+   */
+  public long getSkipped() {
+    return skipped.get();
+  }
+
+  /**
+   * @return the lag of the last execution, in nanoseconds.
+   */
+  public long getLastLagNanos() {
+    return lastLagNanos;
+  }
+
+  /**
+   * @return the maximum lag of the executions, in nanoseconds.
+   */
+  public long getMaxLagNanos() {
+    return maxLagNanos.get();
+  }
+
+  /**
+   * @return the average lag of the executions, in nanoseconds.
+   */
+  public long getAverageLagNanos() {
+    final long count = fired.get();
+    return count == 0 ? 0 : totalLagNanos.get() / count;
+  }
+
+  @Override
+  public String toString() {
+    return "SchedulerSourceStatistics{fired=" + getFired() + ", skipped=" + getSkipped() + ", averageLagNanos="
+        + getAverageLagNanos() + ", maxLagNanos=" + getMaxLagNanos() + "}";
+  }
+}
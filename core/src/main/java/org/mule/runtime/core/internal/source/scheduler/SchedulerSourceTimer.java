@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.Math.floorMod;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.source.scheduler.FixedFrequencyScheduler;
+import org.mule.runtime.core.api.source.scheduler.PeriodicScheduler;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
+import org.mule.runtime.core.internal.source.scheduler.TimingWheel.Timeout;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fires the sources triggered by a {@link PeriodicScheduler} of every application in the runtime from a single
+ * {@link TimingWheel}, instead of each of them keeping a periodic task of its own in the scheduler service. The sources are still
+ * executed in their own executor.
+ * <p>
+ * Each source is fired with a fixed offset of up to {@link #SPREAD_PROPERTY} milliseconds, derived from its name, so that the
+ * sources with the same frequency or cron expression do not all fire at the same instant.
+ * <p>
+ * The next fire time of a {@link FixedFrequencyScheduler} is kept in the wheel. Cron expressions are still evaluated by the
+ * scheduler service, so for other schedulers only the offset goes through the wheel.
+ * <p>
+ * As with fixed rate tasks, an execution of a source never overlaps with the previous one: a firing due while the previous one is
+ * still in progress is skipped, as is a firing that the executor of the source rejects. This way the thread of the wheel never
+ * waits for the executor of a source, which may only run a single task at a time. Sources are only stopped from being fired when
+ * their scheduled job is cancelled.
+ *
+ * @since 4.5.0
+ */
+public final class SchedulerSourceTimer {
+
+  /**
+   * Property used to fire the scheduler sources from the shared timer.
+   */
+  public static final String SHARED_TIMER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.sharedTimer";
+
+  /**
+   * Property to set the maximum offset, in milliseconds, applied to the fire times of each source. Defaults to
+   * {@link #DEFAULT_SPREAD_MILLIS}.
+   */
+  public static final String SPREAD_PROPERTY = SHARED_TIMER_PROPERTY + ".spreadMillis";
+
+  /**
+   * Property to set the precision, in milliseconds, of the fire times of the sources. Defaults to {@link #DEFAULT_TICK_MILLIS}.
+   */
+  public static final String TICK_PROPERTY = SHARED_TIMER_PROPERTY + ".tickMillis";
+
+  public static final long DEFAULT_SPREAD_MILLIS = 0;
+  public static final long DEFAULT_TICK_MILLIS = 10;
+
+  private static final int TICKS_PER_WHEEL = 512;
+
+  private static volatile SchedulerSourceTimer sharedTimer;
+
+  /**
+   * @return the timer shared by all the sources in the runtime, or {@code null} if not enabled by {@link #SHARED_TIMER_PROPERTY}.
+   */
+  public static SchedulerSourceTimer getSharedTimer() {
+    if (!getBoolean(SHARED_TIMER_PROPERTY)) {
+      return null;
+    }
+
+    if (sharedTimer == null) {
+      synchronized (SchedulerSourceTimer.class) {
+        if (sharedTimer == null) {
+          sharedTimer = new SchedulerSourceTimer(new TimingWheel(getLong(TICK_PROPERTY, DEFAULT_TICK_MILLIS), MILLISECONDS,
+                                                                 TICKS_PER_WHEEL,
+                                                                 new NamedThreadFactory("[MuleRuntime].schedulerSources.timer",
+                                                                                        SchedulerSourceTimer.class
+                                                                                            .getClassLoader())),
+                                                 getLong(SPREAD_PROPERTY, DEFAULT_SPREAD_MILLIS));
+        }
+      }
+    }
+    return sharedTimer;
+  }
+
+  /**
+   * Stops the timer shared by all the sources in the runtime, if it was started. A new one is started if requested afterwards.
+   */
+  public static void stopSharedTimer() {
+    synchronized (SchedulerSourceTimer.class) {
+      if (sharedTimer != null) {
+        sharedTimer.stop();
+        sharedTimer = null;
+      }
+    }
+  }
+
+  private final TimingWheel wheel;
+  private final long spreadMillis;
+
+  SchedulerSourceTimer(TimingWheel wheel, long spreadMillis) {
+    if (spreadMillis < 0) {
+      throw new IllegalArgumentException("Spread must not be negative");
+    }
+    this.wheel = wheel;
+    this.spreadMillis = spreadMillis;
+  }
+
+  /**
+   * Schedules the executions of a source.
+   *
+   * @param scheduler  the configuration of the scheduling of the source.
+   * @param executor   where the source is executed.
+   * @param job        the execution of the source.
+   * @param sourceName a name that identifies the source, used to derive its offset.
+   * @param statistics where the executions of the source are recorded.
+   * @return the scheduled job, which is cancelled to stop firing the source.
+   */
+  public ScheduledFuture<?> schedule(PeriodicScheduler scheduler, Scheduler executor, Runnable job, String sourceName,
+                                     SchedulerSourceStatistics statistics) {
+    final long offsetNanos = MILLISECONDS.toNanos(getOffsetMillis(sourceName));
+
+    if (scheduler instanceof FixedFrequencyScheduler) {
+      final FixedFrequencyScheduler fixedFrequency = (FixedFrequencyScheduler) scheduler;
+      final TimeUnit timeUnit = fixedFrequency.getTimeUnit();
+      final SourceTrigger trigger = new SourceTrigger(executor, job, statistics, timeUnit.toNanos(fixedFrequency.getFrequency()));
+      trigger.fireAt(nanoTime() + timeUnit.toNanos(fixedFrequency.getStartDelay()) + offsetNanos);
+      return trigger;
+    }
+
+    final SourceTrigger trigger = new SourceTrigger(executor, job, statistics, 0);
+    trigger.delegate = scheduler.schedule(executor, () -> trigger.fireAt(nanoTime() + offsetNanos));
+    return trigger;
+  }
+
+  /**
+   * @param sourceName a name that identifies a source.
+   * @return the offset applied to the fire times of the source, in milliseconds.
+   */
+  long getOffsetMillis(String sourceName) {
+    if (spreadMillis == 0 || sourceName == null) {
+      return 0;
+    }
+
+    // Mix the bits of the hash so that sources with similar names are spread apart
+    return floorMod(sourceName.hashCode() * 0x9E3779B9L, spreadMillis + 1);
+  }
+
+  /**
+   * Stops the timer. Sources scheduled in it are no longer fired.
+   */
+  void stop() {
+    wheel.stop();
+  }
+
+  private final class SourceTrigger implements ScheduledFuture<Object> {
+
+    private final Scheduler executor;
+    private final Runnable job;
+    private final SchedulerSourceStatistics statistics;
+    private final long periodNanos;
+    private final CountDownLatch cancellation = new CountDownLatch(1);
+    private final AtomicBoolean inProgress = new AtomicBoolean();
+
+    // Set when the trigger times are computed by the scheduler service
+    private volatile ScheduledFuture<?> delegate;
+    private volatile Timeout timeout;
+    private volatile long plannedNanos;
+    private volatile boolean cancelled;
+
+    private SourceTrigger(Scheduler executor, Runnable job, SchedulerSourceStatistics statistics, long periodNanos) {
+      this.executor = executor;
+      this.job = job;
+      this.statistics = statistics;
+      this.periodNanos = periodNanos;
+    }
+
+    private void fireAt(long planned) {
+      if (cancelled) {
+        return;
+      }
+      plannedNanos = planned;
+      timeout = wheel.newTimeout(() -> fire(planned), planned - nanoTime(), NANOSECONDS);
+    }
+
+    private void fire(long planned) {
+      if (cancelled) {
+        return;
+      }
+
+      if (inProgress.compareAndSet(false, true)) {
+        try {
+          executor.execute(() -> {
+            try {
+              if (!cancelled) {
+                statistics.fired(nanoTime() - planned);
+                job.run();
+              }
+            } finally {
+              inProgress.set(false);
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // The executor may just be busy, so only this firing is skipped
+          inProgress.set(false);
+          statistics.skipped();
+        }
+      } else {
+        statistics.skipped();
+      }
+
+      if (periodNanos > 0) {
+        // As for fixed rate tasks, fire times are not shifted by the lag, but the ones missed are skipped
+        long next = planned + periodNanos;
+        final long now = nanoTime();
+        if (next < now) {
+          next += ((now - next) / periodNanos + 1) * periodNanos;
+        }
+        fireAt(next);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (cancelled) {
+        return false;
+      }
+
+      cancelled = true;
+      final Timeout currentTimeout = timeout;
+      if (currentTimeout != null) {
+        currentTimeout.cancel();
+      }
+      final ScheduledFuture<?> currentDelegate = delegate;
+      if (currentDelegate != null) {
+        currentDelegate.cancel(mayInterruptIfRunning);
+      }
+      cancellation.countDown();
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+      return cancelled;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      final Timeout currentTimeout = timeout;
+      if (currentTimeout != null && !currentTimeout.isCancelled() && plannedNanos - nanoTime() > 0) {
+        return unit.convert(plannedNanos - nanoTime(), NANOSECONDS);
+      }
+      final ScheduledFuture<?> currentDelegate = delegate;
+      return currentDelegate != null ? currentDelegate.getDelay(unit) : 0;
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+      return Long.compare(getDelay(NANOSECONDS), o.getDelay(NANOSECONDS));
+    }
+
+    @Override
+    public Object get() throws InterruptedException {
+      // Periodic jobs never complete normally
+      cancellation.await();
+      throw new CancellationException();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+      if (!cancellation.await(timeout, unit)) {
+        throw new TimeoutException();
+      }
+      throw new CancellationException();
+    }
+  }
+}
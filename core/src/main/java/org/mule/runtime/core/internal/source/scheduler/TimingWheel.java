@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+
+/**
+ * Hashed timing wheel: pending timeouts are kept in the buckets of a circular array that a single thread advances once per tick,
+ * running the tasks of the timeouts found in the bucket it reaches. Adding or cancelling a timeout costs the same no matter how
+ * many of them are pending, at the cost of firing with the precision of a tick.
+ * <p>
+ * Tasks are run in the thread of the wheel, so they must just hand the actual work over to an executor.
+ *
+ * @since 4.5.0
+ */
+final class TimingWheel {
+
+  private static final Logger LOGGER = getLogger(TimingWheel.class);
+
+  private final long tickNanos;
+  private final List<Timeout>[] wheel;
+  private final int mask;
+  private final ThreadFactory threadFactory;
+
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean started = new AtomicBoolean(false);
+  private volatile boolean stopped;
+  private volatile long startNanos;
+  private volatile Thread wheelThread;
+
+  // Only accessed from the wheel thread
+  private long tick;
+
+  /**
+   * @param tickDuration  the time between each advance of the wheel.
+   * @param unit          the unit of {@code tickDuration}.
+   * @param ticksPerWheel the amount of buckets of the wheel, rounded up to a power of 2.
+   * @param threadFactory the factory of the thread advancing the wheel.
+   */
+  TimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel, ThreadFactory threadFactory) {
+    if (tickDuration < 1 || ticksPerWheel < 1) {
+      throw new IllegalArgumentException("Tick duration and ticks per wheel must be positive");
+    }
+    this.tickNanos = unit.toNanos(tickDuration);
+    final int wheelSize = ticksPerWheel == 1 ? 1 : highestOneBit(ticksPerWheel - 1) << 1;
+    this.wheel = new List[wheelSize];
+    for (int i = 0; i < wheelSize; ++i) {
+      wheel[i] = new ArrayList<>();
+    }
+    this.mask = wheelSize - 1;
+    this.threadFactory = threadFactory;
+  }
+
+  /**
+   * Schedules the given task to be run once after the given delay.
+   *
+   * @param task  the task to run in the thread of the wheel.
+   * @param delay the time from now to run the task.
+   * @param unit  the unit of {@code delay}.
+   * @return the {@link Timeout} that allows to cancel the task.
+   */
+  Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+    if (stopped) {
+      throw new IllegalStateException("Timing wheel is stopped");
+    }
+    start();
+
+    final Timeout timeout = new Timeout(task, nanoTime() + unit.toNanos(max(delay, 0)));
+    pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  private void start() {
+    if (started.compareAndSet(false, true)) {
+      startNanos = nanoTime();
+      wheelThread = threadFactory.newThread(this::run);
+      wheelThread.setDaemon(true);
+      wheelThread.start();
+    }
+  }
+
+  /**
+   * Stops advancing the wheel. Pending timeouts are not run.
+   */
+  void stop() {
+    stopped = true;
+    final Thread thread = wheelThread;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void run() {
+    final List<Timeout> expired = new ArrayList<>();
+    while (!stopped) {
+      waitForNextTick();
+      if (stopped) {
+        return;
+      }
+
+      transferPendingTimeouts();
+      expireTimeouts(wheel[(int) (tick & mask)], expired);
+      ++tick;
+
+      for (Timeout timeout : expired) {
+        try {
+          timeout.task.run();
+        } catch (Throwable t) {
+          LOGGER.warn("Task of timing wheel failed: " + t.getMessage(), t);
+        }
+      }
+      expired.clear();
+    }
+  }
+
+  private void waitForNextTick() {
+    final long deadline = startNanos + (tick + 1) * tickNanos;
+    long sleepNanos;
+    while (!stopped && (sleepNanos = deadline - nanoTime()) > 0) {
+      parkNanos(this, sleepNanos);
+    }
+  }
+
+  private void transferPendingTimeouts() {
+    Timeout timeout;
+    while ((timeout = pendingTimeouts.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      // Timeouts already due are run in the current tick
+      final long ticks = max((timeout.deadline - startNanos) / tickNanos, tick);
+      timeout.remainingRounds = (ticks - tick) / wheel.length;
+      wheel[(int) (ticks & mask)].add(timeout);
+    }
+  }
+
+  private void expireTimeouts(List<Timeout> bucket, List<Timeout> expired) {
+    int kept = 0;
+    for (int i = 0; i < bucket.size(); ++i) {
+      final Timeout timeout = bucket.get(i);
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      if (timeout.remainingRounds <= 0) {
+        expired.add(timeout);
+      } else {
+        --timeout.remainingRounds;
+        bucket.set(kept++, timeout);
+      }
+    }
+    bucket.subList(kept, bucket.size()).clear();
+  }
+
+  /**
+   * A task scheduled in a {@link TimingWheel}.
+   */
+  static final class Timeout {
+
+    private final Runnable task;
+    private final long deadline;
+    private volatile boolean cancelled;
+
+    // Only accessed from the wheel thread
+    private long remainingRounds;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Prevents the task from being run, if it wasn't already.
+     */
+    void cancel() {
+      cancelled = true;
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} after which the task is run.
+     */
+    long getDeadline() {
+      return deadline;
+    }
+  }
+}
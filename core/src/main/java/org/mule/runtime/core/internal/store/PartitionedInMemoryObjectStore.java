@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.lang.Math.max;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
@@ -16,24 +17,37 @@ import org.mule.runtime.core.api.component.InternalComponent;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * In memory {@link PartitionableExpirableObjectStore}.
+ * <p>
+ * Each partition keeps track of the order in which its entries were stored, so that expiring entries by TTL or max entries only
+ * visits the entries that are actually evicted. Removing an entry doesn't look for it in that order: it is just marked as stale
+ * and skipped, or purged in bulk once stale entries outnumber the live ones.
+ */
 public class PartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
     implements PartitionableExpirableObjectStore<T>, InternalComponent {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInMemoryObjectStore.class);
 
+  /**
+   * Removed entries are purged from the expiry order once there are more than this many, and more than live entries.
+   */
+  private static final int STALE_ENTRIES_PURGE_THRESHOLD = 1024;
+
   private ConcurrentMap<String, ConcurrentMap<String, T>> partitions = new ConcurrentHashMap<>();
-  private ConcurrentMap<String, ConcurrentLinkedQueue<ExpiryEntry>> expiryInfoPartition = new ConcurrentHashMap<>();
+  private ConcurrentMap<String, ExpiryIndex> expiryInfoPartition = new ConcurrentHashMap<>();
 
   @Override
   public boolean isPersistent() {
@@ -74,14 +88,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       throw new ObjectDoesNotExistException();
     }
 
-    Iterator<ExpiryEntry> iterator = getExpiryInfoPartition(partitionName).iterator();
-    while (iterator.hasNext()) {
-      ExpiryEntry entry = iterator.next();
-      if (key.equals(entry.getKey())) {
-        iterator.remove();
-        break;
-      }
-    }
+    getExpiryInfoPartition(partitionName).remove(key);
 
     return removedValue;
   }
@@ -119,11 +126,11 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return partition;
   }
 
-  private ConcurrentLinkedQueue<ExpiryEntry> getExpiryInfoPartition(String partitionName) {
-    ConcurrentLinkedQueue<ExpiryEntry> partition = expiryInfoPartition.get(partitionName);
+  private ExpiryIndex getExpiryInfoPartition(String partitionName) {
+    ExpiryIndex partition = expiryInfoPartition.get(partitionName);
     if (partition == null) {
-      partition = new ConcurrentLinkedQueue<>();
-      ConcurrentLinkedQueue<ExpiryEntry> previous = expiryInfoPartition.putIfAbsent(partitionName, partition);
+      partition = new ExpiryIndex();
+      ExpiryIndex previous = expiryInfoPartition.putIfAbsent(partitionName, partition);
       if (previous != null) {
         partition = previous;
       }
@@ -151,7 +158,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     final long now = getCurrentNanoTime();
     int expiredEntries = 0;
     ExpiryEntry oldestEntry;
-    ConcurrentLinkedQueue<ExpiryEntry> store = getExpiryInfoPartition(partitionName);
+    ExpiryIndex store = getExpiryInfoPartition(partitionName);
     ConcurrentMap<String, T> partition = getPartition(partitionName);
 
     trimToMaxSize(store, maxEntries, partition);
@@ -162,39 +169,63 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
     while ((oldestEntry = store.peek()) != null) {
       if (NANOSECONDS.toMillis(now - oldestEntry.getTime()) >= entryTTL) {
-        oldestEntry = store.remove();
-        partition.remove(oldestEntry.getKey());
-        expiredEntries++;
+        if (store.evict(oldestEntry)) {
+          partition.remove(oldestEntry.getKey());
+          expiredEntries++;
+        }
       } else {
         break;
       }
     }
+    store.evictedByTtl.addAndGet(expiredEntries);
 
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Expired " + expiredEntries + " old entries");
     }
   }
 
-  private void trimToMaxSize(ConcurrentLinkedQueue<ExpiryEntry> store, int maxEntries, ConcurrentMap<String, T> partition) {
+  private void trimToMaxSize(ExpiryIndex store, int maxEntries, ConcurrentMap<String, T> partition) {
     if (maxEntries <= UNBOUNDED) {
       return;
     }
 
-    int currentSize = store.size();
+    int currentSize = partition.size();
     int excess = (currentSize - maxEntries);
     if (excess > 0) {
-      while (currentSize > maxEntries) {
-        ExpiryEntry toRemove = store.remove();
-        partition.remove(toRemove.getKey());
-        currentSize--;
+      int trimmed = 0;
+      ExpiryEntry toRemove;
+      while (trimmed < excess && (toRemove = store.peek()) != null) {
+        if (store.evict(toRemove)) {
+          partition.remove(toRemove.getKey());
+          trimmed++;
+        }
       }
+      store.evictedByMaxEntries.addAndGet(trimmed);
 
       if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Expired " + excess + " excess entries");
+        LOGGER.debug("Expired " + trimmed + " excess entries");
       }
     }
   }
 
+  /**
+   * @param partitionName the name of a partition of this store
+   * @return how many entries of the given partition have been evicted because their TTL elapsed
+   */
+  public long getEvictedByTtlCount(String partitionName) {
+    ExpiryIndex index = expiryInfoPartition.get(partitionName);
+    return index == null ? 0 : index.evictedByTtl.get();
+  }
+
+  /**
+   * @param partitionName the name of a partition of this store
+   * @return how many entries of the given partition have been evicted because the partition exceeded its max entries
+   */
+  public long getEvictedByMaxEntriesCount(String partitionName) {
+    ExpiryIndex index = expiryInfoPartition.get(partitionName);
+    return index == null ? 0 : index.evictedByMaxEntries.get();
+  }
+
   @Override
   public void disposePartition(String partitionName) throws ObjectStoreException {
     Map partition = partitions.remove(partitionName);
@@ -202,7 +233,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       partition.clear();
     }
 
-    ConcurrentLinkedQueue<ExpiryEntry> entries = expiryInfoPartition.remove(partitionName);
+    ExpiryIndex entries = expiryInfoPartition.remove(partitionName);
     if (entries != null) {
       entries.clear();
     }
@@ -217,12 +248,65 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return true;
   }
 
+  /**
+   * Keeps the entries of a partition in the order they were stored, along with the eviction counters of the partition.
+   */
+  private static class ExpiryIndex {
+
+    private final ConcurrentLinkedQueue<ExpiryEntry> order = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<String, ExpiryEntry> liveEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger staleEntries = new AtomicInteger();
+
+    private final AtomicLong evictedByTtl = new AtomicLong();
+    private final AtomicLong evictedByMaxEntries = new AtomicLong();
+
+    private void add(ExpiryEntry entry) {
+      liveEntries.put(entry.getKey(), entry);
+      order.add(entry);
+    }
+
+    private void remove(String key) {
+      if (liveEntries.remove(key) != null
+          && staleEntries.incrementAndGet() > max(STALE_ENTRIES_PURGE_THRESHOLD, liveEntries.size())) {
+        staleEntries.set(0);
+        order.removeIf(entry -> liveEntries.get(entry.getKey()) != entry);
+      }
+    }
+
+    /**
+     * @return the oldest entry that was not removed yet, discarding any stale ones found before it
+     */
+    private ExpiryEntry peek() {
+      ExpiryEntry oldest;
+      while ((oldest = order.peek()) != null && liveEntries.get(oldest.getKey()) != oldest) {
+        if (order.remove(oldest)) {
+          staleEntries.decrementAndGet();
+        }
+      }
+      return oldest;
+    }
+
+    /**
+     * @return whether the given entry was evicted by this call
+     */
+    private boolean evict(ExpiryEntry entry) {
+      order.remove(entry);
+      return liveEntries.remove(entry.getKey(), entry);
+    }
+
+    private void clear() {
+      liveEntries.clear();
+      order.clear();
+      staleEntries.set(0);
+    }
+  }
+
   private static class ExpiryEntry {
 
     private final long time;
-    private final Serializable key;
+    private final String key;
 
-    public ExpiryEntry(long time, Serializable key) {
+    public ExpiryEntry(long time, String key) {
       this.time = time;
       this.key = key;
     }
@@ -231,7 +315,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       return time;
     }
 
-    public Serializable getKey() {
+    public String getKey() {
       return key;
     }
   }
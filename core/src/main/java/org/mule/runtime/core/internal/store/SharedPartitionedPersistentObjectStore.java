@@ -83,6 +83,12 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
     return new PersistentObjectStorePartition<>(muleContext, partitionName, partitionObjectStore.getPartitionDirectory());
   }
 
+  @Override
+  protected PersistentObjectStorePartition createPartitionObjectStore(String partitionName, File partitionDirectory) {
+    // Partitions are re-created on each access (see above), so they can't hold any state such as an open data file
+    return new PersistentObjectStorePartition(muleContext, partitionName, partitionDirectory);
+  }
+
   @Override
   public void open() throws ObjectStoreException {
     lock.lock();
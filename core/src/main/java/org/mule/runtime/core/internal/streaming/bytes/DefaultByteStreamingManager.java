@@ -6,8 +6,13 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.FILE_STORE_DEFAULT_STREAMING_PROPERTY;
+
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.factory.FileStoreCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.NullCursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.bytes.ByteStreamingManager;
@@ -37,6 +42,18 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
     return new InMemoryCursorStreamProviderFactory(bufferManager, config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorStreamProviderFactory} which buffers in memory up to
+   * {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} and then spills to a temporal file
+   *
+   * @param config the configuration for the produced providers
+   * @return a new {@link CursorStreamProviderFactory}
+   * @since 4.5.0
+   */
+  public CursorStreamProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorStreamConfig config) {
+    return new FileStoreCursorStreamProviderFactory(bufferManager, config, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -47,9 +64,15 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
 
   /**
    * {@inheritDoc}
+   * <p>
+   * The providers buffer in a temporal file once the in memory buffer is full when
+   * {@link ByteStreamingConstants#FILE_STORE_DEFAULT_STREAMING_PROPERTY} is set.
    */
   @Override
   public CursorStreamProviderFactory getDefaultCursorProviderFactory() {
+    if (getBoolean(FILE_STORE_DEFAULT_STREAMING_PROPERTY)) {
+      return getFileStoreCursorProviderFactory(FileStoreCursorStreamConfig.getDefault());
+    }
     return new InMemoryCursorStreamProviderFactory(bufferManager, InMemoryCursorStreamConfig.getDefault(), streamingManager);
   }
 
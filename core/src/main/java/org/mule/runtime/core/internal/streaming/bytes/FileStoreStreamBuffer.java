@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the first part of the stream in memory and spills the rest
+ * to a temporal file.
+ * <p>
+ * The in memory part is made of up to {@link FileStoreCursorStreamConfig#getBucketsCount()} buckets of
+ * {@link FileStoreCursorStreamConfig#getBucketSize()} bytes each, which are obtained from the {@link ByteBufferManager}. Once
+ * those are full, the remaining data is written into a temporal file which is memory mapped in regions of
+ * {@link #MAPPED_REGION_BUCKETS} buckets, so that reading already buffered data never requires a copy nor a system call.
+ * <p>
+ * Unlike {@link InMemoryStreamBuffer}, this buffer never throws a
+ * {@link org.mule.runtime.api.streaming.exception.StreamingBufferSizeExceededException}. Its size is only bounded by the
+ * available disk space.
+ *
+ * @since 4.5.0
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  /**
+   * How many buckets fit into each memory mapped region of the buffer file
+   */
+  static final int MAPPED_REGION_BUCKETS = 1024;
+
+  private final int bucketSize;
+  private final int maxInMemoryBuckets;
+  private final long inMemoryCapacity;
+  private final int mappedRegionSize;
+
+  private final List<ManagedByteBufferWrapper> memoryBuckets;
+  private final List<MappedByteBuffer> mappedRegions = new ArrayList<>();
+
+  private ManagedByteBufferWrapper spillBuffer;
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buckets
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    bucketSize = config.getBucketSize();
+    maxInMemoryBuckets = config.getBucketsCount();
+    inMemoryCapacity = (long) bucketSize * maxInMemoryBuckets;
+    mappedRegionSize = bucketSize * MAPPED_REGION_BUCKETS;
+    memoryBuckets = new ArrayList<>(maxInMemoryBuckets);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+    } finally {
+      readLock.unlock();
+    }
+
+    writeLock.lock();
+    try {
+      while (!streamFullyConsumed && bufferTip <= position) {
+        consumeForwardData();
+      }
+
+      return getFromCurrentData(position, length);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position >= bufferTip) {
+      return null;
+    }
+
+    length = toIntExact(min(length, bufferTip - position));
+
+    if (position < inMemoryCapacity) {
+      final int offset = toIntExact(position % bucketSize);
+      final ByteBuffer bucket = memoryBuckets.get(toIntExact(position / bucketSize)).getDelegate();
+      return slice(bucket, offset, min(length, bucketSize - offset));
+    }
+
+    final long filePosition = position - inMemoryCapacity;
+    final int offset = toIntExact(filePosition % mappedRegionSize);
+    final ByteBuffer region = mappedRegions.get(toIntExact(filePosition / mappedRegionSize));
+    return slice(region, offset, min(length, mappedRegionSize - offset));
+  }
+
+  private ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+    ByteBuffer view = buffer.duplicate();
+    view.limit(offset + length);
+    view.position(offset);
+    return view.slice();
+  }
+
+  /**
+   * {@inheritDoc} While the in memory buckets have not been exhausted, data is read straight into them. After that, it is read
+   * into an auxiliary bucket and then transferred into the memory mapped buffer file.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (bufferTip < inMemoryCapacity) {
+      return consumeIntoMemory();
+    }
+
+    return consumeIntoFile();
+  }
+
+  private int consumeIntoMemory() throws IOException {
+    final int bucketIndex = toIntExact(bufferTip / bucketSize);
+    if (bucketIndex == memoryBuckets.size()) {
+      memoryBuckets.add(bufferManager.allocateManaged(bucketSize));
+    }
+
+    final int read = consumeStream(memoryBuckets.get(bucketIndex).getDelegate());
+    if (read > 0) {
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  private int consumeIntoFile() throws IOException {
+    if (spillBuffer == null) {
+      spillBuffer = bufferManager.allocateManaged(bucketSize);
+    }
+
+    final long filePosition = bufferTip - inMemoryCapacity;
+    final int regionOffset = toIntExact(filePosition % mappedRegionSize);
+
+    ByteBuffer readBuffer = spillBuffer.getDelegate();
+    readBuffer.clear();
+    // never let a single read straddle two mapped regions
+    readBuffer.limit(min(bucketSize, mappedRegionSize - regionOffset));
+
+    final int read = consumeStream(readBuffer);
+    if (read > 0) {
+      readBuffer.flip();
+      ByteBuffer target = getMappedRegion(toIntExact(filePosition / mappedRegionSize)).duplicate();
+      target.position(regionOffset);
+      target.put(readBuffer);
+
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  private MappedByteBuffer getMappedRegion(int regionIndex) throws IOException {
+    if (regionIndex < mappedRegions.size()) {
+      return mappedRegions.get(regionIndex);
+    }
+
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("file-store");
+      fileChannel = FileChannel.open(bufferFile.toPath(), READ, WRITE);
+    }
+
+    MappedByteBuffer region = fileChannel.map(READ_WRITE, (long) regionIndex * mappedRegionSize, mappedRegionSize);
+    mappedRegions.add(region);
+
+    return region;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    memoryBuckets.forEach(ManagedByteBufferWrapper::release);
+    memoryBuckets.clear();
+
+    if (spillBuffer != null) {
+      spillBuffer.release();
+      spillBuffer = null;
+    }
+
+    // mapped regions are unmapped by the GC once no cursor references them anymore
+    mappedRegions.clear();
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      } finally {
+        fileChannel = null;
+      }
+    }
+
+    if (bufferFile != null) {
+      if (!bufferFile.delete()) {
+        LOGGER.debug("Could not delete buffer file {}. It will be deleted on exit", bufferFile.getAbsolutePath());
+        bufferFile.deleteOnExit();
+      }
+      bufferFile = null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    return getFromCurrentData(position, length);
+  }
+}
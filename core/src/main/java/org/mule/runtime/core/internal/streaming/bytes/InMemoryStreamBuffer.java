@@ -8,8 +8,7 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
-import static java.lang.System.arraycopy;
-import static java.nio.ByteBuffer.wrap;
+import static org.mule.runtime.api.util.Preconditions.checkState;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -21,13 +20,23 @@ import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * An implementation of {@link AbstractInputStreamBuffer} which holds the buffered information in memory.
  * <p>
- * If the buffer does not have enough capacity to hold all the data, then it will expanded up to a certain threshold configured in
- * the constructor. Once that threshold is reached, a {@link StreamingBufferSizeExceededException} will be thrown. If no threshold
- * is provided, then the buffer will be allowed to grow indefinitely.
+ * The buffer is made of a chain of segments. The first one has the configured initial buffer size and each subsequent one has
+ * the size of the configured buffer size increment. Expanding the buffer only means appending a new segment, so the already
+ * buffered data is never copied. Because segments never move, reads are served through slices of them without copying either.
+ * <p>
+ * Once the total capacity of the segments would exceed the threshold configured in the constructor, a
+ * {@link StreamingBufferSizeExceededException} will be thrown. If no threshold is provided, then the buffer will be allowed to
+ * grow indefinitely.
+ * <p>
+ * Reads of already buffered data don't take any lock. The {@link #bufferTip} is a volatile field which is only moved forward
+ * after the data behind it has been written, so any reader which sees a given tip also sees all the data before it. Only reads
+ * that need to consume more of the underlying stream take the write lock.
  *
  * @since 4.0
  */
@@ -35,11 +44,12 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
 
   private static final int STREAM_FINISHED_PROBE = 10;
 
-  private ManagedByteBufferWrapper managedBuffer;
-  private ByteBuffer actingBuffer;
+  private final List<ManagedByteBufferWrapper> segments = new CopyOnWriteArrayList<>();
+  private final int initialBufferSize;
   private final int bufferSizeIncrement;
   private final int maxBufferSize;
-  private long bufferTip = 0;
+  private long capacity;
+  private volatile long bufferTip = 0;
 
   /**
    * Creates a new instance
@@ -49,77 +59,47 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
    */
   public InMemoryStreamBuffer(InputStream stream, InMemoryCursorStreamConfig config, ByteBufferManager bufferManager) {
     super(stream, bufferManager);
-    managedBuffer = bufferManager.allocateManaged(config.getInitialBufferSize().toBytes());
-    actingBuffer = managedBuffer.getDelegate();
+    this.initialBufferSize = config.getInitialBufferSize().toBytes();
     this.bufferSizeIncrement = config.getBufferSizeIncrement() != null
         ? config.getBufferSizeIncrement().toBytes()
         : 0;
 
     this.maxBufferSize = config.getMaxBufferSize().toBytes();
+
+    segments.add(bufferManager.allocateManaged(initialBufferSize));
+    capacity = initialBufferSize;
   }
 
   @Override
   protected ByteBuffer doGet(long position, int length) {
-    return doGet(position, length, true);
-  }
+    ByteBuffer presentRead = getFromCurrentData(position, length);
+    if (presentRead != null) {
+      // the segments are only released after the buffer is marked as closed, so if it still isn't the slice is valid
+      checkState(!closed.get(), "Buffer is closed");
+      return presentRead;
+    }
 
-  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
-    readLock.lock();
+    writeLock.lock();
     try {
-      ByteBuffer presentRead = getFromCurrentData(position, length);
-      if (presentRead != null) {
-        return presentRead;
+      checkState(!closed.get(), "Buffer is closed");
+      while (!streamFullyConsumed && bufferTip <= position) {
+        consumeForwardData();
       }
 
-      if (consumeStreamIfNecessary) {
-        readLock.unlock();
-        writeLock.lock();
-
-        try {
-          ByteBuffer refetch = getFromCurrentData(position, length);
-          if (refetch != null) {
-            return refetch;
-          }
-
-          final long requiredUpperBound = position + length;
-          while (!streamFullyConsumed && bufferTip < requiredUpperBound) {
-            final int read = consumeForwardData();
-            if (read > 0) {
-              refetch = getFromCurrentData(position, min(length, read));
-              if (refetch != null) {
-                return refetch;
-              }
-            } else {
-              actingBuffer.limit(actingBuffer.position());
-            }
-          }
-          return doGet(position, length, false);
-        } catch (IOException e) {
-          throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
-        } finally {
-          // classic lock downgrade
-          readLock.lock();
-          writeLock.unlock();
-        }
-      } else {
-        return getFromCurrentData(position, length);
-      }
+      return getFromCurrentData(position, length);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
     } finally {
-      readLock.unlock();
+      writeLock.unlock();
     }
   }
 
   private ByteBuffer getFromCurrentData(long position, int length) {
-    if (streamFullyConsumed && position > bufferTip) {
+    if (position >= bufferTip) {
       return null;
     }
 
-    if (position < bufferTip) {
-      length = min(length, toIntExact(bufferTip - position));
-      return copy(position, length);
-    }
-
-    return null;
+    return copy(position, toIntExact(min(length, bufferTip - position)));
   }
 
   /**
@@ -127,99 +107,95 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
    */
   @Override
   public void doClose() {
-    managedBuffer.release();
-    managedBuffer = null;
+    // segments are not removed from the list so that concurrent lock free reads don't fail with an index out of bounds
+    segments.forEach(ManagedByteBufferWrapper::release);
   }
 
   /**
-   * {@inheritDoc} If {@code buffer} doesn't have any remaining capacity, then {@link #expandBuffer()} is invoked before
+   * {@inheritDoc} If the last segment doesn't have any remaining capacity, then {@link #expandBuffer()} is invoked before
    * attempting to consume new information.
    *
    * @throws StreamingBufferSizeExceededException if the buffer is not big enough and cannot be expanded
    */
   @Override
   public int consumeForwardData() throws IOException {
-    ManagedByteBufferWrapper b = managedBuffer;
-    ManagedByteBufferWrapper managedReadBuffer = b.getDelegate().hasRemaining()
-        ? b
-        : bufferManager.allocateManaged(bufferSizeIncrement > 0 ? bufferSizeIncrement : STREAM_FINISHED_PROBE);
-
-    ByteBuffer readBuffer = managedReadBuffer.getDelegate();
-    final boolean auxBuffer = managedReadBuffer != b;
-    final int read;
-
-    try {
-      read = consumeStream(readBuffer);
+    ByteBuffer segment = segments.get(segments.size() - 1).getDelegate();
+    if (!segment.hasRemaining()) {
+      if (!canBeExpandedTo(capacity + bufferSizeIncrement)) {
+        return probeStreamFinished();
+      }
 
-      if (read > 0) {
-        if (auxBuffer) {
-          expandBuffer();
-          readBuffer.flip();
-          actingBuffer.put(readBuffer);
-        }
+      segment = expandBuffer();
+    }
 
-        bufferTip += read;
-      }
-    } finally {
-      if (auxBuffer) {
-        managedReadBuffer.release();
-      }
+    final int read = consumeStream(segment);
+    if (read > 0) {
+      // publishes the data just read to the lock free readers
+      bufferTip += read;
     }
 
     return read;
   }
 
   /**
-   * Expands the size of the buffer by {@link #bufferSizeIncrement}
+   * Invoked when the buffer is full and cannot be expanded. If the stream still has data, then the buffer is not big enough.
    *
-   * @return a new, expanded {@link ByteBuffer}
+   * @return {@code -1} if the stream is finished
+   * @throws StreamingBufferSizeExceededException if the stream still has data
    */
-  private ManagedByteBufferWrapper expandBuffer() {
-    ManagedByteBufferWrapper oldManagedBuffer = managedBuffer;
-    ByteBuffer oldBuffer = oldManagedBuffer.getDelegate();
-    int newSize = oldBuffer.capacity() + bufferSizeIncrement;
-    if (!canBeExpandedTo(newSize)) {
-      throw new StreamingBufferSizeExceededException(maxBufferSize);
+  private int probeStreamFinished() throws IOException {
+    ManagedByteBufferWrapper probe = bufferManager.allocateManaged(STREAM_FINISHED_PROBE);
+    try {
+      if (consumeStream(probe.getDelegate()) > 0) {
+        throw new StreamingBufferSizeExceededException(maxBufferSize);
+      }
+    } finally {
+      probe.release();
     }
 
-    ManagedByteBufferWrapper newManagedBuffer = bufferManager.allocateManaged(newSize);
-    ByteBuffer newBuffer = newManagedBuffer.getDelegate();
-    oldBuffer.position(0);
-    newBuffer.put(oldBuffer);
+    return -1;
+  }
 
-    managedBuffer = newManagedBuffer;
-    actingBuffer = newBuffer;
-    oldManagedBuffer.release();
+  /**
+   * Expands the size of the buffer by appending a new segment of {@link #bufferSizeIncrement} bytes
+   *
+   * @return the new segment
+   */
+  private ByteBuffer expandBuffer() {
+    ManagedByteBufferWrapper segment = bufferManager.allocateManaged(bufferSizeIncrement);
+    segments.add(segment);
+    capacity += bufferSizeIncrement;
 
-    return newManagedBuffer;
+    return segment.getDelegate();
   }
 
+  /**
+   * Returns a read only slice of the segment which contains the given {@code position}. The returned buffer will never span
+   * across segments, so it may contain less than {@code length} bytes.
+   */
   @Override
   protected ByteBuffer copy(long position, int length) {
-    return canDoSoftCopy() ? softCopy(position, length) : hardCopy(position, length);
-  }
-
-  private ByteBuffer softCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    return wrap(actingBuffer.array(), offset, min(length, actingBuffer.limit() - offset)).slice();
-  }
-
-  protected ByteBuffer hardCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    length = min(length, actingBuffer.limit() - offset);
-
-    byte[] b = new byte[length];
-    arraycopy(actingBuffer.array(), offset, b, 0, length);
-    return wrap(b);
-  }
+    final int segmentIndex;
+    final int offset;
+
+    if (position < initialBufferSize) {
+      segmentIndex = 0;
+      offset = toIntExact(position);
+      length = min(length, initialBufferSize - offset);
+    } else {
+      final long incrementOffset = position - initialBufferSize;
+      segmentIndex = toIntExact(incrementOffset / bufferSizeIncrement) + 1;
+      offset = toIntExact(incrementOffset % bufferSizeIncrement);
+      length = min(length, bufferSizeIncrement - offset);
+    }
 
-  private boolean canDoSoftCopy() {
-    return streamFullyConsumed
-        || actingBuffer.capacity() >= maxBufferSize
-        || bufferSizeIncrement == 0;
+    ByteBuffer slice = segments.get(segmentIndex).getDelegate().asReadOnlyBuffer();
+    slice.limit(offset + length);
+    slice.position(offset);
+    return slice.slice();
   }
 
-  private boolean canBeExpandedTo(int newSize) {
+  private boolean canBeExpandedTo(long newSize) {
     if (bufferSizeIncrement <= 0) {
       return false;
     } else if (maxBufferSize == 0) {
@@ -6,7 +6,13 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
 import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.internal.util.journal.TransactionJournalFile.PendingWrite;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -25,12 +31,21 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * When {@link #GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY} is set to a value greater than 1, entries are serialized by the logging
+ * thread and written using group commit: the journal lock is only held to update the memory cache and enqueue the entry, and
+ * concurrently logged entries are written to the file together, up to that amount of entries per write.
+ * {@link #GROUP_COMMIT_MAX_LATENCY_PROPERTY} sets how many microseconds the writer waits for a batch to fill up before writing
+ * it. It defaults to {@code 0}, which means batches are written as soon as possible.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
+  public static final String GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY = "mule.queue.journal.groupCommit.maxBatchSize";
+  public static final String GROUP_COMMIT_MAX_LATENCY_PROPERTY = "mule.queue.journal.groupCommit.maxLatency";
+
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
 
@@ -57,6 +72,8 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   private Long clearFileMinimumSizeInBytes;
 
+  private final int groupCommitMaxBatchSize = getInteger(GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY, 0);
+
   /**
    * @param logFilesDirectory directory used to store the journal files.
    */
@@ -72,10 +89,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
+    final int maxBatchSize = max(1, groupCommitMaxBatchSize);
+    final long maxBatchLatencyNanos = MICROSECONDS.toNanos(getLong(GROUP_COMMIT_MAX_LATENCY_PROPERTY, 0L));
     this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+                                   maxBatchSize, maxBatchLatencyNanos);
     this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+                                   maxBatchSize, maxBatchLatencyNanos);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -92,9 +113,16 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    if (isGroupCommit()) {
+      groupCommit(journalEntry);
+      return;
+    }
+
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      logFile.logOperation(journalEntry);
+    }
   }
 
   /**
@@ -104,14 +132,52 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    if (isGroupCommit()) {
+      TransactionJournalFile logFile = groupCommit(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        synchronized (this) {
+          logFile.clearEntriesForTransaction(journalEntry.getTxId());
+        }
+      }
+      return;
+    }
+
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
   }
 
+  private boolean isGroupCommit() {
+    return groupCommitMaxBatchSize > 1;
+  }
+
+  /**
+   * Serializes the entry without holding the journal lock, enqueues it under the lock so that the memory cache and the file
+   * keep the same order, and then waits for it to be written along with any other concurrently logged entries.
+   *
+   * @return the log file the entry was written to
+   */
+  private TransactionJournalFile groupCommit(JournalEntry<T> journalEntry) {
+    // both files use the same serializer, so it doesn't matter if the current one changes after this
+    final TransactionJournalFile serializingFile = currentLogFile;
+    final byte[] serializedEntry = serializingFile.serialize(journalEntry);
+
+    final TransactionJournalFile logFile;
+    final PendingWrite pendingWrite;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      pendingWrite = logFile.enqueueOperation(journalEntry, serializedEntry);
+    }
+
+    logFile.awaitWritten(pendingWrite);
+    return logFile;
+  }
+
   /**
    * @param txId transaction identifier
    * @return all the transaction entries for a certain transaction identifier
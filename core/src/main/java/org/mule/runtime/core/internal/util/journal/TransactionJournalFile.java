@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.util.concurrent.locks.LockSupport.parkNanos;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
@@ -13,6 +14,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -24,12 +26,21 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * Besides writing each entry as it is logged through {@link #logOperation(JournalEntry)}, it supports group commit through
+ * {@link #enqueueOperation(JournalEntry, byte[])} and {@link #awaitWritten(PendingWrite)}. Concurrently logged entries are queued
+ * in a lock free buffer and whichever thread acquires the writer lock first writes all of them with a single write call.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -53,6 +64,12 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
 
+  private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingWritesCount = new AtomicInteger();
+  private final Lock writerLock = new ReentrantLock();
+  private final int maxBatchSize;
+  private final long maxBatchLatencyNanos;
+
   /**
    * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
    *                                     entries will get loaded from it.
@@ -61,9 +78,25 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, 1, 0);
+  }
+
+  /**
+   * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
+   *                                     entries will get loaded from it.
+   * @param journalEntrySerializer       serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param maxBatchSize                 the maximum amount of entries to write together when using group commit
+   * @param maxBatchLatencyNanos         how long the writer waits for a group commit batch to fill up before writing it
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                int maxBatchSize, long maxBatchLatencyNanos) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchLatencyNanos = maxBatchLatencyNanos;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -81,6 +114,93 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     journalOperations++;
   }
 
+  /**
+   * Serializes the given entry, so that it can later be {@link #enqueueOperation(JournalEntry, byte[]) enqueued} without holding
+   * any lock while serializing.
+   *
+   * @param journalEntry operation details
+   * @return the serialized entry
+   */
+  public byte[] serialize(K journalEntry) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(bytes));
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Adds a journal entry for an operation done over a transactional resource, deferring the actual write to the journal file.
+   * <p>
+   * The entry is written by the time {@link #awaitWritten(PendingWrite)} returns for the returned {@link PendingWrite}. Entries are
+   * written in the same order they were enqueued.
+   *
+   * @param journalEntry      operation details
+   * @param serializedEntry   the entry as returned by {@link #serialize(JournalEntry)}
+   * @return a handle to wait for the entry to be written
+   */
+  public synchronized PendingWrite enqueueOperation(K journalEntry, byte[] serializedEntry) {
+    entries.put(journalEntry.getTxId(), journalEntry);
+    journalOperations++;
+
+    PendingWrite pendingWrite = new PendingWrite(serializedEntry);
+    pendingWrites.add(pendingWrite);
+    pendingWritesCount.incrementAndGet();
+    return pendingWrite;
+  }
+
+  /**
+   * Waits until the given entry is written to the journal file. If no other thread is writing, the invoking thread writes its
+   * entry along with all the other pending ones.
+   *
+   * @param pendingWrite the handle returned by {@link #enqueueOperation(JournalEntry, byte[])}
+   */
+  public void awaitWritten(PendingWrite pendingWrite) {
+    writerLock.lock();
+    try {
+      if (!pendingWrite.written) {
+        if (maxBatchLatencyNanos > 0 && pendingWritesCount.get() < maxBatchSize) {
+          // give concurrent writers the chance to join this batch
+          parkNanos(maxBatchLatencyNanos);
+        }
+        writePendingOperations();
+      }
+    } finally {
+      writerLock.unlock();
+    }
+
+    if (pendingWrite.failure != null) {
+      throw new MuleRuntimeException(pendingWrite.failure);
+    }
+  }
+
+  private void writePendingOperations() {
+    ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    PendingWrite[] batchWrites = new PendingWrite[maxBatchSize];
+
+    while (!pendingWrites.isEmpty()) {
+      int batchSize = 0;
+      PendingWrite pendingWrite;
+      while (batchSize < maxBatchSize && (pendingWrite = pendingWrites.poll()) != null) {
+        batch.write(pendingWrite.serializedEntry, 0, pendingWrite.serializedEntry.length);
+        batchWrites[batchSize++] = pendingWrite;
+      }
+      pendingWritesCount.addAndGet(-batchSize);
+
+      IOException failure = null;
+      try {
+        batch.writeTo(logFileOutputStream);
+      } catch (IOException e) {
+        failure = e;
+      }
+
+      for (int i = 0; i < batchSize; ++i) {
+        batchWrites[i].failure = failure;
+        batchWrites[i].written = true;
+        batchWrites[i] = null;
+      }
+      batch.reset();
+    }
+  }
+
   /**
    * Removes all journal entries for a particular transactions.
    *
@@ -120,13 +240,17 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Will not remove the transaction context.
    */
   public synchronized void close() {
+    writerLock.lock();
     try {
+      writePendingOperations();
       logFileOutputStream.close();
     } catch (IOException e) {
       LOGGER.warn(e.getMessage());
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("Error closing transaction journal file", e);
       }
+    } finally {
+      writerLock.unlock();
     }
   }
 
@@ -156,10 +280,15 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Remove all the entries from the transaction journal and cleans the transaction journal fle.
    */
   public synchronized void clear() {
-    close();
-    entries.clear();
-    FileUtils.deleteQuietly(journalFile);
-    createLogOutputStream();
+    writerLock.lock();
+    try {
+      close();
+      entries.clear();
+      FileUtils.deleteQuietly(journalFile);
+      createLogOutputStream();
+    } finally {
+      writerLock.unlock();
+    }
   }
 
   private void createLogOutputStream() {
@@ -251,5 +380,18 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   public long fileLength() {
     return journalFile.length();
   }
-}
 
+  /**
+   * An entry enqueued through {@link #enqueueOperation(JournalEntry, byte[])} and not yet known to be written.
+   */
+  static final class PendingWrite {
+
+    private final byte[] serializedEntry;
+    private boolean written;
+    private IOException failure;
+
+    private PendingWrite(byte[] serializedEntry) {
+      this.serializedEntry = serializedEntry;
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
@@ -19,6 +21,12 @@ import org.apache.commons.lang3.NotImplementedException;
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  /**
+   * When set to {@code true}, persistent queues are stored through a {@link SegmentedFileQueueStoreDelegate} instead of a
+   * {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  public static final String SEGMENTED_QUEUE_STORE_PROPERTY_KEY = "mule.queue.segmented";
+
   private QueueConfiguration config;
   private String name;
   private QueueStoreDelegate delegate;
@@ -43,8 +51,13 @@ public class DefaultQueueStore implements RecoverableQueueStore {
       this.config = new DefaultQueueConfiguration();
     }
     if (this.config.isPersistent()) {
-      delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
-                                                            muleContext, this.config.getCapacity());
+      if (getBoolean(SEGMENTED_QUEUE_STORE_PROPERTY_KEY)) {
+        delegate = new SegmentedFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
+                                                       muleContext, this.config.getCapacity());
+      } else {
+        delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
+                                                              muleContext, this.config.getCapacity());
+      }
     } else {
       delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
     }
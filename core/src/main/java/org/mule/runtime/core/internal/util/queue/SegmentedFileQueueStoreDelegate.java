@@ -0,0 +1,565 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.core.internal.util.queue.DualRandomAccessFileQueueStoreDelegate.MAX_LENGTH_PER_FILE_PROPERTY_KEY;
+import static org.mule.runtime.core.internal.util.queue.QueueFileProvider.toHex;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation which stores the queue data in an append only log made of rolling
+ * segment files.
+ * <p/>
+ * Each entry is appended to the current write segment through a {@link FileChannel}. Once a segment reaches the maximum length
+ * per file, a new one is started. Removals are never written into the segments. Instead, the position of each consumed entry is
+ * appended to a separate acknowledgements file. Since both files are only appended to, enqueueing and dequeueing are O(1).
+ * <p/>
+ * A segment is deleted as soon as all of its entries have been consumed. The acknowledgements file is compacted once it grows
+ * past the maximum length per file, discarding the acknowledgements of already deleted segments.
+ * <p/>
+ * By default every write is forced to the storage device. Setting the {@link #FSYNC_INTERVAL_PROPERTY_KEY} system property
+ * enables group commit: all the writes done within the configured amount of milliseconds are forced together once that interval
+ * elapses since the previous force. In both modes, an operation that writes to the queue does not return until its write has
+ * been forced, so group commit trades the latency of each operation for fewer forces when there are concurrent writers, without
+ * weakening durability. Writes are also forced before starting a new segment and when the queue is closed.
+ *
+ * @since 4.5.0
+ */
+public class SegmentedFileQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String FSYNC_INTERVAL_PROPERTY_KEY = "mule.queue.segmented.fsyncInterval";
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-segments";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final String ACK_FILE_NAME = "ack";
+  private static final int ONE_MEGABYTE = 1024 * 1024;
+
+  private static final byte APPENDED = 0;
+  private static final byte PREPENDED = 1;
+  private static final int ENTRY_HEADER_SIZE = 5;
+  private static final int ACK_SIZE = 8;
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final ObjectSerializer serializer;
+  private final File segmentsDirectory;
+  private final long maxSegmentLength = getLong(MAX_LENGTH_PER_FILE_PROPERTY_KEY, ONE_MEGABYTE);
+  private final long fsyncInterval = getLong(FSYNC_INTERVAL_PROPERTY_KEY, 0L);
+
+  /**
+   * Positions of the entries still in the queue, in queue order. See {@link #toPointer(int, long)}
+   */
+  private final Deque<Long> entries = new ArrayDeque<>();
+  private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+  private Segment writeSegment;
+  private FileChannel ackChannel;
+  private long ackLength;
+  private long lastForce;
+  private boolean dirty;
+  /**
+   * Count of the writes done, and the value it had when the files were last forced. A write is durable once
+   * {@code forcedSequence} reaches the value {@code writeSequence} got with it.
+   */
+  private long writeSequence;
+  private long forcedSequence;
+
+  public SegmentedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    super(capacity);
+    serializer = muleContext.getObjectSerializer();
+    segmentsDirectory = createSegmentsDirectory(queueName, workingDirectory);
+    recover();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(format("Queue %s has %s messages", queueName, getSize()));
+    }
+  }
+
+  private static File createSegmentsDirectory(String queueName, String workingDirectory) {
+    File queuesDirectory = new File(workingDirectory, QUEUE_STORE_DIRECTORY);
+    File directory = new File(queuesDirectory, queueName + SEGMENTS_DIRECTORY_SUFFIX);
+    if (!directory.exists() && !directory.mkdirs()) {
+      // if file system does not support the name provided then use a hex representation of the name.
+      directory = new File(queuesDirectory, toHex(queueName) + SEGMENTS_DIRECTORY_SUFFIX);
+      if (!directory.exists() && !directory.mkdirs()) {
+        throw new IllegalStateException("Could not create queue store directory " + directory.getAbsolutePath());
+      }
+    }
+    return directory;
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    entries.addLast(append(APPENDED, serializer.getInternalProtocol().serialize(item)));
+    awaitForced();
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    entries.addFirst(append(PREPENDED, serializer.getInternalProtocol().serialize(item)));
+    awaitForced();
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      entries.addLast(append(APPENDED, serializer.getInternalProtocol().serialize(item)));
+    }
+    awaitForced();
+    return true;
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    if (entries.isEmpty()) {
+      return null;
+    }
+    return deserialize(read(entries.peekFirst()));
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    if (entries.isEmpty()) {
+      return null;
+    }
+    long pointer = entries.peekFirst();
+    Serializable value = deserialize(read(pointer));
+    entries.removeFirst();
+    acknowledge(pointer);
+    awaitForced();
+    return value;
+  }
+
+  @Override
+  protected int size() {
+    return entries.size();
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  @Override
+  protected void doClear() {
+    closeFiles();
+    deleteFiles();
+    entries.clear();
+    segments.clear();
+    recover();
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    Iterator<Long> iterator = entries.iterator();
+    while (iterator.hasNext()) {
+      long pointer = iterator.next();
+      if (deserialize(read(pointer)).equals(value)) {
+        iterator.remove();
+        acknowledge(pointer);
+        awaitForced();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (long pointer : entries) {
+      if (deserialize(read(pointer)).equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized void close() {
+    force();
+    closeFiles();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void dispose() {
+    dirty = false;
+    closeFiles();
+    deleteFiles();
+    deleteQuietly(segmentsDirectory);
+  }
+
+  private long append(byte flag, byte[] data) {
+    try {
+      if (writeSegment.length >= maxSegmentLength) {
+        Segment previous = writeSegment;
+        if (dirty && previous.liveEntries > 0) {
+          // force() only covers the current write segment, so pending writes of this one would never be forced otherwise
+          previous.channel.force(false);
+        }
+        writeSegment = openSegment(previous.index + 1);
+        if (previous.liveEntries == 0) {
+          deleteSegment(previous);
+        }
+      }
+
+      ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + data.length);
+      entry.put(flag);
+      entry.putInt(data.length);
+      entry.put(data);
+      entry.flip();
+
+      long offset = writeSegment.length;
+      writeFully(writeSegment.channel, entry, offset);
+      writeSegment.length += entry.capacity();
+      writeSegment.liveEntries++;
+      markDirty();
+
+      return toPointer(writeSegment.index, offset);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private byte[] read(long pointer) {
+    try {
+      FileChannel channel = segments.get(segmentIndex(pointer)).channel;
+      long offset = segmentOffset(pointer);
+
+      ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+      readFully(channel, header, offset);
+      ByteBuffer data = ByteBuffer.allocate(header.getInt(1));
+      readFully(channel, data, offset + ENTRY_HEADER_SIZE);
+      return data.array();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void acknowledge(long pointer) {
+    try {
+      ByteBuffer ack = ByteBuffer.allocate(ACK_SIZE);
+      ack.putLong(pointer);
+      ack.flip();
+      writeFully(ackChannel, ack, ackLength);
+      ackLength += ACK_SIZE;
+      markDirty();
+
+      Segment segment = segments.get(segmentIndex(pointer));
+      if (--segment.liveEntries == 0 && segment != writeSegment) {
+        deleteSegment(segment);
+        if (ackLength >= maxSegmentLength) {
+          compactAcknowledgements();
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void markDirty() {
+    dirty = true;
+    writeSequence++;
+  }
+
+  /**
+   * Returns once the writes done so far by the calling thread have been forced.
+   * <p/>
+   * In group commit mode, waits until the fsync interval elapses since the previous force, unless another thread forces the
+   * write before. Waiting releases the monitor of the queue, so that other threads can write meanwhile and have their writes
+   * forced together. Since it is called once the state of the queue has been updated, the queue is consistent for them.
+   */
+  private void awaitForced() {
+    final long sequence = writeSequence;
+    if (fsyncInterval > 0) {
+      try {
+        long remaining;
+        while (forcedSequence < sequence && (remaining = lastForce + fsyncInterval - currentTimeMillis()) > 0) {
+          wait(remaining);
+        }
+      } catch (InterruptedException e) {
+        // Force it right away instead of returning before the write is durable
+        currentThread().interrupt();
+      }
+    }
+    if (forcedSequence < sequence) {
+      force();
+    }
+  }
+
+  private void force() {
+    if (!dirty || writeSegment == null) {
+      return;
+    }
+    try {
+      writeSegment.channel.force(false);
+      ackChannel.force(false);
+      lastForce = currentTimeMillis();
+      forcedSequence = writeSequence;
+      dirty = false;
+      // Wake up the writers waiting for these writes to be forced
+      notifyAll();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Rebuilds the queue from the segment files and the acknowledgements file. All entries are replayed in the order they were
+   * written, and then the acknowledged ones are discarded. This reproduces the queue order because removing an entry never
+   * changes the relative order of the remaining ones.
+   */
+  private void recover() {
+    try {
+      Set<Long> acknowledged = readAcknowledgements();
+
+      Map<Integer, File> segmentFiles = new HashMap<>();
+      File[] files = segmentsDirectory.listFiles((dir, name) -> name.startsWith(SEGMENT_FILE_PREFIX));
+      if (files != null) {
+        for (File file : files) {
+          segmentFiles.put(Integer.valueOf(file.getName().substring(SEGMENT_FILE_PREFIX.length())), file);
+        }
+      }
+
+      for (Integer index : new TreeMap<>(segmentFiles).keySet()) {
+        Segment segment = openSegment(index);
+        replay(segment, acknowledged);
+      }
+
+      // never reuse the index of a segment which may still have acknowledgements in the file
+      int nextIndex = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+      for (long pointer : acknowledged) {
+        nextIndex = max(nextIndex, segmentIndex(pointer) + 1);
+      }
+      for (Segment segment : segments.values().toArray(new Segment[0])) {
+        if (segment.liveEntries == 0) {
+          deleteSegment(segment);
+        }
+      }
+      writeSegment = openSegment(nextIndex);
+
+      compactAcknowledgements();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void replay(Segment segment, Set<Long> acknowledged) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+    long fileLength = segment.channel.size();
+    long offset = 0;
+
+    while (offset + ENTRY_HEADER_SIZE <= fileLength) {
+      header.clear();
+      readFully(segment.channel, header, offset);
+      int dataLength = header.getInt(1);
+      if (dataLength < 0 || offset + ENTRY_HEADER_SIZE + dataLength > fileLength) {
+        break;
+      }
+
+      long pointer = toPointer(segment.index, offset);
+      if (!acknowledged.contains(pointer)) {
+        if (header.get(0) == PREPENDED) {
+          entries.addFirst(pointer);
+        } else {
+          entries.addLast(pointer);
+        }
+        segment.liveEntries++;
+      }
+      offset += ENTRY_HEADER_SIZE + dataLength;
+    }
+
+    if (offset < fileLength) {
+      logger.warn(format("Discarding %d bytes of incomplete entries at the end of queue segment %s", fileLength - offset,
+                         segment.file.getAbsolutePath()));
+      segment.channel.truncate(offset);
+    }
+    segment.length = offset;
+  }
+
+  private Set<Long> readAcknowledgements() throws IOException {
+    Set<Long> acknowledged = new HashSet<>();
+    File ackFile = new File(segmentsDirectory, ACK_FILE_NAME);
+    if (!ackFile.exists()) {
+      return acknowledged;
+    }
+
+    try (FileChannel channel = FileChannel.open(ackFile.toPath(), READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(ACK_SIZE);
+      long completeLength = channel.size() - channel.size() % ACK_SIZE;
+      for (long offset = 0; offset < completeLength; offset += ACK_SIZE) {
+        buffer.clear();
+        readFully(channel, buffer, offset);
+        acknowledged.add(buffer.getLong(0));
+      }
+    }
+    return acknowledged;
+  }
+
+  /**
+   * Rewrites the acknowledgements file keeping only the entries which belong to segments that still exist.
+   */
+  private void compactAcknowledgements() throws IOException {
+    Set<Long> acknowledged = readAcknowledgements();
+    if (ackChannel != null) {
+      ackChannel.close();
+    }
+
+    File ackFile = new File(segmentsDirectory, ACK_FILE_NAME);
+    File compacted = new File(segmentsDirectory, ACK_FILE_NAME + ".compact");
+    try (FileChannel channel = FileChannel.open(compacted.toPath(), CREATE, WRITE)) {
+      channel.truncate(0);
+      ByteBuffer ack = ByteBuffer.allocate(ACK_SIZE);
+      long offset = 0;
+      for (long pointer : acknowledged) {
+        if (segments.containsKey(segmentIndex(pointer))) {
+          ack.clear();
+          ack.putLong(pointer);
+          ack.flip();
+          writeFully(channel, ack, offset);
+          offset += ACK_SIZE;
+        }
+      }
+      channel.force(true);
+      ackLength = offset;
+    }
+
+    if (!compacted.renameTo(ackFile)) {
+      deleteQuietly(ackFile);
+      if (!compacted.renameTo(ackFile)) {
+        throw new IOException("Could not replace queue acknowledgements file " + ackFile.getAbsolutePath());
+      }
+    }
+    ackChannel = FileChannel.open(ackFile.toPath(), CREATE, READ, WRITE);
+  }
+
+  private Segment openSegment(int index) throws IOException {
+    File file = new File(segmentsDirectory, SEGMENT_FILE_PREFIX + index);
+    Segment segment = new Segment(index, file, FileChannel.open(file.toPath(), CREATE, READ, WRITE));
+    segments.put(index, segment);
+    return segment;
+  }
+
+  private void deleteSegment(Segment segment) {
+    segments.remove(segment.index);
+    try {
+      segment.channel.close();
+    } catch (IOException e) {
+      logger.warn("Error closing queue segment " + segment.file.getAbsolutePath(), e);
+    }
+    deleteQuietly(segment.file);
+  }
+
+  private void closeFiles() {
+    for (Segment segment : segments.values()) {
+      try {
+        segment.channel.close();
+      } catch (IOException e) {
+        logger.warn("Error closing queue segment " + segment.file.getAbsolutePath(), e);
+      }
+    }
+    if (ackChannel != null) {
+      try {
+        ackChannel.close();
+      } catch (IOException e) {
+        logger.warn("Error closing queue acknowledgements file", e);
+      }
+    }
+  }
+
+  private void deleteFiles() {
+    File[] files = segmentsDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        deleteQuietly(file);
+      }
+    }
+  }
+
+  private Serializable deserialize(byte[] valueAsBytes) {
+    return serializer.getInternalProtocol().deserialize(valueAsBytes);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of queue file");
+      }
+      position += read;
+    }
+  }
+
+  /**
+   * Encodes the location of an entry in a single {@code long}: the segment index in the high 32 bits and the offset within the
+   * segment in the low 32 bits.
+   */
+  private static long toPointer(int segmentIndex, long offset) {
+    return ((long) segmentIndex << 32) | offset;
+  }
+
+  private static int segmentIndex(long pointer) {
+    return (int) (pointer >>> 32);
+  }
+
+  private static long segmentOffset(long pointer) {
+    return pointer & 0xFFFFFFFFL;
+  }
+
+  private static final class Segment {
+
+    private final int index;
+    private final File file;
+    private final FileChannel channel;
+    private long length;
+    private int liveEntries;
+
+    private Segment(int index, File file, FileChannel channel) throws IOException {
+      this.index = index;
+      this.file = file;
+      this.channel = channel;
+      this.length = channel.size();
+    }
+  }
+}
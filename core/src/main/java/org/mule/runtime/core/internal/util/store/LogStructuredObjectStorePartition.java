@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Long.getLong;
+import static java.lang.Math.toIntExact;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentObjectStorePartition} which keeps all of its entries in a single append only data file instead of one file
+ * per key.
+ * <p>
+ * Each store appends a record with the key, the serialized value and the time at which it was stored, while each removal appends
+ * a tombstone for the key. An in memory index maps every live key to the location of its value in the data file, so that
+ * {@link #contains(String)}, {@link #store(String, Serializable)}, {@link #retrieve(String)} and {@link #remove(String)} never
+ * need to list nor scan the partition directory. The index keeps the keys in the order in which they were stored, which allows
+ * {@link #expire(long, int)} to only visit the entries that actually have to be evicted.
+ * <p>
+ * Once the space taken by overwritten records and tombstones exceeds both the space taken by live records and
+ * {@link #COMPACTION_THRESHOLD_PROPERTY_KEY} bytes, the data file is rewritten with only the live records. On restart, the index is
+ * rebuilt by replaying the record headers of the data file, skipping over the values. A partially written record at the end of
+ * the file (i.e. a crash while appending), as well as any record with a length that doesn't fit in the file, is discarded
+ * along with everything after it.
+ *
+ * @since 4.5.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends PersistentObjectStorePartition<T>
+    implements Disposable {
+
+  /**
+   * System property to set the minimum amount of garbage bytes a data file needs to have before it gets compacted.
+   */
+  public static final String COMPACTION_THRESHOLD_PROPERTY_KEY = "mule.objectStore.logStructured.compactionThreshold";
+
+  static final String DATA_FILE = "partition-data.log";
+  private static final String COMPACTION_FILE = DATA_FILE + ".compact";
+
+  private static final byte STORE_RECORD = 1;
+  private static final byte REMOVE_RECORD = 2;
+  // type + timestamp + key length
+  private static final int RECORD_HEADER_LENGTH = 1 + 8 + 4;
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final long compactionThreshold = getLong(COMPACTION_THRESHOLD_PROPERTY_KEY, 1024 * 1024);
+
+  // Kept in insertion order, which is the order in which the entries become eligible for expiration.
+  private final LinkedHashMap<String, IndexEntry> index = new LinkedHashMap<>();
+
+  private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+  private final Lock rLock = rwLock.readLock();
+  private final Lock wLock = rwLock.writeLock();
+
+  private volatile FileChannel dataChannel;
+  private long dataFileLength;
+  private long garbageBytes;
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    super(muleContext, partitionName, partitionDirectory);
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    super(muleContext, partitionDirectory);
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+  }
+
+  /**
+   * @param partitionDirectory the directory of a previously stored partition
+   * @return whether the given partition was stored by a {@link LogStructuredObjectStorePartition}
+   */
+  public static boolean isLogStructuredPartition(File partitionDirectory) {
+    return new File(partitionDirectory, DATA_FILE).exists();
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    super.open();
+    loadIndex();
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeDataChannel();
+      try {
+        cleanDirectory(getPartitionDirectory());
+        getPartitionDirectory().delete();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  /**
+   * Releases the data file handle without deleting any data. The partition is transparently reloaded if used afterwards.
+   */
+  @Override
+  public void dispose() {
+    wLock.lock();
+    try {
+      closeDataChannel();
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    lockLoaded(rLock);
+    try {
+      return unmodifiableList(new ArrayList<>(index.keySet()));
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    lockLoaded(rLock);
+    try {
+      return index.containsKey(key);
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    // serialize before taking the lock, other readers and writers don't need to wait for it
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    final byte[] valueBytes = serializer.getInternalProtocol().serialize(value);
+    final long timestamp = currentTimeMillis();
+
+    lockLoaded(wLock);
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+
+      ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + keyBytes.length + 4 + valueBytes.length);
+      record.put(STORE_RECORD).putLong(timestamp).putInt(keyBytes.length).put(keyBytes)
+          .putInt(valueBytes.length).put(valueBytes);
+      record.flip();
+
+      final long recordOffset = append(record);
+      index.put(key, new IndexEntry(recordOffset, record.capacity(), valueBytes.length, timestamp));
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeDataChannel();
+      try {
+        cleanDirectory(getPartitionDirectory());
+        createOrRetrievePartitionDescriptorFile();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+      }
+      loadIndex();
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    lockLoaded(rLock);
+    try {
+      IndexEntry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      return load(entry);
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    lockLoaded(rLock);
+    try {
+      Map<String, T> values = new LinkedHashMap<>(index.size());
+      for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+        values.put(entry.getKey(), load(entry.getValue()));
+      }
+
+      return values;
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    lockLoaded(wLock);
+    try {
+      IndexEntry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+
+      T value = load(entry);
+      List<String> removed = new ArrayList<>(1);
+      removed.add(key);
+      appendRemovals(removed);
+      compactIfNeeded();
+
+      return value;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    lockLoaded(wLock);
+    try {
+      List<String> expired = new ArrayList<>();
+      Iterator<Map.Entry<String, IndexEntry>> entries = index.entrySet().iterator();
+
+      if (maxEntries != UNBOUNDED) {
+        int excess = index.size() - maxEntries;
+        while (excess-- > 0 && entries.hasNext()) {
+          expired.add(entries.next().getKey());
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        final long now = currentTimeMillis();
+        while (entries.hasNext()) {
+          Map.Entry<String, IndexEntry> entry = entries.next();
+          if ((now - entry.getValue().timestamp) >= entryTTL) {
+            expired.add(entry.getKey());
+          } else {
+            break;
+          }
+        }
+      }
+
+      if (!expired.isEmpty()) {
+        appendRemovals(expired);
+        compactIfNeeded();
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private T load(IndexEntry entry) throws ObjectStoreException {
+    ByteBuffer valueBytes = ByteBuffer.allocate(entry.valueLength);
+    try {
+      long position = entry.valueOffset();
+      while (valueBytes.hasRemaining()) {
+        int read = dataChannel.read(valueBytes, position);
+        if (read < 0) {
+          throw new EOFException("Unexpected end of object store data file");
+        }
+        position += read;
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+
+    T value = serializer.getInternalProtocol().deserialize(valueBytes.array());
+    if (value instanceof DeserializationPostInitialisable) {
+      try {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      } catch (Exception e) {
+        throw new ObjectStoreException(e);
+      }
+    }
+    return value;
+  }
+
+  private void appendRemovals(List<String> keys) throws ObjectStoreException {
+    final long timestamp = currentTimeMillis();
+    List<byte[]> keysBytes = new ArrayList<>(keys.size());
+    int length = 0;
+    for (String key : keys) {
+      byte[] keyBytes = key.getBytes(UTF_8);
+      keysBytes.add(keyBytes);
+      length += RECORD_HEADER_LENGTH + keyBytes.length;
+    }
+
+    // all the tombstones go in a single write
+    ByteBuffer records = ByteBuffer.allocate(length);
+    for (byte[] keyBytes : keysBytes) {
+      records.put(REMOVE_RECORD).putLong(timestamp).putInt(keyBytes.length).put(keyBytes);
+    }
+    records.flip();
+    append(records);
+
+    for (String key : keys) {
+      garbageBytes += index.remove(key).recordLength;
+    }
+    garbageBytes += length;
+  }
+
+  private long append(ByteBuffer records) throws ObjectStoreException {
+    final long offset = dataFileLength;
+    try {
+      long position = offset;
+      while (records.hasRemaining()) {
+        position += dataChannel.write(records, position);
+      }
+      dataFileLength = position;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not write to object store data file"), e);
+    }
+
+    return offset;
+  }
+
+  private void compactIfNeeded() throws ObjectStoreException {
+    if (garbageBytes < compactionThreshold || garbageBytes < dataFileLength - garbageBytes) {
+      return;
+    }
+
+    File dataFile = getDataFile();
+    File compactionFile = new File(getPartitionDirectory(), COMPACTION_FILE);
+    LinkedHashMap<String, IndexEntry> compactedIndex = new LinkedHashMap<>(index.size());
+    long position = 0;
+
+    try {
+      try (FileChannel compactionChannel = FileChannel.open(compactionFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+        for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+          IndexEntry indexEntry = entry.getValue();
+          long transferred = 0;
+          while (transferred < indexEntry.recordLength) {
+            transferred += dataChannel.transferTo(indexEntry.recordOffset + transferred,
+                                                  indexEntry.recordLength - transferred, compactionChannel);
+          }
+          compactedIndex.put(entry.getKey(), indexEntry.movedTo(position));
+          position += indexEntry.recordLength;
+        }
+        compactionChannel.force(true);
+      }
+
+      dataChannel.close();
+      Files.move(compactionFile.toPath(), dataFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      // the original data file is still in place, so try to keep using it
+      closeDataChannel();
+      throw new ObjectStoreException(createStaticMessage(format("Could not compact object store data file %s",
+                                                                dataFile.getAbsolutePath())),
+                                     e);
+    }
+
+    LOGGER.debug("Compacted object store data file {} from {} to {} bytes", dataFile.getAbsolutePath(), dataFileLength,
+                 position);
+
+    index.clear();
+    index.putAll(compactedIndex);
+    dataFileLength = position;
+    garbageBytes = 0;
+
+    try {
+      dataChannel = FileChannel.open(dataFile.toPath(), CREATE, READ, WRITE);
+    } catch (IOException e) {
+      closeDataChannel();
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  /**
+   * Acquires the given lock, loading the index first if needed. The data file is checked to be open while holding the lock, so
+   * that a concurrent {@link #dispose()} can't close it before the caller is done using it.
+   */
+  private void lockLoaded(Lock lock) throws ObjectStoreException {
+    while (true) {
+      lock.lock();
+      if (dataChannel != null) {
+        return;
+      }
+      lock.unlock();
+      loadIndex();
+    }
+  }
+
+  private void loadIndex() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      // re-checked since it may have been loaded while waiting for the lock
+      if (dataChannel != null) {
+        return;
+      }
+
+      File dataFile = getDataFile();
+      try {
+        // leftover of a compaction that didn't finish, the data file is still complete
+        Files.deleteIfExists(new File(getPartitionDirectory(), COMPACTION_FILE).toPath());
+
+        index.clear();
+        long validLength = dataFile.exists() ? replay(dataFile) : 0;
+
+        dataChannel = FileChannel.open(dataFile.toPath(), CREATE, READ, WRITE);
+        if (dataChannel.size() > validLength) {
+          LOGGER.warn("Discarding {} bytes of incomplete records at the end of object store data file {}",
+                      dataChannel.size() - validLength, dataFile.getAbsolutePath());
+          dataChannel.truncate(validLength);
+        }
+
+        dataFileLength = validLength;
+        garbageBytes = validLength;
+        for (IndexEntry entry : index.values()) {
+          garbageBytes -= entry.recordLength;
+        }
+      } catch (IOException e) {
+        closeDataChannel();
+        throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %1s",
+                                                                  getPartitionDirectory().getAbsolutePath())),
+                                       e);
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  /**
+   * Rebuilds the index out of the records in the given data file.
+   *
+   * @return the length of the data file up to the last complete record
+   */
+  private long replay(File dataFile) throws IOException {
+    final long fileLength = dataFile.length();
+    long position = 0;
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(dataFile.toPath())))) {
+      while (true) {
+        final long recordOffset = position;
+        final byte type;
+        try {
+          type = input.readByte();
+        } catch (EOFException e) {
+          return position;
+        }
+
+        try {
+          final long timestamp = input.readLong();
+          final int keyLength = input.readInt();
+          if (!isValidLength(keyLength, recordOffset + RECORD_HEADER_LENGTH, recordOffset, fileLength)) {
+            return invalidRecord(dataFile, recordOffset);
+          }
+          final byte[] keyBytes = new byte[keyLength];
+          input.readFully(keyBytes);
+          final String key = new String(keyBytes, UTF_8);
+          position += RECORD_HEADER_LENGTH + keyBytes.length;
+
+          if (type == STORE_RECORD) {
+            final int valueLength = input.readInt();
+            if (!isValidLength(valueLength, position + 4, recordOffset, fileLength)) {
+              return invalidRecord(dataFile, recordOffset);
+            }
+            skipFully(input, valueLength);
+            position += 4 + valueLength;
+            // re-insert so that the key takes the position of its latest store
+            index.remove(key);
+            index.put(key, new IndexEntry(recordOffset, toIntExact(position - recordOffset), valueLength, timestamp));
+          } else if (type == REMOVE_RECORD) {
+            index.remove(key);
+          } else {
+            LOGGER.warn("Found unknown record type {} at offset {} of object store data file {}", type, recordOffset,
+                        dataFile.getAbsolutePath());
+            return recordOffset;
+          }
+        } catch (EOFException e) {
+          return recordOffset;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return whether a field of the given length starting at {@code fieldOffset} fits both in the data file and in a record that
+   *         could have been written by {@link #doStore(String, Serializable)}
+   */
+  private static boolean isValidLength(int length, long fieldOffset, long recordOffset, long fileLength) {
+    return length >= 0 && fieldOffset + length <= fileLength && fieldOffset + length - recordOffset <= Integer.MAX_VALUE;
+  }
+
+  private static long invalidRecord(File dataFile, long recordOffset) {
+    // a length that points past the end of the file is what a partially written record looks like, which gets discarded with a
+    // warning when loading the index
+    LOGGER.debug("Found invalid record length at offset {} of object store data file {}", recordOffset,
+                dataFile.getAbsolutePath());
+    return recordOffset;
+  }
+
+  private static void skipFully(DataInputStream input, int length) throws IOException {
+    int remaining = length;
+    while (remaining > 0) {
+      int skipped = input.skipBytes(remaining);
+      if (skipped <= 0) {
+        // skipBytes may return 0 both at EOF and when nothing could be skipped, read to tell them apart
+        input.readByte();
+        skipped = 1;
+      }
+      remaining -= skipped;
+    }
+  }
+
+  private void closeDataChannel() {
+    index.clear();
+    if (dataChannel != null) {
+      try {
+        dataChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close object store data file", e);
+      } finally {
+        dataChannel = null;
+      }
+    }
+  }
+
+  private File getDataFile() {
+    return new File(getPartitionDirectory(), DATA_FILE);
+  }
+
+  private static final class IndexEntry {
+
+    private final long recordOffset;
+    private final int recordLength;
+    private final int valueLength;
+    private final long timestamp;
+
+    private IndexEntry(long recordOffset, int recordLength, int valueLength, long timestamp) {
+      this.recordOffset = recordOffset;
+      this.recordLength = recordLength;
+      this.valueLength = valueLength;
+      this.timestamp = timestamp;
+    }
+
+    private long valueOffset() {
+      return recordOffset + recordLength - valueLength;
+    }
+
+    private IndexEntry movedTo(long newRecordOffset) {
+      return new IndexEntry(newRecordOffset, recordLength, valueLength, timestamp);
+    }
+  }
+}
@@ -7,6 +7,7 @@
 
 package org.mule.runtime.core.internal.util.store;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
@@ -32,6 +33,7 @@ import java.io.Serializable;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
 
 import javax.inject.Inject;
 
@@ -43,12 +45,19 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   private static Logger LOGGER = getLogger(MuleObjectStoreManager.class);
   public static final int UNBOUNDED = 0;
 
+  /**
+   * System property to set how many expiration tasks of different object stores may run at the same time. All the monitored
+   * object stores of this manager share a single scheduler with up to this many threads.
+   */
+  public static final String EXPIRATION_MAX_CONCURRENCY_PROPERTY_KEY = "mule.objectStore.expiration.maxConcurrency";
+
   private SchedulerService schedulerService;
   private Registry registry;
   private MuleContext muleContext;
 
   private final ConcurrentMap<String, ObjectStore<?>> stores = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, Scheduler> expirationSchedulers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ScheduledFuture<?>> expirationTasks = new ConcurrentHashMap<>();
+  private Scheduler expirationScheduler;
 
   private String baseTransientStoreKey = BASE_IN_MEMORY_OBJECT_STORE_KEY;
   private String basePersistentStoreKey = BASE_PERSISTENT_OBJECT_STORE_KEY;
@@ -82,10 +91,16 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   public void dispose() {
     LOGGER.debug("Disposing MuleObjectStoreManager: {}", this);
 
-    for (Scheduler scheduler : expirationSchedulers.values()) {
-      scheduler.stop();
+    for (ScheduledFuture<?> expirationTask : expirationTasks.values()) {
+      expirationTask.cancel(false);
+    }
+    expirationTasks.clear();
+    synchronized (this) {
+      if (expirationScheduler != null) {
+        expirationScheduler.stop();
+        expirationScheduler = null;
+      }
     }
-    expirationSchedulers.clear();
 
     basePersistentPartition = null;
     baseTransientPartition = null;
@@ -193,16 +208,14 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
                                                                                     T store,
                                                                                     ObjectStoreSettings settings) {
     if (baseStore instanceof PartitionableExpirableObjectStore) {
-      Scheduler scheduler = schedulerService.customScheduler(muleContext.getSchedulerBaseConfig()
-          .withName("ObjectStoreManager-Monitor-" + name).withMaxConcurrentTasks(1));
-
-      scheduler.scheduleWithFixedDelay(new Monitor(name,
-                                                   (PartitionableExpirableObjectStore) baseStore,
-                                                   settings.getEntryTTL().orElse(0L),
-                                                   settings.getMaxEntries().orElse(UNBOUNDED)),
-                                       0,
-                                       settings.getExpirationInterval(), MILLISECONDS);
-      expirationSchedulers.put(name, scheduler);
+      ScheduledFuture<?> expirationTask =
+          getExpirationScheduler().scheduleWithFixedDelay(new Monitor(name,
+                                                                      (PartitionableExpirableObjectStore) baseStore,
+                                                                      settings.getEntryTTL().orElse(0L),
+                                                                      settings.getMaxEntries().orElse(UNBOUNDED)),
+                                                          0,
+                                                          settings.getExpirationInterval(), MILLISECONDS);
+      expirationTasks.put(name, expirationTask);
       return store;
     } else {
       MonitoredObjectStoreWrapper monObjectStore;
@@ -222,6 +235,19 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     }
   }
 
+  /**
+   * Lazily creates the scheduler that runs the expiration of every monitored store of this manager. Each store is just a
+   * periodic task in it, instead of having a dedicated scheduler with its own thread.
+   */
+  private synchronized Scheduler getExpirationScheduler() {
+    if (expirationScheduler == null) {
+      expirationScheduler = schedulerService.customScheduler(muleContext.getSchedulerBaseConfig()
+          .withName("ObjectStoreManager-Monitor")
+          .withMaxConcurrentTasks(getInteger(EXPIRATION_MAX_CONCURRENCY_PROPERTY_KEY, 4)));
+    }
+    return expirationScheduler;
+  }
+
   public void clearStoreCache() {
     stores.clear();
   }
@@ -248,9 +274,9 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
         String partitionName = partition.getPartitionName();
         partition.getBaseStore().disposePartition(partitionName);
 
-        Scheduler scheduler = expirationSchedulers.remove(partitionName);
-        if (scheduler != null) {
-          scheduler.stop();
+        ScheduledFuture<?> expirationTask = expirationTasks.remove(partitionName);
+        if (expirationTask != null) {
+          expirationTask.cancel(false);
         }
       } else {
         try {
@@ -302,7 +328,7 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   }
 
   int getMonitorsCount() {
-    return expirationSchedulers.size();
+    return expirationTasks.size();
   }
 
   public void setBasePersistentStoreKey(String basePersistentStoreKey) {
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.privileged.util;
 
 import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
 import static org.mule.runtime.api.util.collection.SmallMap.forSize;
 import static org.mule.runtime.api.util.collection.SmallMap.of;
 
@@ -14,10 +15,13 @@ import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.api.util.collection.SmallMap;
 import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -123,6 +127,28 @@ public final class TemplateParser {
   }
 
   private String parseMule(Map<?, ?> props, String template, TemplateCallback callback, boolean insideExpression) {
+    StringBuilder result = new StringBuilder();
+    scanMule(template, insideExpression, result, enclosingTemplate -> {
+      Object value = enclosingTemplate;
+      if (callback != null) {
+        value = callback.match(enclosingTemplate);
+        if (value == null) {
+          value = NULL_AS_STRING;
+        } else {
+          value = parseMule(props, escapeValue(enclosingTemplate, value.toString()), callback, value.equals(enclosingTemplate));
+        }
+      }
+      result.append(value);
+    });
+
+    return result.toString();
+  }
+
+  /**
+   * Goes through a Mule style template, appending its literal content to {@code result} and handing each of the expressions found
+   * in it to {@code expressionHandler}, in the order they appear.
+   */
+  private void scanMule(String template, boolean insideExpression, StringBuilder result, Consumer<String> expressionHandler) {
     validateBalanceMuleStyle(template);
 
     boolean lastIsBackSlash = false;
@@ -130,7 +156,6 @@ public final class TemplateParser {
     boolean inExpression = insideExpression;
     boolean openSingleQuotes = false;
 
-    StringBuilder result = new StringBuilder();
     int currentPosition = 0;
     while (currentPosition < template.length()) {
       char c = template.charAt(currentPosition);
@@ -157,18 +182,7 @@ public final class TemplateParser {
 
       if (c == OPEN_EXPRESSION && lastStartedExpression && (!insideExpression || !openSingleQuotes)) {
         int closing = closingBracesPosition(template, currentPosition);
-        String enclosingTemplate = template.substring(currentPosition + 1, closing);
-
-        Object value = enclosingTemplate;
-        if (callback != null) {
-          value = callback.match(enclosingTemplate);
-          if (value == null) {
-            value = NULL_AS_STRING;
-          } else {
-            value = parseMule(props, escapeValue(enclosingTemplate, value.toString()), callback, value.equals(enclosingTemplate));
-          }
-        }
-        result.append(value);
+        expressionHandler.accept(template.substring(currentPosition + 1, closing));
 
         currentPosition = closing;
       } else if ((c != START_EXPRESSION || lastIsBackSlash) && c != '\\') {
@@ -179,8 +193,41 @@ public final class TemplateParser {
       lastIsBackSlash = c == '\\';
       currentPosition++;
     }
+  }
 
-    return result.toString();
+  /**
+   * Compiles a Mule style template, so that it can be resolved many times without scanning its text again.
+   * <p>
+   * Resolving the returned {@link CompiledTemplate} gives the same result as {@link #parse(TemplateCallback, String)} for the
+   * given template.
+   *
+   * @param template           the string containing the expressions to resolve, i.e. My name is #[name]
+   * @param expressionCompiler a function to compile each of the expressions in the template, to be given back when resolving it
+   * @param <E>                the type of the compiled expressions
+   * @return the compiled template
+   * @throws IllegalArgumentException if the template is not balanced
+   * @since 4.5.0
+   */
+  public <E> CompiledTemplate<E> compile(String template, Function<String, E> expressionCompiler) {
+    if (!styleIs(WIGGLY_MULE_TEMPLATE_STYLE)) {
+      throw new UnsupportedOperationException("Only Mule style templates can be compiled");
+    }
+
+    List<String> literals = new ArrayList<>();
+    List<String> expressions = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    scanMule(template, false, literal, expression -> {
+      literals.add(literal.toString());
+      literal.setLength(0);
+      expressions.add(expression);
+    });
+    literals.add(literal.toString());
+
+    List<E> compiledExpressions = new ArrayList<>(expressions.size());
+    for (String expression : expressions) {
+      compiledExpressions.add(expressionCompiler.apply(expression));
+    }
+    return new CompiledTemplate<>(template, literals, expressions, compiledExpressions);
   }
 
   private int closingBracesPosition(String template, int startingPosition) {
@@ -436,6 +483,112 @@ public final class TemplateParser {
     Object match(String token);
   }
 
+  /**
+   * A Mule style template already split into its literal segments and expressions, obtained through
+   * {@link TemplateParser#compile(String, Function)}.
+   *
+   * @param <E> the type of the compiled expressions
+   * @since 4.5.0
+   */
+  public final class CompiledTemplate<E> {
+
+    private final String template;
+    private final String[] literals;
+    private final String[] expressions;
+    private final List<E> compiledExpressions;
+    private final int literalsLength;
+
+    private CompiledTemplate(String template, List<String> literals, List<String> expressions, List<E> compiledExpressions) {
+      this.template = template;
+      this.literals = literals.toArray(new String[literals.size()]);
+      this.expressions = expressions.toArray(new String[expressions.size()]);
+      this.compiledExpressions = compiledExpressions;
+      int length = 0;
+      for (String literal : literals) {
+        length += literal.length();
+      }
+      this.literalsLength = length;
+    }
+
+    /**
+     * @return the template this was compiled from.
+     */
+    public String getTemplate() {
+      return template;
+    }
+
+    /**
+     * @return the compiled expressions of the template, in the order they appear in it.
+     */
+    public List<E> getCompiledExpressions() {
+      return unmodifiableList(compiledExpressions);
+    }
+
+    /**
+     * @return whether the template has any expression to resolve.
+     */
+    public boolean hasExpressions() {
+      return expressions.length > 0;
+    }
+
+    /**
+     * @return the length of the literal content of the template, useful to size the buffer the template is resolved into.
+     */
+    public int getLiteralsLength() {
+      return literalsLength;
+    }
+
+    /**
+     * Resolves this template, appending the result to the given {@code output}.
+     *
+     * @param evaluator a function to evaluate each of the compiled expressions of the template
+     * @param callback  used to resolve the expressions found in the values the compiled expressions evaluate to
+     * @param output    where the result is appended to
+     * @throws IOException if the result could not be appended to {@code output}
+     */
+    public void resolve(Function<E, Object> evaluator, TemplateCallback callback, Appendable output) throws IOException {
+      for (int i = 0; i < expressions.length; ++i) {
+        output.append(literals[i]);
+
+        Object value = evaluator.apply(compiledExpressions.get(i));
+        if (value == null) {
+          output.append(NULL_AS_STRING);
+        } else {
+          String valueString = value.toString();
+          if (valueString.indexOf(START_EXPRESSION) == -1 && valueString.indexOf('\\') == -1) {
+            // Parsing a value with no expressions nor escaped characters would give back the same value
+            output.append(valueString);
+          } else {
+            output.append(parseMule(null, escapeValue(expressions[i], valueString), callback, value.equals(expressions[i])));
+          }
+        }
+      }
+      output.append(literals[expressions.length]);
+    }
+
+    /**
+     * Resolves this template.
+     *
+     * @param evaluator a function to evaluate each of the compiled expressions of the template
+     * @param callback  used to resolve the expressions found in the values the compiled expressions evaluate to
+     * @return the resolved template
+     */
+    public String resolve(Function<E, Object> evaluator, TemplateCallback callback) {
+      if (!hasExpressions()) {
+        return literals[0];
+      }
+
+      StringBuilder result = new StringBuilder(literalsLength + 16 * expressions.length);
+      try {
+        resolve(evaluator, callback, result);
+      } catch (IOException e) {
+        // Not thrown by a StringBuilder
+        throw new IllegalStateException(e);
+      }
+      return result.toString();
+    }
+  }
+
 
   public static class PatternInfo {
 
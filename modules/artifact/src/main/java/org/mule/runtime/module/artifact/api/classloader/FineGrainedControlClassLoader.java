@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.util.Collections.emptyEnumeration;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOG_VERBOSE_CLASSLOADING;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -17,6 +19,7 @@ import org.mule.api.annotation.NoInstantiate;
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.api.util.CompoundEnumeration;
 import org.mule.runtime.module.artifact.api.classloader.exception.CompositeClassNotFoundException;
+import org.mule.runtime.module.artifact.internal.classloader.ClassLoaderEntryIndex;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -47,10 +50,19 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     registerAsParallelCapable();
   }
 
+  /**
+   * System property to disable the index of the entries of the jars of the class loaders, which avoids walking over every jar
+   * when looking up a class or resource that is not there.
+   */
+  public static final String DISABLE_ENTRY_INDEX_PROPERTY_KEY = "mule.classloader.disableEntryIndex";
+
   private static final Logger LOGGER = getLogger(FineGrainedControlClassLoader.class);
 
   private final ClassLoaderLookupPolicy lookupPolicy;
   private final boolean verboseLogging;
+  private final boolean entryIndexEnabled = !getBoolean(DISABLE_ENTRY_INDEX_PROPERTY_KEY);
+  private final Object entryIndexLock = new Object();
+  private volatile ClassLoaderEntryIndex entryIndex;
 
   public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy) {
     super(urls, parent, new NonCachingURLStreamHandlerFactory());
@@ -175,10 +187,62 @@ public class FineGrainedControlClassLoader extends URLClassLoader
         return result;
       }
 
+      if (!mayContain(name.replace('.', '/').concat(".class"))) {
+        throw new ClassNotFoundException(name);
+      }
+
       return super.findClass(name);
     }
   }
 
+  @Override
+  public URL findResource(String name) {
+    if (!mayContain(name)) {
+      return null;
+    }
+    return super.findResource(name);
+  }
+
+  @Override
+  public Enumeration<URL> findResources(String name) throws IOException {
+    if (!mayContain(name)) {
+      return emptyEnumeration();
+    }
+    return super.findResources(name);
+  }
+
+  @Override
+  protected void addURL(URL url) {
+    // Holding the lock, so that an index being created concurrently without the new URL doesn't replace the reset one
+    synchronized (entryIndexLock) {
+      super.addURL(url);
+      // The index is created again on the next lookup, including the new URL
+      entryIndex = null;
+    }
+  }
+
+  /**
+   * @param name the name of a resource
+   * @return {@code false} if the resource is certainly not in the URLs of this class loader, {@code true} otherwise.
+   */
+  private boolean mayContain(String name) {
+    if (!entryIndexEnabled) {
+      return true;
+    }
+
+    ClassLoaderEntryIndex index = entryIndex;
+    if (index == null) {
+      synchronized (entryIndexLock) {
+        index = entryIndex;
+        if (index == null) {
+          index = ClassLoaderEntryIndex.create(getURLs());
+          entryIndex = index;
+        }
+      }
+    }
+    return index.mayContain(name);
+  }
+
   @Override
   public ClassLoaderLookupPolicy getClassLoaderLookupPolicy() {
     return lookupPolicy;
@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.toHexString;
 import static java.lang.String.format;
 import static java.lang.System.identityHashCode;
 import static java.lang.reflect.Modifier.isAbstract;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
 import static org.apache.commons.io.FilenameUtils.normalize;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
@@ -34,6 +37,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -49,6 +54,12 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
     registerAsParallelCapable();
   }
 
+  /**
+   * System property to record the classes loaded by each artifact class loader, and to load them ahead of time on subsequent
+   * starts of the artifacts.
+   */
+  public static final String CLASS_LIST_PROPERTY_KEY = "mule.classloader.classList";
+
   private static final Logger LOGGER = getLogger(MuleArtifactClassLoader.class);
 
   private static final String DEFAULT_RESOURCE_RELEASER_CLASS_LOCATION =
@@ -105,6 +116,7 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
   private final ArtifactDescriptor artifactDescriptor;
   private final Object descriptorMappingLock = new Object();
   private final Map<BundleDescriptor, URLClassLoader> descriptorMapping = new HashMap<>();
+  private final Set<String> loadedClassNames = getBoolean(CLASS_LIST_PROPERTY_KEY) ? ConcurrentHashMap.newKeySet() : null;
 
   /**
    * Constructs a new {@link MuleArtifactClassLoader} for the given URLs
@@ -267,6 +279,25 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
     return clazz;
   }
 
+  @Override
+  public Class<?> findLocalClass(String name) throws ClassNotFoundException {
+    Class<?> clazz = super.findLocalClass(name);
+    if (loadedClassNames != null) {
+      loadedClassNames.add(name);
+    }
+    return clazz;
+  }
+
+  /**
+   * Provides the names of the classes loaded by this class loader, when enabled by {@link #CLASS_LIST_PROPERTY_KEY}.
+   *
+   * @return the names of the classes defined by this class loader so far, empty if the loaded classes are not recorded.
+   * @since 4.5.0
+   */
+  public Set<String> getLoadedClassNames() {
+    return loadedClassNames == null ? emptySet() : unmodifiableSet(loadedClassNames);
+  }
+
   @Override
   public Class<?> loadInternalClass(String name) throws ClassNotFoundException {
     return loadClass(name);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static java.io.File.separatorChar;
+import static java.util.Collections.unmodifiableList;
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.slf4j.Logger;
+
+/**
+ * Index of the entries that can be found in the URLs of a {@link java.net.URLClassLoader}, used to avoid walking over every jar
+ * of the class loader when looking up a class or resource that is not there.
+ * <p>
+ * The names of the entries of the jars are read once from their central directory. Directories are not indexed since their
+ * content may change, so those are checked on each lookup. If any of the URLs can't be indexed (because it is not a local file
+ * or it references other jars through its manifest) the index is not able to discard any lookup.
+ *
+ * @since 4.5.0
+ */
+public final class ClassLoaderEntryIndex {
+
+  private static final Logger LOGGER = getLogger(ClassLoaderEntryIndex.class);
+
+  private static final char PATH_SEPARATOR = '/';
+  private static final String INDEX_LIST = "META-INF/INDEX.LIST";
+
+  private static final ClassLoaderEntryIndex UNBOUNDED = new ClassLoaderEntryIndex(null, null);
+
+  private final Set<String> jarEntries;
+  private final List<File> directories;
+
+  private ClassLoaderEntryIndex(Set<String> jarEntries, List<File> directories) {
+    this.jarEntries = jarEntries;
+    this.directories = directories;
+  }
+
+  /**
+   * Creates the index for the given URLs.
+   *
+   * @param urls the URLs of the class loader, in lookup order.
+   * @return an index for the entries in the given {@code urls}.
+   */
+  public static ClassLoaderEntryIndex create(URL[] urls) {
+    final Set<String> jarEntries = new HashSet<>();
+    final List<File> directories = new ArrayList<>();
+
+    for (URL url : urls) {
+      if (!"file".equals(url.getProtocol())) {
+        LOGGER.debug("Unable to index URL '{}', lookups won't use an index", url);
+        return UNBOUNDED;
+      }
+
+      final File file = toFile(url);
+      if (url.getPath().endsWith("/")) {
+        directories.add(file);
+      } else if (file.isFile()) {
+        if (!indexJar(file, jarEntries)) {
+          return UNBOUNDED;
+        }
+      }
+      // Otherwise the URL points to a missing jar, which the class loader ignores as well
+    }
+
+    return new ClassLoaderEntryIndex(jarEntries, unmodifiableList(directories));
+  }
+
+  private static boolean indexJar(File file, Set<String> jarEntries) {
+    try (JarFile jarFile = new JarFile(file, false)) {
+      final Manifest manifest = jarFile.getManifest();
+      if (manifest != null && manifest.getMainAttributes().getValue(CLASS_PATH) != null) {
+        LOGGER.debug("Jar '{}' references other jars in its manifest, lookups won't use an index", file);
+        return false;
+      }
+
+      final Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        final String name = entries.nextElement().getName();
+        if (INDEX_LIST.equals(name)) {
+          LOGGER.debug("Jar '{}' has a jar index, lookups won't use an index", file);
+          return false;
+        }
+        addEntry(name, jarEntries);
+      }
+      return true;
+    } catch (IOException e) {
+      LOGGER.debug("Unable to index jar '" + file + "', lookups won't use an index", e);
+      return false;
+    }
+  }
+
+  private static void addEntry(String name, Set<String> jarEntries) {
+    jarEntries.add(name);
+
+    // Not every jar has entries for its directories, but those can be looked up anyway, with or without the trailing separator
+    int separatorIndex = name.lastIndexOf(PATH_SEPARATOR, name.length() - 2);
+    while (separatorIndex > 0) {
+      final String directory = name.substring(0, separatorIndex);
+      if (!jarEntries.add(directory)) {
+        break;
+      }
+      jarEntries.add(directory + PATH_SEPARATOR);
+      separatorIndex = name.lastIndexOf(PATH_SEPARATOR, separatorIndex - 1);
+    }
+    if (name.endsWith("/")) {
+      jarEntries.add(name.substring(0, name.length() - 1));
+    }
+  }
+
+  /**
+   * @param name the name of the resource, as passed to {@link ClassLoader#getResource(String)}.
+   * @return {@code false} if the resource is certainly not in any of the URLs of the index, {@code true} otherwise.
+   */
+  public boolean mayContain(String name) {
+    if (jarEntries == null || name.isEmpty() || name.charAt(0) == PATH_SEPARATOR || name.contains("..")) {
+      return true;
+    }
+
+    if (jarEntries.contains(name)) {
+      return true;
+    }
+
+    for (File directory : directories) {
+      if (new File(directory, name.replace(PATH_SEPARATOR, separatorChar)).exists()) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+}
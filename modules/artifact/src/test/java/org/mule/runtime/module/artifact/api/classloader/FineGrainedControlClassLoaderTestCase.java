@@ -8,6 +8,8 @@ package org.mule.runtime.module.artifact.api.classloader;
 
 import static java.lang.System.lineSeparator;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.Matchers.contains;
@@ -191,6 +193,22 @@ public class FineGrainedControlClassLoaderTestCase extends AbstractMuleTestCase
     invokeTestClassMethod(ext);
   }
 
+  @Test
+  public void addedUrlIsIndexedAfterLookup() throws Exception {
+    final String testClassResource = TEST_CLASS_NAME.replace('.', '/') + ".class";
+    final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+    when(lookupPolicy.getClassLookupStrategy(TEST_CLASS_NAME)).thenReturn(CHILD_ONLY);
+    FineGrainedControlClassLoader ext =
+        new FineGrainedControlClassLoader(new URL[0], new URLClassLoader(new URL[0], null), lookupPolicy);
+
+    // The lookup creates the entry index without the URL added later
+    assertThat(ext.findResource(testClassResource), is(nullValue()));
+    ext.addURL(getChildFileResource());
+
+    assertThat(ext.findResource(testClassResource), is(notNullValue()));
+    assertEquals(EXPECTED_CHILD_MESSAGE, invokeTestClassMethod(ext));
+  }
+
   protected FineGrainedControlClassLoader buildFineGrainedControlClassLoader(ClassLoader parent,
                                                                              final ClassLoaderLookupPolicy lookupPolicy) {
     return new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy) {
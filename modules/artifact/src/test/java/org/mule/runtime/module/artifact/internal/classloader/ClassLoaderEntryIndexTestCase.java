@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.ZipUtils;
+import org.mule.tck.ZipUtils.ZipResource;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ClassLoaderEntryIndexTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File jarFile;
+
+  @Before
+  public void before() throws Exception {
+    jarFile = new File(temporaryFolder.getRoot(), "test.jar");
+    ZipUtils.compress(jarFile, new ZipResource[] {
+        new ZipResource("EchoTest.clazz", "org/foo/Foo.class"),
+        new ZipResource("EchoTest.clazz", "META-INF/services/org.foo.Service")
+    });
+  }
+
+  @Test
+  public void jarEntries() throws Exception {
+    ClassLoaderEntryIndex index = ClassLoaderEntryIndex.create(new URL[] {jarFile.toURI().toURL()});
+
+    assertThat(index.mayContain("org/foo/Foo.class"), is(true));
+    assertThat(index.mayContain("META-INF/services/org.foo.Service"), is(true));
+    assertThat(index.mayContain("org/foo/Bar.class"), is(false));
+    assertThat(index.mayContain("META-INF/services/org.bar.Service"), is(false));
+  }
+
+  @Test
+  public void jarDirectoriesWithoutEntries() throws Exception {
+    ClassLoaderEntryIndex index = ClassLoaderEntryIndex.create(new URL[] {jarFile.toURI().toURL()});
+
+    assertThat(index.mayContain("org"), is(true));
+    assertThat(index.mayContain("org/foo"), is(true));
+    assertThat(index.mayContain("org/foo/"), is(true));
+    assertThat(index.mayContain("org/bar/"), is(false));
+  }
+
+  @Test
+  public void directoryContentIsCheckedOnLookup() throws Exception {
+    File directory = temporaryFolder.newFolder("classes");
+    ClassLoaderEntryIndex index =
+        ClassLoaderEntryIndex.create(new URL[] {jarFile.toURI().toURL(), directory.toURI().toURL()});
+
+    assertThat(index.mayContain("org/bar/Bar.class"), is(false));
+    writeStringToFile(new File(directory, "org/bar/Bar.class"), "bar");
+    assertThat(index.mayContain("org/bar/Bar.class"), is(true));
+  }
+
+  @Test
+  public void missingJarIsIgnored() throws Exception {
+    ClassLoaderEntryIndex index =
+        ClassLoaderEntryIndex.create(new URL[] {new File(temporaryFolder.getRoot(), "missing.jar").toURI().toURL()});
+
+    assertThat(index.mayContain("org/foo/Foo.class"), is(false));
+  }
+
+  @Test
+  public void nonFileUrlDisablesIndex() throws Exception {
+    ClassLoaderEntryIndex index =
+        ClassLoaderEntryIndex.create(new URL[] {jarFile.toURI().toURL(), new URL("http://localhost/lib.jar")});
+
+    assertThat(index.mayContain("org/bar/Bar.class"), is(true));
+  }
+
+  @Test
+  public void relativeNamesAreNotDiscarded() throws Exception {
+    ClassLoaderEntryIndex index = ClassLoaderEntryIndex.create(new URL[] {jarFile.toURI().toURL()});
+
+    assertThat(index.mayContain("/org/bar/Bar.class"), is(true));
+    assertThat(index.mayContain("org/foo/../bar/Bar.class"), is(true));
+  }
+}
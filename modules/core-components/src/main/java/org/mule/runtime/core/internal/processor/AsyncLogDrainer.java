@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor;
+
+import static java.lang.Thread.currentThread;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Runs the logging of a {@link LoggerMessageProcessor} in a {@link Scheduler}, so that the I/O done by the appenders does not add
+ * latency to the flow.
+ * <p>
+ * Pending log entries are kept in a bounded buffer, drained in batches by a single task at a time, so entries are logged in the
+ * same order they were submitted. What happens when the buffer is full is determined by the {@link OverflowPolicy}.
+ * <p>
+ * Once disposed, the entries still submitted are logged in the calling thread.
+ *
+ * @since 4.5.0
+ */
+final class AsyncLogDrainer {
+
+  private static final Logger LOGGER = getLogger(AsyncLogDrainer.class);
+
+  private static final int BATCH_SIZE = 64;
+
+  /**
+   * What to do with the entries submitted while the buffer is full.
+   */
+  enum OverflowPolicy {
+    /**
+     * The entry is not logged.
+     */
+    DROP,
+
+    /**
+     * The thread submitting the entry waits until there is room in the buffer.
+     */
+    BLOCK
+  }
+
+  private final Scheduler scheduler;
+  private final OverflowPolicy overflowPolicy;
+  private final BlockingQueue<Runnable> entries;
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+  private final AtomicLong dropped = new AtomicLong();
+  private final Object drainLock = new Object();
+  private volatile boolean disposed;
+
+  AsyncLogDrainer(Scheduler scheduler, int bufferSize, OverflowPolicy overflowPolicy) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Buffer size must be positive");
+    }
+    this.scheduler = scheduler;
+    this.overflowPolicy = overflowPolicy;
+    this.entries = new ArrayBlockingQueue<>(bufferSize);
+  }
+
+  /**
+   * Submits a log entry to be run in the scheduler.
+   *
+   * @param entry the logging to run.
+   */
+  void submit(Runnable entry) {
+    if (!enqueue(entry)) {
+      if (dropped.getAndIncrement() == 0) {
+        LOGGER.warn("Logger buffer is full, log entries are being dropped");
+      }
+      return;
+    }
+
+    if (disposed) {
+      // Nothing drains the buffer in the background anymore
+      drainPending();
+      return;
+    }
+
+    if (drainScheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.submit(this::drain);
+      } catch (RejectedExecutionException e) {
+        // The scheduler is being stopped, the entries are logged when disposing
+        drainScheduled.set(false);
+      }
+    }
+  }
+
+  private boolean enqueue(Runnable entry) {
+    if (overflowPolicy == OverflowPolicy.BLOCK) {
+      try {
+        entries.put(entry);
+        return true;
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        return false;
+      }
+    }
+    return entries.offer(entry);
+  }
+
+  private void drain() {
+    try {
+      synchronized (drainLock) {
+        drainBatch();
+      }
+    } finally {
+      drainScheduled.set(false);
+    }
+
+    // Entries added while the batch was being logged are logged in a new task, letting others run meanwhile
+    if (!entries.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.submit(this::drain);
+      } catch (RejectedExecutionException e) {
+        drainScheduled.set(false);
+      }
+    }
+  }
+
+  private void drainPending() {
+    synchronized (drainLock) {
+      while (!entries.isEmpty()) {
+        drainBatch();
+      }
+    }
+  }
+
+  private void drainBatch() {
+    final List<Runnable> batch = new ArrayList<>(BATCH_SIZE);
+    entries.drainTo(batch, BATCH_SIZE);
+    for (Runnable entry : batch) {
+      try {
+        entry.run();
+      } catch (Throwable t) {
+        LOGGER.warn("Could not log entry: " + t.getMessage(), t);
+      }
+    }
+  }
+
+  /**
+   * @return the amount of entries that were not logged because the buffer was full.
+   */
+  long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops the scheduler and logs the pending entries in the calling thread, once the batch being logged in the scheduler, if
+   * any, is done.
+   */
+  void dispose() {
+    disposed = true;
+    scheduler.stop();
+    drainPending();
+  }
+}
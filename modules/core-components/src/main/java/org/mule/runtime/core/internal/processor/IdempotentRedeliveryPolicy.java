@@ -8,21 +8,30 @@ package org.mule.runtime.core.internal.processor;
 
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
+import static java.lang.Thread.currentThread;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.initialisationFailure;
+import static org.mule.runtime.core.api.functional.Either.left;
+import static org.mule.runtime.core.api.functional.Either.right;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.rx.Exceptions.checkedFunction;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
+import static org.mule.runtime.core.internal.util.rx.Operators.nullSafeMap;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.WITHIN_PROCESS_TO_APPLY;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Mono.error;
+import static reactor.core.publisher.Mono.just;
 
 import org.mule.api.annotation.NoExtend;
+import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.el.ExpressionLanguageSession;
 import org.mule.runtime.api.exception.MuleException;
@@ -37,8 +46,11 @@ import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.execution.ExceptionContextProvider;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
+import org.mule.runtime.core.api.functional.Either;
 import org.mule.runtime.core.api.transaction.TransactionCoordination;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.lock.AsyncLockFactory;
+import org.mule.runtime.core.internal.lock.LockToken;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
@@ -48,7 +60,11 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Supplier;
@@ -56,6 +72,7 @@ import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 
 import reactor.core.publisher.Mono;
@@ -93,6 +110,8 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   private Collection<ExceptionContextProvider> exceptionContextProviders;
 
   private LockFactory lockFactory;
+  private AsyncLockFactory asyncLockFactory;
+  private boolean asyncLockSupported;
   private ObjectStoreManager objectStoreManager;
   private ExpressionManager expressionManager;
 
@@ -104,6 +123,9 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   private ObjectStore<RedeliveryCounter> privateStore;
   private String idrId;
 
+  // The root event context holding each of the async locks, so that a flow re-entering itself with the same message doesn't wait
+  // for the lock it already holds, as the reentrant blocking locks allow.
+  private final Map<String, String> asyncLockOwners = new ConcurrentHashMap<>();
 
   /**
    * Holds information about the redelivery failures.
@@ -121,6 +143,7 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
 
   @Override
   public void initialise() throws InitialisationException {
+    asyncLockSupported = asyncLockFactory != null && asyncLockFactory.isAsyncLockSupported();
     super.initialise();
     initialiseExpression();
     initialiseStore();
@@ -218,10 +241,119 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
     stopIfNeeded(store);
   }
 
+  @Override
+  public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+    if (!asyncLockSupported) {
+      return from(publisher).handle(nullSafeMap(checkedFunction(this::process)));
+    }
+
+    // A transaction is bound to the thread, so its processing can't be moved to another one
+    return from(publisher).flatMap(event -> isTransactionActive()
+        ? just(event).handle(nullSafeMap(checkedFunction(this::process)))
+        : processNonBlocking(event));
+  }
+
   @Override
   public CoreEvent process(CoreEvent event) throws MuleException {
-    Optional<Exception> exceptionSeen = empty();
+    Either<Exception, String> resolvedId = resolveMessageId(event);
+    String messageId = resolvedId.isRight() ? resolvedId.getRight() : null;
 
+    Runnable unlock = lock(getLockId(messageId), getLockOwner(event));
+    try {
+      checkRedeliveries(messageId, resolvedId);
+
+      try {
+        CoreEvent returnEvent =
+            processToApply(event, nestedChain, false, Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher()));
+        RedeliveryCounter counter = findCounter(messageId);
+        if (counter != null) {
+          resetCounter(messageId);
+        }
+        return returnEvent;
+      } catch (MessagingException ex) {
+        incrementCounter(messageId, ex);
+        throw ex;
+      } catch (Exception ex) {
+        incrementCounter(messageId, createMessagingException(event, ex));
+        throw ex;
+      }
+    } finally {
+      unlock.run();
+    }
+  }
+
+  /**
+   * Same as {@link #process(CoreEvent)}, but the lock for the message is acquired through an {@link AsyncLockFactory}, so that
+   * neither waiting for it nor the processing of the nested chain block the current thread.
+   */
+  private Publisher<CoreEvent> processNonBlocking(CoreEvent event) {
+    final Either<Exception, String> resolvedId;
+    try {
+      resolvedId = resolveMessageId(event);
+    } catch (ExpressionRuntimeException e) {
+      return error(createMessagingException(event, e));
+    }
+    final String messageId = resolvedId.isRight() ? resolvedId.getRight() : null;
+
+    final String lockId = getLockId(messageId);
+    final String lockOwner = getLockOwner(event);
+    if (isAsyncLockHeldBy(lockId, lockOwner)) {
+      return processWithLock(event, messageId, resolvedId);
+    }
+
+    final CompletableFuture<LockToken> lockAcquisition = asyncLockFactory.acquireAsync(lockId);
+    return Mono.fromFuture(lockAcquisition)
+        .doOnCancel(() -> {
+          if (!lockAcquisition.cancel(false)) {
+            lockAcquisition.thenAccept(LockToken::release);
+          }
+        })
+        .flatMap(lockToken -> {
+          final Runnable unlock = ownAsyncLock(lockId, lockOwner, lockToken);
+          return Mono.<CoreEvent>defer(() -> processWithLock(event, messageId, resolvedId))
+              .doFinally(signal -> unlock.run());
+        });
+  }
+
+  private Mono<CoreEvent> processWithLock(CoreEvent event, String messageId, Either<Exception, String> resolvedId) {
+    try {
+      checkRedeliveries(messageId, resolvedId);
+    } catch (MuleException e) {
+      return error(createMessagingException(event, e));
+    }
+
+    return just(event)
+        .transform(nestedChain)
+        .switchIfEmpty(Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher()))
+        .subscriberContext(ctx -> ctx.put(WITHIN_PROCESS_TO_APPLY, true))
+        .<CoreEvent>handle((returnEvent, sink) -> {
+          try {
+            if (findCounter(messageId) != null) {
+              resetCounter(messageId);
+            }
+            sink.next(returnEvent);
+          } catch (ObjectStoreException e) {
+            sink.error(createMessagingException(event, e));
+          }
+        })
+        .onErrorResume(ex -> {
+          // Errors in the reactive chain must be MessagingExceptions for the error handlers
+          final MessagingException messagingException =
+              ex instanceof MessagingException ? (MessagingException) ex : createMessagingException(event, ex);
+          try {
+            incrementCounter(messageId, messagingException);
+          } catch (ObjectStoreException e) {
+            return error(createMessagingException(event, e));
+          }
+          return error(messagingException);
+        });
+  }
+
+  /**
+   * @return the id of the message in the event, or the exception found trying to evaluate it
+   * @throws ExpressionRuntimeException if the message can't be processed at all
+   */
+  private Either<Exception, String> resolveMessageId(CoreEvent event) {
     String messageId = null;
     try {
       messageId = getIdForEvent(event);
@@ -236,44 +368,82 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
 
       throw new ExpressionRuntimeException(createStaticMessage(EXPRESSION_RUNTIME_EXCEPTION_ERROR_MSG), e);
     } catch (Exception ex) {
-      exceptionSeen = of(ex);
+      return left(ex);
     }
 
-    if (messageId == null && !exceptionSeen.isPresent()) {
+    if (messageId == null) {
       // The current transaction needs to be committed, so it's not rolled back, what would cause an infinite loop.
       TransactionCoordination.getInstance().commitCurrentTransaction();
 
       throw new ExpressionRuntimeException(createStaticMessage(BLANK_MESSAGE_ID_ERROR_MSG));
     }
 
-    Lock lock = lockFactory.createLock(idrId + "-" + messageId);
-    lock.lock();
-    try {
+    return right(messageId);
+  }
 
-      RedeliveryCounter counter = findCounter(messageId);
-      if (exceptionSeen.isPresent()) {
-        throw new MessageRedeliveredException(messageId, counter.counter.get(), maxRedeliveryCount, exceptionSeen.get());
-      } else if (counter != null && counter.counter.get() > maxRedeliveryCount) {
-        throw new MessageRedeliveredException(messageId, counter.errors, counter.counter.get(), maxRedeliveryCount);
-      }
+  private void checkRedeliveries(String messageId, Either<Exception, String> resolvedId) throws MuleException {
+    RedeliveryCounter counter = findCounter(messageId);
+    if (resolvedId.isLeft()) {
+      throw new MessageRedeliveredException(messageId, counter.counter.get(), maxRedeliveryCount, resolvedId.getLeft());
+    } else if (counter != null && counter.counter.get() > maxRedeliveryCount) {
+      throw new MessageRedeliveredException(messageId, counter.errors, counter.counter.get(), maxRedeliveryCount);
+    }
+  }
 
-      try {
-        CoreEvent returnEvent =
-            processToApply(event, nestedChain, false, Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher()));
-        counter = findCounter(messageId);
-        if (counter != null) {
-          resetCounter(messageId);
-        }
-        return returnEvent;
-      } catch (MessagingException ex) {
-        incrementCounter(messageId, ex);
-        throw ex;
-      } catch (Exception ex) {
-        incrementCounter(messageId, createMessagingException(event, ex));
-        throw ex;
+  private String getLockId(String messageId) {
+    return idrId + "-" + messageId;
+  }
+
+  private String getLockOwner(CoreEvent event) {
+    return ((BaseEventContext) event.getContext()).getRootContext().getId();
+  }
+
+  private boolean isAsyncLockHeldBy(String lockId, String lockOwner) {
+    return lockOwner.equals(asyncLockOwners.get(lockId));
+  }
+
+  /**
+   * Records the owner of an acquired async lock.
+   *
+   * @return the action that releases the lock
+   */
+  private Runnable ownAsyncLock(String lockId, String lockOwner, LockToken lockToken) {
+    asyncLockOwners.put(lockId, lockOwner);
+    return () -> {
+      asyncLockOwners.remove(lockId, lockOwner);
+      lockToken.release();
+    };
+  }
+
+  /**
+   * Acquires the lock with the given id, blocking the current thread until it is available.
+   *
+   * @return the action that releases the acquired lock
+   */
+  private Runnable lock(String lockId, String lockOwner) throws MuleException {
+    if (!asyncLockSupported) {
+      Lock lock = lockFactory.createLock(lockId);
+      lock.lock();
+      return lock::unlock;
+    }
+
+    // Also the async locks when these are used, since both kinds of locks don't exclude each other
+    if (isAsyncLockHeldBy(lockId, lockOwner)) {
+      return () -> {
+      };
+    }
+
+    CompletableFuture<LockToken> lockAcquisition = asyncLockFactory.acquireAsync(lockId);
+    try {
+      return ownAsyncLock(lockId, lockOwner, lockAcquisition.get());
+    } catch (InterruptedException e) {
+      if (!lockAcquisition.cancel(false)) {
+        lockAcquisition.thenAccept(LockToken::release);
       }
-    } finally {
-      lock.unlock();
+      currentThread().interrupt();
+      throw new DefaultMuleException(createStaticMessage("Interrupted while waiting for lock " + lockId), e);
+    } catch (ExecutionException | CancellationException e) {
+      throw new DefaultMuleException(createStaticMessage("Could not acquire lock " + lockId), e);
     }
   }
 
@@ -281,6 +451,7 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   public ProcessingType getProcessingType() {
     // This is because the execution of the flow happens with a lock taken, and if the thread is changed because of a non-blocking
     // execution, the lock cannot be released (reentrant locks can only be released in the same thread that acquired it).
+    // Async locks are not bound to a thread, but the redelivery counters are still kept in an object store, which may block.
     return BLOCKING;
   }
 
@@ -355,6 +526,7 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   @Inject
   public void setLockFactory(LockFactory lockFactory) {
     this.lockFactory = lockFactory;
+    this.asyncLockFactory = lockFactory instanceof AsyncLockFactory ? (AsyncLockFactory) lockFactory : null;
   }
 
   @Inject
@@ -6,39 +6,75 @@
  */
 package org.mule.runtime.core.internal.processor;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOGGING_BLOCKING_CATEGORIES;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.util.StringUtils.EMPTY;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.el.CompiledLogTemplate;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.util.StringUtils;
+import org.mule.runtime.core.internal.processor.AsyncLogDrainer.OverflowPolicy;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Level;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 /**
  * MessageProcessor implementation that logs the current element of a value evaluated from it using an expression evaluator. By
  * default the current messages is logged using the {@link Level#INFO} level to the
  * 'org.mule.runtime.core.internal.processor.LoggerMessageProcessor' category. The level and category can both be configured to
  * suit your needs.
+ * <p>
+ * When {@link #setAsync(boolean) async}, the message is still evaluated in the flow thread, but it is logged in a background
+ * scheduler. The logging context of the flow thread (its context classloader and MDC) is kept for it.
  */
 public class LoggerMessageProcessor extends AbstractComponent
-    implements HasParamsAsTemplateProcessor, Processor, Initialisable, MuleContextAware {
+    implements HasParamsAsTemplateProcessor, Processor, Initialisable, Disposable, MuleContextAware {
+
+  /**
+   * Property used to log the messages of the loggers that don't set {@link #setAsync(boolean) async} in a background scheduler,
+   * so that the I/O done by the appenders does not add latency to the flows.
+   */
+  public static final String ASYNC_LOGGING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "logger.async";
+
+  /**
+   * Property to set the maximum amount of messages of each logger waiting to be logged in the background. Defaults to
+   * {@link #DEFAULT_ASYNC_LOGGING_BUFFER_SIZE}.
+   */
+  public static final String ASYNC_LOGGING_BUFFER_SIZE_PROPERTY = ASYNC_LOGGING_PROPERTY + ".bufferSize";
+
+  /**
+   * Property to set what to do with a message when there are already {@link #ASYNC_LOGGING_BUFFER_SIZE_PROPERTY} messages waiting
+   * to be logged: {@code DROP} it or {@code BLOCK} the flow until there is room for it. Defaults to {@code DROP}. Since the flow
+   * may have to wait with {@code BLOCK}, the loggers are executed as {@link ProcessingType#BLOCKING} with it.
+   */
+  public static final String ASYNC_LOGGING_OVERFLOW_POLICY_PROPERTY = ASYNC_LOGGING_PROPERTY + ".overflowPolicy";
+
+  public static final int DEFAULT_ASYNC_LOGGING_BUFFER_SIZE = 1024;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoggerMessageProcessor.class);
 
   // TODO - MULE-16446: Logger execution type should be defined according to the appender used
   private static final String BLOCKING_CATEGORIES_PROPERTY = System.getProperty(MULE_LOGGING_BLOCKING_CATEGORIES, "");
@@ -50,17 +86,53 @@ public class LoggerMessageProcessor extends AbstractComponent
   protected String message;
   protected String category;
   protected String level = "INFO";
+  private Boolean async;
 
   protected MuleContext muleContext;
   ExtendedExpressionManager expressionManager;
 
   private volatile ProcessingType processingType;
+  private CompiledLogTemplate compiledMessage;
+  private AsyncLogDrainer asyncLogDrainer;
 
   @Override
   public void initialise() throws InitialisationException {
     initLogger();
-    initProcessingTypeIfPossible();
     expressionManager = muleContext.getExpressionManager();
+    initCompiledMessage();
+    if (async != null ? async : getBoolean(ASYNC_LOGGING_PROPERTY)) {
+      final OverflowPolicy overflowPolicy =
+          OverflowPolicy.valueOf(getProperty(ASYNC_LOGGING_OVERFLOW_POLICY_PROPERTY, OverflowPolicy.DROP.name()).toUpperCase());
+      asyncLogDrainer = new AsyncLogDrainer(muleContext.getSchedulerService().ioScheduler(),
+                                            getInteger(ASYNC_LOGGING_BUFFER_SIZE_PROPERTY, DEFAULT_ASYNC_LOGGING_BUFFER_SIZE),
+                                            overflowPolicy);
+      // The flow thread no longer does the appenders I/O, but it may wait for room in the buffer
+      processingType = overflowPolicy == OverflowPolicy.BLOCK ? BLOCKING : CPU_LITE;
+    } else {
+      initProcessingTypeIfPossible();
+    }
+  }
+
+  private void initCompiledMessage() {
+    if (StringUtils.isEmpty(message)) {
+      return;
+    }
+
+    try {
+      compiledMessage = expressionManager.compileLogTemplate(message);
+    } catch (IllegalArgumentException e) {
+      // Keep failing when the message is logged, as it is done for messages that are not compiled
+      LOGGER.debug("Message of '{}' could not be compiled: {}", getLocation(), e.getMessage());
+      compiledMessage = null;
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (asyncLogDrainer != null) {
+      // Kept, so that messages logged after disposing are logged by the calling thread
+      asyncLogDrainer.dispose();
+    }
   }
 
   protected void initLogger() {
@@ -111,19 +183,71 @@ public class LoggerMessageProcessor extends AbstractComponent
       } else {
         LogLevel logLevel = LogLevel.valueOf(level);
         if (LogLevel.valueOf(level).isEnabled(logger)) {
-          logLevel.log(logger, expressionManager.parseLogTemplate(message, event, getLocation(), NULL_BINDING_CONTEXT));
+          if (asyncLogDrainer != null) {
+            logAsync(logLevel, parseMessage(event));
+          } else {
+            logLevel.log(logger, parseMessage(event));
+          }
         }
       }
     }
   }
 
+  private String parseMessage(CoreEvent event) {
+    if (compiledMessage != null) {
+      return expressionManager.parseLogTemplate(compiledMessage, event, getLocation(), NULL_BINDING_CONTEXT);
+    } else {
+      return expressionManager.parseLogTemplate(message, event, getLocation(), NULL_BINDING_CONTEXT);
+    }
+  }
+
+  private void logAsync(LogLevel logLevel, String message) {
+    // The message is evaluated by the caller, since by the time it is logged the payload of the event may have been consumed,
+    // closed or changed
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    asyncLogDrainer.submit(() -> {
+      final Thread thread = currentThread();
+      final ClassLoader originalClassLoader = thread.getContextClassLoader();
+      final Map<String, String> originalMdc = MDC.getCopyOfContextMap();
+      thread.setContextClassLoader(contextClassLoader);
+      setMdc(mdc);
+      try {
+        logLevel.log(logger, message);
+      } finally {
+        setMdc(originalMdc);
+        thread.setContextClassLoader(originalClassLoader);
+      }
+    });
+  }
+
+  private void setMdc(Map<String, String> mdc) {
+    if (mdc == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(mdc);
+    }
+  }
+
   protected void logWithLevel(Object object) {
     LogLevel logLevel = LogLevel.valueOf(level);
     if (logLevel.isEnabled(logger)) {
-      logLevel.log(logger, object);
+      if (asyncLogDrainer != null && object != null) {
+        logAsync(logLevel, object.toString());
+      } else {
+        logLevel.log(logger, object);
+      }
     }
   }
 
+  /**
+   * @return the amount of messages not logged because there were too many waiting to be logged in the background.
+   */
+  public long getDroppedAsyncLogMessages() {
+    return asyncLogDrainer != null ? asyncLogDrainer.getDropped() : 0;
+  }
+
   @Override
   public void setMuleContext(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -141,6 +265,14 @@ public class LoggerMessageProcessor extends AbstractComponent
     this.level = level.toUpperCase();
   }
 
+  /**
+   * @param async whether the message is logged in a background scheduler. Defaults to the value of
+   *              {@link #ASYNC_LOGGING_PROPERTY}.
+   */
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
   public enum LogLevel {
 
     ERROR {
@@ -22,10 +22,13 @@ import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.isSaniti
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.sanitize;
 import static org.mule.runtime.core.internal.util.rx.Operators.outputToTarget;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.core.api.el.CompiledLogTemplate;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.util.IOUtils;
@@ -39,12 +42,16 @@ import java.nio.charset.Charset;
 import javax.activation.MimetypesFileTypeMap;
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+
 
 /**
  * Loads a template and parses its content to resolve expressions.
  */
 public class ParseTemplateProcessor extends SimpleMessageProcessor implements HasParamsAsTemplateProcessor {
 
+  private static final Logger LOGGER = getLogger(ParseTemplateProcessor.class);
+
   private static final MimetypesFileTypeMap mimetypesFileTypeMap = new MimetypesFileTypeMap();
   private static final Boolean KEEP_TYPE_TARGET_AND_TARGET_VAR =
       new Boolean(getProperty(SYSTEM_PROPERTY_PREFIX + "parse.template.keep.target.var.type", "true"));
@@ -58,6 +65,7 @@ public class ParseTemplateProcessor extends SimpleMessageProcessor implements Ha
   private String location;
   private String targetValue;
   private CompiledExpression targetValueExpression;
+  private CompiledLogTemplate compiledTemplate;
 
   @Override
   public void initialise() throws InitialisationException {
@@ -80,6 +88,14 @@ public class ParseTemplateProcessor extends SimpleMessageProcessor implements Ha
     if (targetValue != null) {
       targetValueExpression = compile(targetValue, expressionManager);
     }
+
+    try {
+      compiledTemplate = expressionManager.compileLogTemplate(content);
+    } catch (IllegalArgumentException e) {
+      // Keep failing when the template is parsed, as it is done for templates that are not compiled
+      LOGGER.debug("Template of '{}' could not be compiled: {}", getLocation(), e.getMessage());
+      compiledTemplate = null;
+    }
   }
 
   private void loadContentFromLocation() throws InitialisationException {
@@ -132,7 +148,9 @@ public class ParseTemplateProcessor extends SimpleMessageProcessor implements Ha
   public CoreEvent process(CoreEvent event) {
     evaluateCorrectArguments();
 
-    String result = expressionManager.parseLogTemplate(content, event, getLocation(), NULL_BINDING_CONTEXT);
+    String result = compiledTemplate != null
+        ? expressionManager.parseLogTemplate(compiledTemplate, event, getLocation(), NULL_BINDING_CONTEXT)
+        : expressionManager.parseLogTemplate(content, event, getLocation(), NULL_BINDING_CONTEXT);
     Message.Builder messageBuilder = Message.builder(event.getMessage()).value(result).nullAttributesValue();
     MediaType configuredMediaType = buildMediaType();
     if (configuredMediaType != null) {
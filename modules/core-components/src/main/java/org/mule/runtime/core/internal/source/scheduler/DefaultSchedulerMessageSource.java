@@ -37,6 +37,8 @@ import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
 import org.mule.runtime.core.internal.execution.MessageProcessContext;
 import org.mule.runtime.core.internal.execution.MessageProcessingManager;
 import org.mule.runtime.core.internal.management.stats.CursorDecoratorFactory;
+import org.mule.runtime.core.internal.source.scheduler.SchedulerSourceStatistics;
+import org.mule.runtime.core.internal.source.scheduler.SchedulerSourceTimer;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 
@@ -65,6 +67,7 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
 
   private final PeriodicScheduler scheduler;
   private final boolean disallowConcurrentExecution;
+  private final SchedulerSourceStatistics statistics = new SchedulerSourceStatistics();
 
   private Scheduler pollingExecutor;
   private ScheduledFuture<?> schedulingJob;
@@ -107,8 +110,15 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     }
     try {
       // The initialization phase if handled by the scheduler
-      schedulingJob =
-          withContextClassLoader(muleContext.getExecutionClassLoader(), () -> scheduler.schedule(pollingExecutor, () -> run()));
+      final SchedulerSourceTimer sharedTimer = SchedulerSourceTimer.getSharedTimer();
+      if (sharedTimer != null) {
+        schedulingJob = withContextClassLoader(muleContext.getExecutionClassLoader(),
+                                               () -> sharedTimer.schedule(scheduler, pollingExecutor, () -> run(),
+                                                                          getLocation().getLocation(), statistics));
+      } else {
+        schedulingJob = withContextClassLoader(muleContext.getExecutionClassLoader(),
+                                               () -> scheduler.schedule(pollingExecutor, () -> run()));
+      }
       this.started = true;
     } catch (Exception ex) {
       this.stop();
@@ -144,6 +154,13 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     return scheduler;
   }
 
+  /**
+   * @return the statistics of the executions of this source.
+   */
+  public SchedulerSourceStatistics getStatistics() {
+    return statistics;
+  }
+
   /**
    * Checks whether polling should take place on this instance.
    */
@@ -173,6 +190,7 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     if (execute) {
       doPoll();
     } else {
+      statistics.skipped();
       LOGGER.info("Flow '{}' is already running and 'disallowConcurrentExecution' is set to 'true'. Execution skipped.",
                   getLocation().getRootContainerName());
     }
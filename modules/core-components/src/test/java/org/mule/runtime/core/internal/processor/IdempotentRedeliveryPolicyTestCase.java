@@ -10,10 +10,13 @@ import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableMap;
+import static java.time.Duration.ofSeconds;
 import static java.util.Optional.of;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
@@ -23,6 +26,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
@@ -36,6 +40,7 @@ import static org.mule.test.allure.AllureConstants.SourcesFeature.SOURCES;
 import static org.mule.test.allure.AllureConstants.SourcesFeature.SourcesStories.REDELIVERY;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.just;
 
 import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.exception.MuleException;
@@ -58,6 +63,7 @@ import org.mule.runtime.core.internal.lock.MuleLockFactory;
 import org.mule.runtime.core.internal.lock.SingleServerLockProvider;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.runtime.core.internal.processor.IdempotentRedeliveryPolicy.RedeliveryCounter;
+import org.mule.runtime.core.privileged.exception.MessageRedeliveredException;
 import org.mule.tck.SerializationTestUtils;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
@@ -79,6 +85,7 @@ import org.junit.rules.ExpectedException;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
 
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
 @Feature(SOURCES)
@@ -238,6 +245,115 @@ public class IdempotentRedeliveryPolicyTestCase extends AbstractMuleContextTestC
         .disposeStore(TEST_CONNECTOR_LOCATION.getRootContainerName() + "." + IdempotentRedeliveryPolicy.class.getName());
   }
 
+  @Test
+  public void nonBlockingMessageDigestFailure() throws Exception {
+    when(expressionManager.openSession(any())).thenThrow(new ExpressionRuntimeException(createStaticMessage("mock")));
+    when(message.getPayload()).thenReturn(new TypedValue<>(new Object(), OBJECT));
+    irp.initialise();
+
+    Throwable failure = applyUntilFailure();
+    assertThat(failure, instanceOf(MessagingException.class));
+    assertThat(failure.getCause(), instanceOf(ExpressionRuntimeException.class));
+  }
+
+  @Test
+  public void nonBlockingMessageRedelivery() throws Exception {
+    mockSha256();
+
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    irp.initialise();
+
+    Throwable failure = null;
+    for (int i = 0; i < MAX_REDELIVERY_COUNT + 1; i++) {
+      failure = applyUntilFailure();
+      assertThat(failure, instanceOf(MessagingException.class));
+    }
+    assertThat(count.get(), equalTo(MAX_REDELIVERY_COUNT + 1));
+
+    // The redeliveries are exceeded and the nested chain is no longer executed
+    failure = applyUntilFailure();
+    assertThat(failure, instanceOf(MessagingException.class));
+    assertThat(failure.getCause(), instanceOf(MessageRedeliveredException.class));
+    assertThat(count.get(), equalTo(MAX_REDELIVERY_COUNT + 1));
+  }
+
+  @Test
+  public void nonBlockingObjectStoreFailure() throws Exception {
+    mockSha256();
+
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    when(mockObjectStore.contains(anyString())).thenThrow(new ObjectStoreException(createStaticMessage("Expected")));
+    irp.setObjectStore(mockObjectStore);
+    irp.initialise();
+
+    Throwable failure = applyUntilFailure();
+    assertThat(failure, instanceOf(MessagingException.class));
+    assertThat(failure.getCause(), instanceOf(ObjectStoreException.class));
+
+    // The lock is released after the failure, so the next event is not left waiting for it
+    failure = applyUntilFailure();
+    assertThat(failure, instanceOf(MessagingException.class));
+    verify(mockObjectStore, times(2)).contains(anyString());
+    assertThat(count.get(), equalTo(0));
+  }
+
+  @Test
+  public void reentrantProcessing() throws Exception {
+    mockSha256();
+
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    irp.setMessageProcessors(singletonList(new Processor() {
+
+      @Override
+      public CoreEvent process(CoreEvent event) throws MuleException {
+        // The flow re-enters itself with the same message, while the lock for it is held
+        return count.getAndIncrement() == 0 ? irp.process(event) : event;
+      }
+    }));
+    irp.initialise();
+
+    ExecuteIrpThread irpExecutionThread = new ExecuteIrpThread();
+    irpExecutionThread.start();
+    irpExecutionThread.join(5000);
+
+    assertThat(irpExecutionThread.isAlive(), equalTo(false));
+    assertThat(irpExecutionThread.exception, nullValue());
+    assertThat(count.get(), equalTo(2));
+  }
+
+  @Test
+  public void nonBlockingReentrantProcessing() throws Exception {
+    mockSha256();
+
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    irp.setMessageProcessors(singletonList(new Processor() {
+
+      @Override
+      public CoreEvent process(CoreEvent event) {
+        return event;
+      }
+
+      @Override
+      public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+        // The flow re-enters itself with the same message, while the lock for it is held
+        return from(publisher).flatMap(event -> count.getAndIncrement() == 0 ? from(irp.apply(just(event))) : just(event));
+      }
+    }));
+    irp.initialise();
+
+    assertThat(Mono.from(irp.apply(just(event))).block(ofSeconds(5)), notNullValue());
+    assertThat(count.get(), equalTo(2));
+  }
+
+  private Throwable applyUntilFailure() {
+    try {
+      Mono.from(irp.apply(Mono.just(event))).block();
+    } catch (Throwable t) {
+      return Exceptions.unwrap(t);
+    }
+    throw new AssertionError("Processing did not fail");
+  }
+
   private void processUntilFailure() {
     for (int i = 0; i < MAX_REDELIVERY_COUNT + 2; i++) {
       try {
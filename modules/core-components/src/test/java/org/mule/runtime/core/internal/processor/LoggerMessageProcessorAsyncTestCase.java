@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor;
+
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.internal.processor.LoggerMessageProcessor.ASYNC_LOGGING_BUFFER_SIZE_PROPERTY;
+import static org.mule.runtime.core.internal.processor.LoggerMessageProcessor.ASYNC_LOGGING_OVERFLOW_POLICY_PROPERTY;
+import static org.mule.runtime.core.internal.processor.LoggerMessageProcessor.ASYNC_LOGGING_PROPERTY;
+import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.CORE_COMPONENTS;
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.LoggerStory.LOGGER;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.el.ExtendedExpressionManager;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.slf4j.Logger;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(CORE_COMPONENTS)
+@Story(LOGGER)
+public class LoggerMessageProcessorAsyncTestCase extends AbstractMuleTestCase {
+
+  private static final long PROBER_TIMEOUT = 5000;
+  private static final long PROBER_INTERVAL = 50;
+
+  @Rule
+  public SystemProperty asyncLogging = new SystemProperty(ASYNC_LOGGING_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty bufferSize = new SystemProperty(ASYNC_LOGGING_BUFFER_SIZE_PROPERTY, "1");
+
+  private final ExtendedExpressionManager expressionManager = mock(ExtendedExpressionManager.class);
+  private final CoreEvent event = mock(CoreEvent.class);
+  private final Logger logger = mock(Logger.class);
+  private MuleContext muleContext;
+  private LoggerMessageProcessor loggerMessageProcessor;
+
+  @Before
+  public void before() throws MuleException {
+    muleContext = mockContextWithServices();
+    when(muleContext.getExpressionManager()).thenReturn(expressionManager);
+    when(logger.isInfoEnabled()).thenReturn(true);
+
+    loggerMessageProcessor = createLoggerMessageProcessor(null);
+  }
+
+  private LoggerMessageProcessor createLoggerMessageProcessor(Boolean async) throws MuleException {
+    LoggerMessageProcessor loggerMessageProcessor = new LoggerMessageProcessor();
+    loggerMessageProcessor.setAnnotations(singletonMap(LOCATION_KEY, TEST_CONNECTOR_LOCATION));
+    loggerMessageProcessor.setMuleContext(muleContext);
+    loggerMessageProcessor.setMessage("#[payload]");
+    if (async != null) {
+      loggerMessageProcessor.setAsync(async);
+    }
+    loggerMessageProcessor.initialise();
+    loggerMessageProcessor.logger = logger;
+    return loggerMessageProcessor;
+  }
+
+  @After
+  public void after() {
+    loggerMessageProcessor.dispose();
+  }
+
+  @Test
+  public void processingTypeIsCpuLite() {
+    assertThat(loggerMessageProcessor.getProcessingType(), is(CPU_LITE));
+  }
+
+  @Test
+  public void processingTypeIsBlockingWhenFlowWaitsForRoomInTheBuffer() throws MuleException {
+    loggerMessageProcessor.dispose();
+    System.setProperty(ASYNC_LOGGING_OVERFLOW_POLICY_PROPERTY, "block");
+    try {
+      loggerMessageProcessor = createLoggerMessageProcessor(null);
+    } finally {
+      System.clearProperty(ASYNC_LOGGING_OVERFLOW_POLICY_PROPERTY);
+    }
+
+    assertThat(loggerMessageProcessor.getProcessingType(), is(BLOCKING));
+  }
+
+  @Test
+  public void messageIsEvaluatedInTheFlowThreadAndLoggedInTheBackground() throws MuleException {
+    AtomicReference<Thread> evaluationThread = new AtomicReference<>();
+    AtomicReference<Thread> loggingThread = new AtomicReference<>();
+    when(expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(), any(BindingContext.class)))
+        .thenAnswer(invocation -> {
+          evaluationThread.set(currentThread());
+          return "text to log";
+        });
+    doAnswer(invocation -> {
+      loggingThread.set(currentThread());
+      return null;
+    }).when(logger).info(anyString());
+
+    assertThat(loggerMessageProcessor.process(event), is(sameInstance(event)));
+    assertThat(evaluationThread.get(), is(sameInstance(currentThread())));
+
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> {
+      verify(logger).info("text to log");
+      return true;
+    }));
+    assertThat(loggingThread.get(), is(not(sameInstance(currentThread()))));
+  }
+
+  @Test
+  public void loggerOptsOutOfAsyncLogging() throws MuleException {
+    loggerMessageProcessor.dispose();
+    loggerMessageProcessor = createLoggerMessageProcessor(false);
+    AtomicReference<Thread> loggingThread = new AtomicReference<>();
+    when(expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(), any(BindingContext.class)))
+        .thenReturn("text to log");
+    doAnswer(invocation -> {
+      loggingThread.set(currentThread());
+      return null;
+    }).when(logger).info(anyString());
+
+    loggerMessageProcessor.process(event);
+
+    verify(logger).info("text to log");
+    assertThat(loggingThread.get(), is(sameInstance(currentThread())));
+  }
+
+  @Test
+  public void messagesAreDroppedWhenBufferIsFull() throws Exception {
+    CountDownLatch logging = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(), any(BindingContext.class)))
+        .thenReturn("text to log");
+    doAnswer(invocation -> {
+      logging.countDown();
+      release.await();
+      return null;
+    }).when(logger).info(anyString());
+
+    // The first one is being logged, the second one waits in the buffer and the third one does not fit
+    loggerMessageProcessor.process(event);
+    logging.await();
+    loggerMessageProcessor.process(event);
+    loggerMessageProcessor.process(event);
+    assertThat(loggerMessageProcessor.getDroppedAsyncLogMessages(), is(1L));
+
+    release.countDown();
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> {
+      verify(logger, times(2)).info("text to log");
+      return true;
+    }));
+  }
+
+  @Test
+  public void pendingMessagesAreLoggedOnDispose() throws Exception {
+    CountDownLatch logging = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(), any(BindingContext.class)))
+        .thenReturn("first")
+        .thenReturn("second");
+    doAnswer(invocation -> {
+      logging.countDown();
+      release.await();
+      return null;
+    }).when(logger).info("first");
+
+    loggerMessageProcessor.process(event);
+    logging.await();
+    loggerMessageProcessor.process(event);
+
+    // The pending message is logged by the disposing thread, once the one being logged is done
+    Thread disposer = new Thread(loggerMessageProcessor::dispose);
+    disposer.start();
+    disposer.join(PROBER_INTERVAL);
+    assertThat(disposer.isAlive(), is(true));
+    verify(logger, never()).info("second");
+
+    release.countDown();
+    disposer.join(PROBER_TIMEOUT);
+    assertThat(disposer.isAlive(), is(false));
+
+    InOrder inOrder = inOrder(logger);
+    inOrder.verify(logger).info("first");
+    inOrder.verify(logger).info("second");
+  }
+
+  @Test
+  public void messagesAreLoggedInCallingThreadAfterDispose() throws MuleException {
+    AtomicReference<Thread> loggingThread = new AtomicReference<>();
+    when(expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(), any(BindingContext.class)))
+        .thenReturn("text to log");
+    doAnswer(invocation -> {
+      loggingThread.set(currentThread());
+      return null;
+    }).when(logger).info(anyString());
+
+    loggerMessageProcessor.dispose();
+    loggerMessageProcessor.process(event);
+
+    verify(logger).info("text to log");
+    assertThat(loggingThread.get(), is(sameInstance(currentThread())));
+  }
+}
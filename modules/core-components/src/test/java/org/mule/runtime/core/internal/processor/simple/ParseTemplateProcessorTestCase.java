@@ -12,8 +12,11 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.metadata.MediaType.ANY;
 import static org.mule.runtime.api.metadata.MediaType.create;
@@ -31,6 +34,7 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.CompiledLogTemplate;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -243,6 +247,39 @@ public class ParseTemplateProcessorTestCase extends AbstractMuleTestCase {
     assertEquals(template, response.getMessage().getPayload().getValue());
   }
 
+  @Test
+  public void parseTemplateIsCompiledOnInitialise() throws InitialisationException {
+    String template = "This is #[payload]";
+    CompiledLogTemplate compiledTemplate = mock(CompiledLogTemplate.class);
+    when(mockExpressionManager.compileLogTemplate(template)).thenReturn(compiledTemplate);
+    parseTemplateProcessor.setContent(template);
+    parseTemplateProcessor.initialise();
+
+    when(mockMuleMessage.getPayload()).thenReturn(of(template));
+    when(mockMuleMessage.getAttributes()).thenReturn(of(new HashMap<>()));
+    when(mockExpressionManager.parseLogTemplate(eq(compiledTemplate), eq(event), any(), any())).thenReturn("Parsed");
+
+    assertEquals("Parsed", parseTemplateProcessor.process(event).getMessage().getPayload().getValue());
+    assertEquals("Parsed", parseTemplateProcessor.process(event).getMessage().getPayload().getValue());
+
+    verify(mockExpressionManager).compileLogTemplate(template);
+    verify(mockExpressionManager, never()).parseLogTemplate(anyString(), any(), any(), any());
+  }
+
+  @Test
+  public void parseTemplateNotCompiledIsParsedOnProcess() throws InitialisationException {
+    String template = "This is #[payload";
+    when(mockExpressionManager.compileLogTemplate(template)).thenThrow(new IllegalArgumentException("Not balanced"));
+    parseTemplateProcessor.setContent(template);
+    parseTemplateProcessor.initialise();
+
+    when(mockMuleMessage.getPayload()).thenReturn(of(template));
+    when(mockMuleMessage.getAttributes()).thenReturn(of(new HashMap<>()));
+    when(mockExpressionManager.parseLogTemplate(eq(template), eq(event), any(), any())).thenReturn("Parsed");
+
+    assertEquals("Parsed", parseTemplateProcessor.process(event).getMessage().getPayload().getValue());
+  }
+
   @Test
   public void parseTemplateToTarget() throws InitialisationException {
     String payload = "Payload";
@@ -257,7 +294,7 @@ public class ParseTemplateProcessorTestCase extends AbstractMuleTestCase {
 
     when(mockMuleMessage.getPayload()).thenReturn(of(payload));
     when(mockMuleMessage.getAttributes()).thenReturn(of(new HashMap<>()));
-    when(mockExpressionManager.parseLogTemplate(any(), any(), any(), any())).thenReturn("Parsed");
+    when(mockExpressionManager.parseLogTemplate(anyString(), any(), any(), any())).thenReturn("Parsed");
     final ExpressionManagerSession session = mock(ExpressionManagerSession.class);
     final TypedValue<String> typedValue = new TypedValue<>("Parsed", DataType.STRING);
     when(session.evaluate(compiledExpr)).thenAnswer(inv -> typedValue);
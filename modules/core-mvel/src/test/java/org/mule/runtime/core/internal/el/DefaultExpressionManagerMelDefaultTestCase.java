@@ -36,6 +36,7 @@ import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.el.CompiledLogTemplate;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
@@ -196,6 +197,20 @@ public class DefaultExpressionManagerMelDefaultTestCase extends AbstractMuleCont
                is(format("this is %s", TEST_PAYLOAD)));
   }
 
+  @Test
+  @Description("Verifies that compiled log templates are parsed as the templates they were compiled from.")
+  public void parseCompiledLog() throws MuleException {
+    CompiledLogTemplate template = expressionManager.compileLogTemplate("this is #[mel:payload]");
+
+    assertThat(expressionManager.parseLogTemplate(template, testEvent(), TEST_CONNECTOR_LOCATION, NULL_BINDING_CONTEXT),
+               is(format("this is %s", TEST_PAYLOAD)));
+    assertThat(expressionManager.parseLogTemplate(template,
+                                                  getEventBuilder().message(of("#[hola]")).build(),
+                                                  TEST_CONNECTOR_LOCATION,
+                                                  NULL_BINDING_CONTEXT),
+               is("this is #[hola]"));
+  }
+
   @Test
   @Description("Verifies that streams are logged in DW but not in MVEL.")
   public void parseLogStream() throws MuleException {
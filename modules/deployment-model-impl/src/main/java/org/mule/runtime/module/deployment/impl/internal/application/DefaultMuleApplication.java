@@ -181,6 +181,7 @@ public class DefaultMuleApplication extends AbstractDeployableArtifact<Applicati
     try {
       this.artifactContext.getMuleContext().start();
       persistArtifactState(START);
+      writeClassLists();
 
       // null CCL ensures we log at 'system' level
       // TODO getDomainClassLoader a more usable wrapper for any logger to be logged at sys level
@@ -214,6 +215,7 @@ public class DefaultMuleApplication extends AbstractDeployableArtifact<Applicati
     withContextClassLoader(null, () -> {
       log(miniSplash(format("Initializing %s '%s'", shortArtifactType, descriptor.getName())));
     });
+    preloadClassLists(serviceRepository);
     try {
       ArtifactContextBuilder artifactBuilder =
           newBuilder().setArtifactProperties(merge(descriptor.getAppProperties(), getProperties())).setArtifactType(APP)
@@ -8,13 +8,18 @@ package org.mule.runtime.module.deployment.impl.internal.artifact;
 
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.StringUtils.capitalize;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.internal.context.ArtifactStoppedPersistenceListener.ARTIFACT_STOPPED_LISTENER;
 import static org.mule.runtime.core.internal.logging.LogUtil.log;
 import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash;
+import static org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactClassLists.getArtifactClassLists;
 
 import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.service.ServiceRepository;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.internal.construct.DefaultFlowBuilder;
 import org.mule.runtime.core.internal.context.ArtifactStoppedPersistenceListener;
@@ -27,6 +32,8 @@ import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.DisposableClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.RegionClassLoader;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +49,7 @@ public abstract class AbstractDeployableArtifact<D extends DeployableArtifactDes
 
   protected ArtifactContext artifactContext;
   protected ArtifactClassLoader deploymentClassLoader;
+  private Scheduler classListPreloader;
 
   protected static final String START = "start";
   protected static final String STOP = "stop";
@@ -92,6 +100,8 @@ public abstract class AbstractDeployableArtifact<D extends DeployableArtifactDes
     // classloader cleanup
     ClassLoader originalClassLoader = currentThread().getContextClassLoader();
     try {
+      stopClassListPreloader();
+
       ClassLoader artifactCL = null;
       if (getArtifactClassLoader() != null) {
         artifactCL = getArtifactClassLoader().getClassLoader();
@@ -121,6 +131,46 @@ public abstract class AbstractDeployableArtifact<D extends DeployableArtifactDes
     return !(classLoader instanceof RegionClassLoader) && classLoader.getParent() instanceof RegionClassLoader;
   }
 
+  /**
+   * Loads ahead of time, in the background, the classes that the class loaders of this artifact loaded in a previous start, when
+   * enabled by {@link org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader#CLASS_LIST_PROPERTY_KEY}.
+   *
+   * @param serviceRepository the repository providing the {@link SchedulerService} to load the classes in.
+   */
+  protected void preloadClassLists(ServiceRepository serviceRepository) {
+    getArtifactClassLists().ifPresent(classLists -> serviceRepository.getServices().stream()
+        .filter(service -> service instanceof SchedulerService)
+        .findFirst()
+        .ifPresent(schedulerService -> {
+          stopClassListPreloader();
+          classListPreloader = classLists.preloadAsync((SchedulerService) schedulerService, getArtifactName(),
+                                                       getRegionMemberClassLoaders());
+        }));
+  }
+
+  private void stopClassListPreloader() {
+    if (classListPreloader != null) {
+      classListPreloader.stop();
+      classListPreloader = null;
+    }
+  }
+
+  /**
+   * Stores the classes loaded so far by the class loaders of this artifact, when enabled by
+   * {@link org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader#CLASS_LIST_PROPERTY_KEY}.
+   */
+  protected void writeClassLists() {
+    getArtifactClassLists().ifPresent(classLists -> getRegionMemberClassLoaders().forEach(classLists::write));
+  }
+
+  private List<ArtifactClassLoader> getRegionMemberClassLoaders() {
+    final ClassLoader artifactCL = deploymentClassLoader.getClassLoader();
+    if (isRegionClassLoaderMember(artifactCL)) {
+      return ((RegionClassLoader) artifactCL.getParent()).getArtifactPluginClassLoaders();
+    }
+    return singletonList(deploymentClassLoader);
+  }
+
   private void doDispose() {
     if (artifactContext == null) {
       if (LOGGER.isInfoEnabled()) {
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.impl.internal.artifact;
+
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader.CLASS_LIST_PROPERTY_KEY;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newBufferedReader;
+import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps the list of classes loaded by each {@link MuleArtifactClassLoader} in a training start of the runtime, so those can be
+ * loaded ahead of time in the following starts.
+ * <p>
+ * Each list is stored along with a checksum of the jars and folders of its class loader, and is only used while those don't
+ * change.
+ *
+ * @since 4.5.0
+ */
+public final class ArtifactClassLists {
+
+  static final String CLASS_LISTS_FOLDER = "class-lists";
+
+  private static final Logger LOGGER = getLogger(ArtifactClassLists.class);
+
+  private static final String CLASS_LIST_FILE_EXTENSION = ".classlist";
+  private static final String CHECKSUM_PREFIX = "# checksum ";
+
+  private final File classListsFolder;
+
+  /**
+   * @return an {@link ArtifactClassLists} stored in the execution folder of the runtime, if enabled by
+   *         {@link MuleArtifactClassLoader#CLASS_LIST_PROPERTY_KEY}.
+   */
+  public static Optional<ArtifactClassLists> getArtifactClassLists() {
+    if (!getBoolean(CLASS_LIST_PROPERTY_KEY)) {
+      return empty();
+    }
+    return of(new ArtifactClassLists(new File(getExecutionFolder(), CLASS_LISTS_FOLDER)));
+  }
+
+  ArtifactClassLists(File classListsFolder) {
+    this.classListsFolder = classListsFolder;
+  }
+
+  /**
+   * Stores the classes loaded so far by the given class loader, replacing the previous list.
+   *
+   * @param artifactClassLoader the class loader whose loaded classes are stored.
+   */
+  public void write(ArtifactClassLoader artifactClassLoader) {
+    if (!(artifactClassLoader instanceof MuleArtifactClassLoader)) {
+      return;
+    }
+
+    final MuleArtifactClassLoader classLoader = (MuleArtifactClassLoader) artifactClassLoader;
+    final Collection<String> loadedClassNames = new TreeSet<>(classLoader.getLoadedClassNames());
+    if (loadedClassNames.isEmpty()) {
+      return;
+    }
+
+    final Path classListFile = getClassListFile(classLoader);
+    final Path tempFile = classListFile.resolveSibling(classListFile.getFileName() + ".tmp");
+    try {
+      createDirectories(classListsFolder.toPath());
+      try (BufferedWriter writer = newBufferedWriter(tempFile, UTF_8)) {
+        writer.write(CHECKSUM_PREFIX + checksum(classLoader.getURLs()));
+        writer.newLine();
+        for (String className : loadedClassNames) {
+          writer.write(className);
+          writer.newLine();
+        }
+      }
+      move(tempFile, classListFile, ATOMIC_MOVE, REPLACE_EXISTING);
+      LOGGER.debug("Stored {} loaded classes of '{}' in '{}'", loadedClassNames.size(), classLoader.getArtifactId(),
+                   classListFile);
+    } catch (IOException e) {
+      LOGGER.warn(format("Unable to store the loaded classes of '%s' in '%s'", classLoader.getArtifactId(), classListFile), e);
+      discard(tempFile);
+    }
+  }
+
+  /**
+   * Loads, without initializing them, the classes stored for each of the given class loaders whose jars and folders didn't change
+   * since the list was stored.
+   *
+   * @param artifactClassLoaders the class loaders to load the classes with.
+   * @return the number of loaded classes.
+   */
+  public int preload(Collection<? extends ArtifactClassLoader> artifactClassLoaders) {
+    int loadedClasses = 0;
+    for (ArtifactClassLoader artifactClassLoader : artifactClassLoaders) {
+      if (artifactClassLoader instanceof MuleArtifactClassLoader) {
+        loadedClasses += preload((MuleArtifactClassLoader) artifactClassLoader);
+      }
+    }
+    return loadedClasses;
+  }
+
+  /**
+   * Does the same as {@link #preload(Collection)} in an IO scheduler, so that the classes are loaded while the artifacts are
+   * being initialised.
+   *
+   * @param schedulerService     the service providing the scheduler to load the classes in.
+   * @param artifactName         the name of the artifact the class loaders belong to, for the name of the scheduler.
+   * @param artifactClassLoaders the class loaders to load the classes with.
+   * @return the scheduler loading the classes, to be stopped once the class loaders are no longer used.
+   */
+  public Scheduler preloadAsync(SchedulerService schedulerService, String artifactName,
+                                Collection<? extends ArtifactClassLoader> artifactClassLoaders) {
+    final List<ArtifactClassLoader> classLoaders = new ArrayList<>(artifactClassLoaders);
+    final Scheduler scheduler = schedulerService.ioScheduler(config().withName(format("[%s].classListPreloader", artifactName))
+        .withMaxConcurrentTasks(1).withShutdownTimeout(0, MILLISECONDS));
+    scheduler.execute(() -> preload(classLoaders));
+    return scheduler;
+  }
+
+  private int preload(MuleArtifactClassLoader classLoader) {
+    final Optional<List<String>> classNames = read(classLoader);
+    if (!classNames.isPresent()) {
+      return 0;
+    }
+
+    final long startTime = currentTimeMillis();
+    int loadedClasses = 0;
+    for (String className : classNames.get()) {
+      if (currentThread().isInterrupted()) {
+        // The scheduler was stopped, the artifact is being disposed of
+        break;
+      }
+
+      try {
+        Class.forName(className, false, classLoader);
+        loadedClasses++;
+      } catch (ClassNotFoundException | LinkageError e) {
+        // The class will fail the same way, or succeed if it depended on something not ready yet, when actually needed
+        LOGGER.debug("Unable to preload class '{}' in '{}': {}", className, classLoader.getArtifactId(), e.toString());
+      }
+    }
+
+    LOGGER.debug("Preloaded {} classes of '{}' in {} ms", loadedClasses, classLoader.getArtifactId(),
+                 currentTimeMillis() - startTime);
+    return loadedClasses;
+  }
+
+  Optional<List<String>> read(MuleArtifactClassLoader classLoader) {
+    final Path classListFile = getClassListFile(classLoader);
+    if (!classListFile.toFile().exists()) {
+      return empty();
+    }
+
+    try (BufferedReader reader = newBufferedReader(classListFile, UTF_8)) {
+      final String checksumLine = reader.readLine();
+      if (checksumLine == null || !checksumLine.equals(CHECKSUM_PREFIX + checksum(classLoader.getURLs()))) {
+        LOGGER.debug("Loaded classes stored in '{}' are outdated, it will be discarded", classListFile);
+        discard(classListFile);
+        return empty();
+      }
+
+      final List<String> classNames = new ArrayList<>();
+      String className;
+      while ((className = reader.readLine()) != null) {
+        if (!className.isEmpty()) {
+          classNames.add(className);
+        }
+      }
+      return of(classNames);
+    } catch (IOException e) {
+      LOGGER.warn(format("Unable to read the loaded classes of '%s' from '%s'", classLoader.getArtifactId(), classListFile), e);
+      return empty();
+    }
+  }
+
+  private Path getClassListFile(MuleArtifactClassLoader classLoader) {
+    return new File(classListsFolder, classLoader.getArtifactId().replaceAll("[^\\w.-]", "_") + CLASS_LIST_FILE_EXTENSION)
+        .toPath();
+  }
+
+  /**
+   * @return a checksum of the location, size and modification time of each of the given URLs.
+   */
+  static String checksum(URL[] urls) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    for (URL url : urls) {
+      final StringBuilder urlState = new StringBuilder(url.toExternalForm());
+      final File file = toFile(url);
+      if (file != null) {
+        urlState.append('|').append(file.length()).append('|').append(file.lastModified());
+      }
+      digest.update(urlState.append('\n').toString().getBytes(UTF_8));
+    }
+
+    return format("%064x", new BigInteger(1, digest.digest()));
+  }
+
+  private static void discard(Path file) {
+    try {
+      deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.debug("Unable to delete '" + file + "'", e);
+    }
+  }
+}
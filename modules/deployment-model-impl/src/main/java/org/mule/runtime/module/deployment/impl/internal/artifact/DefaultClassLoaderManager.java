@@ -15,6 +15,8 @@ import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoaderManager;
 import org.mule.runtime.module.artifact.api.classloader.ClassLoaderRepository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -58,6 +60,13 @@ public class DefaultClassLoaderManager implements ArtifactClassLoaderManager, Cl
         .map(ArtifactClassLoader::getArtifactId);
   }
 
+  /**
+   * @return the class loaders registered at the moment.
+   */
+  public List<ArtifactClassLoader> getArtifactClassLoaders() {
+    return new ArrayList<>(artifactClassLoaders.values());
+  }
+
   private void checkClassLoaderId(String classLoaderId) {
     checkArgument(!StringUtils.isEmpty(classLoaderId), "artifactId cannot be empty");
   }
@@ -169,6 +169,7 @@ public class DefaultMuleDomain extends AbstractDeployableArtifact<DomainDescript
         log(miniSplash(format("Initializing domain '%s'", getArtifactName())));
       }
     });
+    preloadClassLists(serviceRepository);
     try {
       ArtifactContextBuilder artifactBuilder = getArtifactContextBuilder().setArtifactName(getArtifactName())
           .setDataFolderName(getDescriptor().getDataFolderName())
@@ -228,6 +229,7 @@ public class DefaultMuleDomain extends AbstractDeployableArtifact<DomainDescript
         }
       }
       persistArtifactState(START);
+      writeClassLists();
       // null CCL ensures we log at 'system' level
       // TODO create a more usable wrapper for any logger to be logged at sys level
       withContextClassLoader(null, () -> {
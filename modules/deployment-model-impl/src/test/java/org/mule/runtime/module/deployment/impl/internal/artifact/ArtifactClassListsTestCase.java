@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.impl.internal.artifact;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.net.URL;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ArtifactClassListsTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_ID = "domain/default/app/test";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ArtifactClassLists classLists;
+  private MuleArtifactClassLoader classLoader;
+  private File jarFile;
+
+  @Before
+  public void before() throws Exception {
+    classLists = new ArtifactClassLists(temporaryFolder.newFolder());
+    jarFile = temporaryFolder.newFile("test.jar");
+    writeStringToFile(jarFile, "jar");
+
+    classLoader = mock(MuleArtifactClassLoader.class);
+    when(classLoader.getArtifactId()).thenReturn(ARTIFACT_ID);
+    when(classLoader.getURLs()).thenReturn(new URL[] {jarFile.toURI().toURL()});
+    when(classLoader.getLoadedClassNames()).thenReturn(new HashSet<>(asList("org.foo.B", "org.foo.A")));
+  }
+
+  @Test
+  public void storedClassesAreRead() {
+    classLists.write(classLoader);
+
+    assertThat(classLists.read(classLoader).get(), contains("org.foo.A", "org.foo.B"));
+  }
+
+  @Test
+  public void missingClassList() {
+    assertThat(classLists.read(classLoader).isPresent(), is(false));
+  }
+
+  @Test
+  public void noClassListWithoutLoadedClasses() {
+    when(classLoader.getLoadedClassNames()).thenReturn(emptySet());
+    classLists.write(classLoader);
+
+    assertThat(classLists.read(classLoader).isPresent(), is(false));
+  }
+
+  @Test
+  public void outdatedClassListIsDiscarded() throws Exception {
+    classLists.write(classLoader);
+    writeStringToFile(jarFile, "updated jar");
+
+    assertThat(classLists.read(classLoader).isPresent(), is(false));
+  }
+
+  @Test
+  public void preloadIsRunInSchedulerOfService() {
+    final Scheduler scheduler = mock(Scheduler.class);
+    final SchedulerService schedulerService = mock(SchedulerService.class);
+    when(schedulerService.ioScheduler(any())).thenReturn(scheduler);
+
+    assertThat(classLists.preloadAsync(schedulerService, "test", singletonList(classLoader)), is(sameInstance(scheduler)));
+    verify(scheduler).execute(any());
+  }
+}
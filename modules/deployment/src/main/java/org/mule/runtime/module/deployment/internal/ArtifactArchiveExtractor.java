@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static org.mule.runtime.core.api.util.FileUtils.newFile;
+import static org.mule.runtime.core.api.util.FileUtils.verifyZipFilePaths;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.String.format;
+import static java.nio.channels.Channels.newChannel;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.walkFileTree;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+
+/**
+ * Explodes the archive of an artifact extracting its entries concurrently.
+ * <p>
+ * The central directory of the archive is read once, then the directories are created and the files are extracted in a bounded
+ * pool of threads. Files already present in the target directory with the same size and CRC as the entry in the archive (for
+ * instance, when the same artifact is redeployed with a few changes) are kept as they are, and files of the target directory not
+ * present in the archive are deleted.
+ * <p>
+ * Each file is written to a temporary file in its directory first, and then moved over the previous one, so that the previous
+ * content is never seen partially overwritten.
+ *
+ * @since 4.5.0
+ */
+class ArtifactArchiveExtractor {
+
+  private static final Logger LOGGER = getLogger(ArtifactArchiveExtractor.class);
+
+  private static final int MAX_EXTRACTION_THREADS = 8;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int extractionThreads;
+
+  ArtifactArchiveExtractor() {
+    this(max(1, min(getRuntime().availableProcessors(), MAX_EXTRACTION_THREADS)));
+  }
+
+  ArtifactArchiveExtractor(int extractionThreads) {
+    this.extractionThreads = extractionThreads;
+  }
+
+  /**
+   * Extracts the given {@code archive} into {@code targetDirectory}, leaving it with the same content as the archive.
+   *
+   * @param archive         the archive to extract
+   * @param targetDirectory the target directory
+   * @throws IOException if the archive can't be read, has invalid entries or its content can't be written.
+   */
+  void extract(File archive, File targetDirectory) throws IOException {
+    if (targetDirectory.exists() && !targetDirectory.isDirectory()) {
+      throw new IOException("Directory is not a directory: " + targetDirectory);
+    }
+    createDirectories(targetDirectory.toPath());
+    // The paths of the entries are canonical, so are the ones of the content of the directory to compare them
+    final File directory = targetDirectory.getCanonicalFile();
+
+    try (ZipFile zip = new ZipFile(archive)) {
+      verifyZipFilePaths(zip);
+
+      final Set<Path> archivePaths = new HashSet<>();
+      final List<ZipEntry> fileEntries = new ArrayList<>();
+      for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+        final ZipEntry entry = entries.nextElement();
+        final Path entryPath = newFile(directory, entry.getName()).toPath();
+        if (entry.isDirectory()) {
+          createDirectories(entryPath);
+        } else {
+          createDirectories(entryPath.getParent());
+          fileEntries.add(entry);
+        }
+        for (Path path = entryPath; !path.equals(directory.toPath()) && archivePaths.add(path); path = path.getParent()) {
+          // Every path up to the target directory is part of the archive
+        }
+      }
+
+      final AtomicInteger skippedEntries = new AtomicInteger();
+      extractFiles(zip, directory, fileEntries, skippedEntries);
+      deleteStalePaths(directory.toPath(), archivePaths);
+
+      LOGGER.debug("Extracted {} entries from '{}' into '{}', {} were already up to date", fileEntries.size(), archive,
+                   directory, skippedEntries.get());
+    }
+  }
+
+  private void extractFiles(ZipFile zip, File directory, List<ZipEntry> fileEntries, AtomicInteger skippedEntries)
+      throws IOException {
+    final ExecutorService executor = newFixedThreadPool(extractionThreads, runnable -> {
+      Thread thread = new Thread(runnable, format("[%s].archiveExtractor", directory.getName()));
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final List<Future<?>> extractions = new ArrayList<>(fileEntries.size());
+      for (ZipEntry entry : fileEntries) {
+        extractions.add(executor.submit(() -> {
+          final File file = newFile(directory, entry.getName());
+          if (isUpToDate(file, entry)) {
+            skippedEntries.incrementAndGet();
+          } else {
+            extractFile(zip, entry, file);
+          }
+          return null;
+        }));
+      }
+
+      for (Future<?> extraction : extractions) {
+        extraction.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Error extracting '" + zip.getName() + "'", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while extracting '" + zip.getName() + "'", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static boolean isUpToDate(File file, ZipEntry entry) throws IOException {
+    if (entry.getCrc() == -1 || entry.getSize() == -1 || !file.isFile() || file.length() != entry.getSize()) {
+      return false;
+    }
+
+    final CRC32 crc = new CRC32();
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream content = new CheckedInputStream(new FileInputStream(file), crc)) {
+      while (content.read(buffer) != -1) {
+        // just read it so its CRC is calculated
+      }
+    }
+    return crc.getValue() == entry.getCrc();
+  }
+
+  private static void extractFile(ZipFile zip, ZipEntry entry, File file) throws IOException {
+    final Path path = file.toPath();
+    // In the same directory, so it can be moved atomically. If left behind, it is deleted as a stale path on the next extraction.
+    // Not created with Files.createTempFile, so that it gets the same permissions as any other file
+    final Path tempPath = path.resolveSibling("." + path.getFileName() + "." + randomUUID() + ".tmp");
+    try {
+      try (ReadableByteChannel content = newChannel(zip.getInputStream(entry));
+          FileChannel target = FileChannel.open(tempPath, CREATE_NEW, WRITE)) {
+        long position = 0;
+        long transferred;
+        while ((transferred = target.transferFrom(content, position, BUFFER_SIZE)) > 0) {
+          position += transferred;
+        }
+      }
+
+      try {
+        move(tempPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        move(tempPath, path, REPLACE_EXISTING);
+      }
+    } finally {
+      deleteIfExists(tempPath);
+    }
+  }
+
+  private static void deleteStalePaths(Path directory, Set<Path> archivePaths) throws IOException {
+    walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        if (!archivePaths.contains(file)) {
+          delete(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+        if (exc != null) {
+          throw exc;
+        }
+        if (!dir.equals(directory) && !archivePaths.contains(dir)) {
+          delete(dir);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+}
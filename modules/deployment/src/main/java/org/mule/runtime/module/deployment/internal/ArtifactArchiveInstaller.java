@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.apache.commons.io.FileUtils.deleteQuietly;
@@ -37,9 +38,17 @@ public class ArtifactArchiveInstaller {
   protected static final String ANCHOR_FILE_BLURB =
       "Delete this file while Mule is running to remove the artifact in a clean way.";
 
+  /**
+   * Property used to explode the artifact archives extracting their entries concurrently, keeping the files that didn't change
+   * since the previous deployment of the artifact.
+   */
+  public static final String PARALLEL_ARCHIVE_EXTRACTION_PROPERTY = "mule.deploy.parallelArchiveExtraction";
+
   private static final Logger logger = LoggerFactory.getLogger(ArtifactArchiveInstaller.class);
 
   private final File artifactParentDir;
+  private final ArtifactArchiveExtractor archiveExtractor =
+      getBoolean(PARALLEL_ARCHIVE_EXTRACTION_PROPERTY) ? new ArtifactArchiveExtractor() : null;
 
   public ArtifactArchiveInstaller(File artifactParentDir) {
     this.artifactParentDir = artifactParentDir;
@@ -78,15 +87,20 @@ public class ArtifactArchiveInstaller {
       artifactName = getBaseName(fullPath);
       artifactDir = new File(artifactParentDir, artifactName);
 
-      // Removes previous deployed artifact
-      if (artifactDir.exists() && !deleteTree(artifactDir)) {
-        throw new IOException("Cannot delete existing folder '" + artifactDir + "'");
-      }
-
       // normalize the full path + protocol to make unzip happy
       final File source = artifactFile;
 
-      FileUtils.unzip(source, artifactDir);
+      if (archiveExtractor != null) {
+        // Replaces the content of the previous deployed artifact
+        archiveExtractor.extract(source, artifactDir);
+      } else {
+        // Removes previous deployed artifact
+        if (artifactDir.exists() && !deleteTree(artifactDir)) {
+          throw new IOException("Cannot delete existing folder '" + artifactDir + "'");
+        }
+
+        FileUtils.unzip(source, artifactDir);
+      }
       if ("file".equals(artifactUri.getScheme())
           && toFile(artifactUri.toURL()).getAbsolutePath().startsWith(artifactParentDir.getAbsolutePath())) {
         deleteQuietly(source);
@@ -115,9 +129,27 @@ public class ArtifactArchiveInstaller {
    * @param artifactName name of the artifact to be uninstalled.
    */
   void uninstallArtifact(final String artifactName) {
+    uninstallArtifact(artifactName, false);
+  }
+
+  /**
+   * Uninstalls an artifact that is going to be installed again from its archive.
+   * <p>
+   * When the archives are extracted concurrently, the exploded content of the artifact is kept so the files that didn't change
+   * don't have to be written again.
+   *
+   * @param artifactName name of the artifact to uninstall.
+   */
+  void uninstallArtifactForReinstall(final String artifactName) {
+    uninstallArtifact(artifactName, archiveExtractor != null);
+  }
+
+  private void uninstallArtifact(final String artifactName, boolean keepContent) {
     try {
-      final File artifactDir = new File(artifactParentDir, artifactName);
-      deleteDirectory(artifactDir);
+      if (!keepContent) {
+        final File artifactDir = new File(artifactParentDir, artifactName);
+        deleteDirectory(artifactDir);
+      }
       // remove a marker, harmless, but a tidy artifact dir is always better :)
       File marker = getArtifactAnchorFile(artifactName);
       marker.delete();
@@ -107,6 +107,10 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
   }
 
   private void undeployArtifact(String artifactId, boolean removeData) {
+    undeployArtifact(artifactId, removeData, false);
+  }
+
+  private void undeployArtifact(String artifactId, boolean removeData, boolean reinstall) {
     ZombieArtifact zombieArtifact = artifactZombieMap.get(artifactId);
     if ((zombieArtifact != null)) {
       if (zombieArtifact.exists()) {
@@ -118,7 +122,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     }
 
     T artifact = findArtifact(artifactId);
-    undeploy(artifact, removeData);
+    undeploy(artifact, removeData, reinstall);
   }
 
   @Override
@@ -290,14 +294,18 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     artifacts.remove(previousArtifact);
   }
 
-  private void undeploy(T artifact, boolean removeData) {
+  private void undeploy(T artifact, boolean removeData, boolean reinstall) {
     logRequestToUndeployArtifact(artifact);
     try {
       deploymentListener.onUndeploymentStart(artifact.getArtifactName());
 
       artifacts.remove(artifact);
       deployer.undeploy(artifact);
-      artifactArchiveInstaller.uninstallArtifact(artifact.getArtifactName());
+      if (reinstall) {
+        artifactArchiveInstaller.uninstallArtifactForReinstall(artifact.getArtifactName());
+      } else {
+        artifactArchiveInstaller.uninstallArtifact(artifact.getArtifactName());
+      }
       if (removeData) {
         final File dataFolder = getAppDataFolder(artifact.getDescriptor().getDataFolderName());
         try {
@@ -518,7 +526,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
         deploymentListener.onRedeploymentStart(artifactName);
         deploymentTemplate.preRedeploy(artifact);
         artifact = null;
-        undeployArtifact(artifactName, false);
+        undeployArtifact(artifactName, false, true);
       }
 
       T deployedArtifact = internalDeployPackagedArtifact(artifactUri, deploymentProperties);
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.lang.System.nanoTime;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+/**
+ * Detects the changes in the apps and domains deployment directories through a {@link WatchService}, so that
+ * {@link DeploymentDirectoryWatcher} only has to check the artifacts whose files changed.
+ * <p>
+ * Bursts of changes (like the copy of an artifact) are debounced: the changes are only reported once no new change was detected
+ * for the configured quiet period. When the changes can't be told apart (because the events overflowed or some directory could
+ * not be watched) a full scan of the deployment directories is requested instead.
+ *
+ * @since 4.5.0
+ */
+class DeploymentDirectoryChangeDetector {
+
+  private static final Logger LOGGER = getLogger(DeploymentDirectoryChangeDetector.class);
+
+  private final WatchService watchService;
+  private final Path appsDir;
+  private final Path domainsDir;
+  private final long quietPeriodNanos;
+
+  private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+  private final Set<String> changedApps = new HashSet<>();
+  private final Set<String> changedDomains = new HashSet<>();
+  private boolean fullScan = true;
+  private boolean watchFailed = false;
+  private long lastChangeNanos;
+
+  /**
+   * Creates a detector for the given directories.
+   *
+   * @param appsDir       the directory where applications are deployed
+   * @param domainsDir    the directory where domains are deployed
+   * @param quietPeriodMs time without changes to wait for before reporting them
+   * @return a new detector, or {@code null} if the file system doesn't support watching for changes.
+   */
+  static DeploymentDirectoryChangeDetector create(File appsDir, File domainsDir, long quietPeriodMs) {
+    try {
+      return new DeploymentDirectoryChangeDetector(FileSystems.getDefault().newWatchService(), appsDir.toPath(),
+                                                   domainsDir.toPath(), quietPeriodMs);
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warn("Unable to watch the deployment directories for changes, polling them instead", e);
+      return null;
+    }
+  }
+
+  private DeploymentDirectoryChangeDetector(WatchService watchService, Path appsDir, Path domainsDir, long quietPeriodMs) {
+    this.watchService = watchService;
+    this.appsDir = appsDir.toAbsolutePath();
+    this.domainsDir = domainsDir.toAbsolutePath();
+    this.quietPeriodNanos = MILLISECONDS.toNanos(quietPeriodMs);
+    this.lastChangeNanos = nanoTime() - quietPeriodNanos;
+  }
+
+  /**
+   * Starts watching the given directories, in addition to the ones already watched. Directories that no longer exist stop being
+   * watched on their own.
+   *
+   * @param dirs directories to watch.
+   */
+  synchronized void watch(Collection<File> dirs) {
+    for (File dir : dirs) {
+      if (!dir.isDirectory()) {
+        continue;
+      }
+
+      final Path dirPath = dir.toPath().toAbsolutePath();
+      try {
+        watchedDirs.put(dirPath.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dirPath);
+      } catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+        if (!watchFailed) {
+          LOGGER.warn("Unable to watch '" + dirPath + "' for changes, polling the deployment directories instead", e);
+        }
+        watchFailed = true;
+      }
+    }
+  }
+
+  /**
+   * @return the changes detected since the last call, or {@link DeploymentDirectoryChanges#NONE} if there are no changes or the
+   *         changes are still happening.
+   */
+  synchronized DeploymentDirectoryChanges poll() {
+    WatchKey key;
+    try {
+      while ((key = watchService.poll()) != null) {
+        final Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == OVERFLOW || dir == null) {
+            fullScan = true;
+          } else {
+            onChange(dir.resolve((Path) event.context()));
+          }
+          lastChangeNanos = nanoTime();
+        }
+        if (!key.reset()) {
+          watchedDirs.remove(key);
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      fullScan = true;
+    }
+
+    if (watchFailed) {
+      fullScan = true;
+    }
+
+    if (!fullScan && changedApps.isEmpty() && changedDomains.isEmpty()) {
+      return DeploymentDirectoryChanges.NONE;
+    }
+    if (nanoTime() - lastChangeNanos < quietPeriodNanos) {
+      LOGGER.debug("Changes in the deployment directories still in progress, waiting for them to finish");
+      return DeploymentDirectoryChanges.NONE;
+    }
+
+    final DeploymentDirectoryChanges changes =
+        new DeploymentDirectoryChanges(fullScan, new HashSet<>(changedApps), new HashSet<>(changedDomains));
+    fullScan = false;
+    changedApps.clear();
+    changedDomains.clear();
+    return changes;
+  }
+
+  /**
+   * Keeps the given changes to be reported again in the next {@link #poll()}, when those could not be processed.
+   *
+   * @param changes changes previously returned by {@link #poll()}.
+   */
+  synchronized void requeue(DeploymentDirectoryChanges changes) {
+    fullScan |= changes.isFullScan();
+    changedApps.addAll(changes.getApps());
+    changedDomains.addAll(changes.getDomains());
+  }
+
+  /**
+   * Makes the next {@link #poll()} report a full scan, when changes previously returned by it may have been partially processed.
+   */
+  synchronized void requestFullScan() {
+    fullScan = true;
+  }
+
+  private void onChange(Path changedPath) {
+    if (changedPath.startsWith(appsDir) && !changedPath.equals(appsDir)) {
+      changedApps.add(appsDir.relativize(changedPath).getName(0).toString());
+    } else if (changedPath.startsWith(domainsDir) && !changedPath.equals(domainsDir)) {
+      changedDomains.add(domainsDir.relativize(changedPath).getName(0).toString());
+    } else {
+      fullScan = true;
+    }
+  }
+
+  /**
+   * Stops watching for changes.
+   */
+  synchronized void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      LOGGER.debug("Error closing the deployment directories watch service", e);
+    }
+    watchedDirs.clear();
+  }
+
+  /**
+   * Changes detected in the deployment directories.
+   */
+  static class DeploymentDirectoryChanges {
+
+    static final DeploymentDirectoryChanges NONE = new DeploymentDirectoryChanges(false, emptySet(), emptySet());
+
+    private final boolean fullScan;
+    private final Set<String> apps;
+    private final Set<String> domains;
+
+    private DeploymentDirectoryChanges(boolean fullScan, Set<String> apps, Set<String> domains) {
+      this.fullScan = fullScan;
+      this.apps = apps;
+      this.domains = domains;
+    }
+
+    /**
+     * @return whether the changes can't be told apart and the deployment directories have to be fully scanned.
+     */
+    boolean isFullScan() {
+      return fullScan;
+    }
+
+    /**
+     * @return the names of the entries of the apps directory where something changed.
+     */
+    Set<String> getApps() {
+      return apps;
+    }
+
+    /**
+     * @return the names of the entries of the domains directory where something changed.
+     */
+    Set<String> getDomains() {
+      return domains;
+    }
+
+    boolean isEmpty() {
+      return !fullScan && apps.isEmpty() && domains.isEmpty();
+    }
+  }
+}
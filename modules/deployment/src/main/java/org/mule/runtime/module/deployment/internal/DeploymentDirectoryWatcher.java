@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.util.Arrays.sort;
 import static java.util.Arrays.stream;
@@ -31,6 +32,7 @@ import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 import org.mule.runtime.module.artifact.api.Artifact;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.runtime.module.deployment.internal.DeploymentDirectoryChangeDetector.DeploymentDirectoryChanges;
 import org.mule.runtime.module.deployment.internal.util.DebuggableReentrantLock;
 import org.mule.runtime.module.deployment.internal.util.ElementAddedEvent;
 import org.mule.runtime.module.deployment.internal.util.ElementRemovedEvent;
@@ -39,6 +41,9 @@ import org.mule.runtime.module.deployment.internal.util.ObservableList;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.io.FileFilter;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,6 +74,18 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
   public static final String ARTIFACT_ANCHOR_SUFFIX = "-anchor.txt";
   public static final String CHANGE_CHECK_INTERVAL_PROPERTY = "mule.launcher.changeCheckInterval";
+
+  /**
+   * Property used to detect the changes in the deployment directories with a {@link java.nio.file.WatchService} instead of
+   * checking every deployed artifact in each cycle. Falls back to checking every artifact if the file system can't be watched.
+   */
+  public static final String WATCH_SERVICE_PROPERTY = "mule.launcher.watchService";
+
+  /**
+   * Property used to set the time, in milliseconds, without changes in the deployment directories to wait for before processing
+   * the changes detected with {@link #WATCH_SERVICE_PROPERTY}.
+   */
+  public static final String CHANGE_QUIET_PERIOD_PROPERTY = "mule.launcher.changeQuietPeriod";
   public static final IOFileFilter JAR_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(JAR_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
   public static final IOFileFilter ZIP_ARTIFACT_FILTER =
@@ -82,6 +99,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
   public static final String DEPLOYMENT_APPLICATION_PROPERTY = "mule.deploy.applications";
 
   protected static final int DEFAULT_CHANGES_CHECK_INTERVAL_MS = 5000;
+  protected static final int DEFAULT_CHANGE_QUIET_PERIOD_MS = 1000;
 
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -97,6 +115,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private final File appsDir;
   private final File domainsDir;
   private ScheduledExecutorService artifactDirMonitorTimer;
+  private DeploymentDirectoryChangeDetector changeDetector;
 
   protected volatile boolean dirty;
 
@@ -147,6 +166,13 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
     try {
       if (appString == null) {
+        if (getBoolean(WATCH_SERVICE_PROPERTY)) {
+          changeDetector = DeploymentDirectoryChangeDetector.create(appsDir, domainsDir, getChangeQuietPeriodMs());
+          if (changeDetector != null) {
+            changeDetector.watch(getWatchedDirectories());
+          }
+        }
+
         // Deploys all the artifact already installed
         run();
 
@@ -215,6 +241,14 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  private static int getChangeQuietPeriodMs() {
+    try {
+      return Integer.parseInt(System.getProperty(CHANGE_QUIET_PERIOD_PROPERTY));
+    } catch (NumberFormatException e) {
+      return DEFAULT_CHANGE_QUIET_PERIOD_MS;
+    }
+  }
+
   private static int getChangesCheckIntervalMs() {
     try {
       String value = System.getProperty(CHANGE_CHECK_INTERVAL_PROPERTY);
@@ -265,10 +299,19 @@ public class DeploymentDirectoryWatcher implements Runnable {
   // deploy exploded apps
   @Override
   public void run() {
+    DeploymentDirectoryChanges changes = null;
     try {
       if (logger.isDebugEnabled()) {
         logger.debug("Checking for changes...");
       }
+
+      if (changeDetector != null) {
+        changes = changeDetector.poll();
+        if (changes.isEmpty() && !dirty) {
+          return;
+        }
+      }
+
       // use non-barging lock to preserve fairness, according to javadocs
       // if there's a lock present - wait for next poll to do anything
       if (!deploymentLock.tryLock(0, SECONDS)) {
@@ -276,56 +319,176 @@ public class DeploymentDirectoryWatcher implements Runnable {
           logger.debug("Another deployment operation in progress, will skip this cycle. Owner thread: "
               + ((DebuggableReentrantLock) deploymentLock).getOwner());
         }
+        if (changes != null) {
+          changeDetector.requeue(changes);
+        }
         return;
       }
 
-      undeployRemovedApps();
+      if (changes == null || changes.isFullScan()) {
+        checkAllArtifacts();
+      } else {
+        checkChangedArtifacts(changes);
+      }
+
+      if (changeDetector != null) {
+        // New artifacts may have been deployed, and their directories have to be watched
+        changeDetector.watch(getWatchedDirectories());
+      }
+    } catch (InterruptedException e) {
+      // preserve the flag for the thread
+      Thread.currentThread().interrupt();
+      onCheckFailed(changes);
+    } catch (Exception e) {
+      logger.warn("Error checking the deployment directories for changes, all the artifacts will be checked in the next cycle",
+                  e);
+      onCheckFailed(changes);
+    } finally {
+      if (deploymentLock.isHeldByCurrentThread()) {
+        deploymentLock.unlock();
+      }
+      dirty = false;
+    }
+  }
 
-      undeployRemovedDomains();
+  /**
+   * The changes taken from the {@link DeploymentDirectoryChangeDetector} may have been partially processed, so all the artifacts
+   * are checked in the next cycle instead of losing the rest of them.
+   */
+  private void onCheckFailed(DeploymentDirectoryChanges changes) {
+    if (changes != null) {
+      changeDetector.requestFullScan();
+    }
+  }
 
-      deployDomainBundles();
+  private void checkAllArtifacts() {
+    undeployRemovedApps();
+
+    undeployRemovedDomains();
+
+    deployDomainBundles();
+
+    // list new domains
+    String[] domains = domainsDir.list(DirectoryFileFilter.DIRECTORY);
 
-      // list new domains
-      String[] domains = domainsDir.list(DirectoryFileFilter.DIRECTORY);
+    final String[] domainZips = domainsDir.list(JAR_ARTIFACT_FILTER);
 
-      final String[] domainZips = domainsDir.list(JAR_ARTIFACT_FILTER);
+    redeployModifiedDomains();
 
+    deployPackedDomains(domainZips);
+
+    // re-scan exploded domains and update our state, as deploying Mule domains archives might have added some
+    if (domainZips.length > 0 || dirty) {
+      domains = domainsDir.list(DirectoryFileFilter.DIRECTORY);
+    }
+
+    deployExplodedDomains(domains);
+
+    redeployModifiedApplications();
+
+    // list new apps
+    String[] apps = appsDir.list(DirectoryFileFilter.DIRECTORY);
+
+    final String[] appZips = appsDir.list(JAR_ARTIFACT_FILTER);
+
+    deployPackedApps(appZips);
+
+    // re-scan exploded apps and update our state, as deploying Mule app archives might have added some
+    if (appZips.length > 0 || dirty) {
+      apps = appsDir.list(DirectoryFileFilter.DIRECTORY);
+    }
+
+    // Sorts apps to ensure they are always deployed in the same order
+    sort(apps);
+    deployExplodedApps(apps);
+  }
+
+  /**
+   * Does the same as {@link #checkAllArtifacts()}, but only checking the artifacts in the given {@code changes}.
+   */
+  private void checkChangedArtifacts(DeploymentDirectoryChanges changes) {
+    if (!changes.getDomains().isEmpty()) {
+      // Domains are few and applications depend on them, so those are fully checked
+      undeployRemovedDomains();
+      deployDomainBundles();
       redeployModifiedDomains();
+      deployPackedDomains(domainsDir.list(JAR_ARTIFACT_FILTER));
+      deployExplodedDomains(domainsDir.list(DirectoryFileFilter.DIRECTORY));
+    }
 
-      deployPackedDomains(domainZips);
+    if (changes.getApps().isEmpty()) {
+      return;
+    }
 
-      // re-scan exploded domains and update our state, as deploying Mule domains archives might have added some
-      if (domainZips.length > 0 || dirty) {
-        domains = domainsDir.list(DirectoryFileFilter.DIRECTORY);
-      }
+    undeployRemovedApps();
 
-      deployExplodedDomains(domains);
+    redeployModifiedArtifacts(getArtifactsToRedeploy(applications.stream()
+        .filter(application -> changes.getApps().contains(application.getArtifactName()))
+        .collect(toList()), applicationTimestampListener), applicationArchiveDeployer);
 
-      redeployModifiedApplications();
+    final List<String> appZips = new ArrayList<>();
+    final List<String> apps = new ArrayList<>();
+    for (String changedApp : changes.getApps()) {
+      final File changedAppFile = new File(appsDir, changedApp);
+      if (JAR_ARTIFACT_FILTER.accept(changedAppFile)) {
+        appZips.add(changedApp);
+      } else if (changedAppFile.isDirectory()) {
+        apps.add(changedApp);
+      }
+    }
 
-      // list new apps
-      String[] apps = appsDir.list(DirectoryFileFilter.DIRECTORY);
+    deployPackedApps(appZips.toArray(new String[appZips.size()]));
 
-      final String[] appZips = appsDir.list(JAR_ARTIFACT_FILTER);
+    final String[] explodedApps = apps.toArray(new String[apps.size()]);
+    // Sorts apps to ensure they are always deployed in the same order
+    sort(explodedApps);
+    deployExplodedApps(explodedApps);
+  }
+
+  /**
+   * @return the directories whose changes must be detected by the {@link DeploymentDirectoryChangeDetector}.
+   */
+  private List<File> getWatchedDirectories() {
+    final List<File> watchedDirectories = new ArrayList<>();
+    watchedDirectories.add(appsDir);
+    watchedDirectories.add(domainsDir);
+    addArtifactDirectories(appsDir, watchedDirectories);
+    addArtifactDirectories(domainsDir, watchedDirectories);
+
+    for (DeployableArtifact artifact : applications) {
+      addResourceDirectories(artifact, watchedDirectories);
+    }
+    for (DeployableArtifact artifact : domains) {
+      addResourceDirectories(artifact, watchedDirectories);
+    }
 
-      deployPackedApps(appZips);
+    addZombieDirectories(applicationArchiveDeployer, watchedDirectories);
+    addZombieDirectories(domainArchiveDeployer, watchedDirectories);
+    return watchedDirectories;
+  }
 
-      // re-scan exploded apps and update our state, as deploying Mule app archives might have added some
-      if (appZips.length > 0 || dirty) {
-        apps = appsDir.list(DirectoryFileFilter.DIRECTORY);
+  private void addArtifactDirectories(File deploymentDir, List<File> watchedDirectories) {
+    final File[] artifactDirs = deploymentDir.listFiles((FileFilter) DirectoryFileFilter.DIRECTORY);
+    if (artifactDirs != null) {
+      for (File artifactDir : artifactDirs) {
+        watchedDirectories.add(artifactDir);
       }
+    }
+  }
 
-      // Sorts apps to ensure they are always deployed in the same order
-      sort(apps);
-      deployExplodedApps(apps);
-    } catch (Exception e) {
-      // preserve the flag for the thread
-      Thread.currentThread().interrupt();
-    } finally {
-      if (deploymentLock.isHeldByCurrentThread()) {
-        deploymentLock.unlock();
+  private void addResourceDirectories(DeployableArtifact artifact, List<File> watchedDirectories) {
+    for (File configResourceFile : artifact.getResourceFiles()) {
+      watchedDirectories.add(configResourceFile.getParentFile());
+    }
+    watchedDirectories.add(new File(((DeployableArtifactDescriptor) artifact.getDescriptor()).getArtifactLocation(),
+                                    ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION).getParentFile());
+  }
+
+  private void addZombieDirectories(ArchiveDeployer<?> archiveDeployer, List<File> watchedDirectories) {
+    for (Map<URI, Long> zombieFiles : archiveDeployer.getArtifactsZombieMap().values()) {
+      for (URI zombieFile : zombieFiles.keySet()) {
+        watchedDirectories.add(new File(zombieFile).getParentFile());
       }
-      dirty = false;
     }
   }
 
@@ -493,6 +656,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
   }
 
   private void stopAppDirMonitorTimer() {
+    if (changeDetector != null) {
+      changeDetector.close();
+    }
     if (artifactDirMonitorTimer != null) {
       artifactDirMonitorTimer.shutdown();
       try {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static org.mule.tck.ZipUtils.compress;
+
+import static java.nio.file.Files.createLink;
+
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.ZipUtils.ZipResource;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ArtifactArchiveExtractorTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ArtifactArchiveExtractor extractor = new ArtifactArchiveExtractor(2);
+
+  private File archive;
+  private File targetDir;
+
+  @Before
+  public void before() throws Exception {
+    File config = temporaryFolder.newFile("config.xml");
+    writeStringToFile(config, "<mule/>");
+    File library = temporaryFolder.newFile("library.jar");
+    writeStringToFile(library, "library");
+
+    archive = new File(temporaryFolder.getRoot(), "app.jar");
+    compress(archive, new ZipResource[] {
+        new ZipResource(config.getAbsolutePath(), "mule-config.xml"),
+        new ZipResource(library.getAbsolutePath(), "repository/org/foo/library.jar")});
+    targetDir = new File(temporaryFolder.getRoot(), "app");
+  }
+
+  @Test
+  public void extractsArchive() throws Exception {
+    extractor.extract(archive, targetDir);
+
+    assertThat(readFileToString(new File(targetDir, "mule-config.xml")), is("<mule/>"));
+    assertThat(readFileToString(new File(targetDir, "repository/org/foo/library.jar")), is("library"));
+  }
+
+  @Test
+  public void keepsUnchangedFiles() throws Exception {
+    extractor.extract(archive, targetDir);
+    File config = new File(targetDir, "mule-config.xml");
+    long lastModified = config.lastModified() - 10000;
+    config.setLastModified(lastModified);
+
+    extractor.extract(archive, targetDir);
+
+    assertThat(config.lastModified(), is(lastModified));
+  }
+
+  @Test
+  public void replacesChangedFiles() throws Exception {
+    extractor.extract(archive, targetDir);
+    writeStringToFile(new File(targetDir, "mule-config.xml"), "<changed/>");
+
+    extractor.extract(archive, targetDir);
+
+    assertThat(readFileToString(new File(targetDir, "mule-config.xml")), is("<mule/>"));
+  }
+
+  @Test
+  public void changedFilesAreNotOverwrittenInPlace() throws Exception {
+    extractor.extract(archive, targetDir);
+    File config = new File(targetDir, "mule-config.xml");
+    writeStringToFile(config, "<changed/>");
+    File previousConfig = new File(temporaryFolder.getRoot(), "previous-config.xml");
+    createLink(previousConfig.toPath(), config.toPath());
+
+    extractor.extract(archive, targetDir);
+
+    assertThat(readFileToString(config), is("<mule/>"));
+    assertThat(readFileToString(previousConfig), is("<changed/>"));
+    assertThat(targetDir.list(), arrayContainingInAnyOrder("mule-config.xml", "repository"));
+  }
+
+  @Test
+  public void deletesFilesNotInArchive() throws Exception {
+    extractor.extract(archive, targetDir);
+    File staleDir = new File(targetDir, "repository/org/bar");
+    writeStringToFile(new File(staleDir, "stale.jar"), "stale");
+
+    extractor.extract(archive, targetDir);
+
+    assertThat(staleDir.exists(), is(false));
+    assertThat(new File(targetDir, "repository/org/foo/library.jar").exists(), is(true));
+  }
+}
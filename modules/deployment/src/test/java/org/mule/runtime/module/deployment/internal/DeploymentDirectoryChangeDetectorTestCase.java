@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.util.Arrays.asList;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.module.deployment.internal.DeploymentDirectoryChangeDetector.DeploymentDirectoryChanges;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeploymentDirectoryChangeDetectorTestCase extends AbstractMuleTestCase {
+
+  private static final long PROBER_TIMEOUT = 15000;
+  private static final long PROBER_INTERVAL = 100;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File appsDir;
+  private File domainsDir;
+  private DeploymentDirectoryChangeDetector changeDetector;
+
+  @Before
+  public void before() throws Exception {
+    appsDir = temporaryFolder.newFolder("apps");
+    domainsDir = temporaryFolder.newFolder("domains");
+    changeDetector = DeploymentDirectoryChangeDetector.create(appsDir, domainsDir, 0);
+    changeDetector.watch(asList(appsDir, domainsDir));
+  }
+
+  @After
+  public void after() {
+    changeDetector.close();
+  }
+
+  @Test
+  public void firstPollIsFullScan() {
+    assertThat(changeDetector.poll().isFullScan(), is(true));
+    assertThat(changeDetector.poll().isEmpty(), is(true));
+  }
+
+  @Test
+  public void detectsNewApp() throws Exception {
+    changeDetector.poll();
+    writeStringToFile(new File(appsDir, "app.jar"), "app");
+
+    DeploymentDirectoryChanges changes = pollChanges();
+    assertThat(changes.isFullScan(), is(false));
+    assertThat(changes.getApps(), contains("app.jar"));
+    assertThat(changes.getDomains().isEmpty(), is(true));
+  }
+
+  @Test
+  public void detectsChangeInsideWatchedArtifactDirectory() throws Exception {
+    File appDir = new File(appsDir, "app");
+    appDir.mkdirs();
+    changeDetector.watch(asList(appDir));
+    changeDetector.poll();
+
+    writeStringToFile(new File(appDir, "config.xml"), "<mule/>");
+
+    assertThat(pollChanges().getApps(), contains("app"));
+  }
+
+  @Test
+  public void detectsNewDomain() throws Exception {
+    changeDetector.poll();
+    new File(domainsDir, "domain").mkdirs();
+
+    assertThat(pollChanges().getDomains(), contains("domain"));
+  }
+
+  @Test
+  public void requeuedChangesAreReportedAgain() throws Exception {
+    changeDetector.poll();
+    writeStringToFile(new File(appsDir, "app.jar"), "app");
+
+    changeDetector.requeue(pollChanges());
+
+    assertThat(changeDetector.poll().getApps(), contains("app.jar"));
+  }
+
+  @Test
+  public void fullScanIsReportedWhenRequested() throws Exception {
+    changeDetector.poll();
+    changeDetector.requestFullScan();
+
+    assertThat(changeDetector.poll().isFullScan(), is(true));
+    assertThat(changeDetector.poll().isEmpty(), is(true));
+  }
+
+  @Test
+  public void changesAreDebounced() throws Exception {
+    changeDetector.close();
+    changeDetector = DeploymentDirectoryChangeDetector.create(appsDir, domainsDir, 60000);
+    changeDetector.watch(asList(appsDir, domainsDir));
+    changeDetector.poll();
+
+    writeStringToFile(new File(appsDir, "app.jar"), "app");
+    Thread.sleep(500);
+
+    assertThat(changeDetector.poll().isEmpty(), is(true));
+  }
+
+  private DeploymentDirectoryChanges pollChanges() {
+    AtomicReference<DeploymentDirectoryChanges> changes = new AtomicReference<>();
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> {
+      DeploymentDirectoryChanges polled = changeDetector.poll();
+      if (polled.isEmpty()) {
+        return false;
+      }
+      changes.set(polled);
+      return true;
+    }));
+    return changes.get();
+  }
+}
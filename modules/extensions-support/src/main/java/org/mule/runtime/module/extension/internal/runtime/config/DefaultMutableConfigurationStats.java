@@ -9,6 +9,7 @@ package org.mule.runtime.module.extension.internal.runtime.config;
 import org.mule.runtime.api.time.TimeSupplier;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Default implementation of {@link MutableConfigurationStats}
@@ -20,6 +21,7 @@ final class DefaultMutableConfigurationStats implements MutableConfigurationStat
   private final AtomicInteger inflightOperations = new AtomicInteger(0);
   private final AtomicInteger runningSources = new AtomicInteger(0);
   private final AtomicInteger activeComponents = new AtomicInteger(0);
+  private final AtomicLong cacheHits = new AtomicLong(0);
   private final TimeSupplier timeSupplier;
   private long lastUsedMillis;
 
@@ -127,4 +129,20 @@ final class DefaultMutableConfigurationStats implements MutableConfigurationStat
     updateLastUsed();
     return activeComponents.decrementAndGet();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long addCacheHit() {
+    return cacheHits.incrementAndGet();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
 }
@@ -6,10 +6,10 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -30,7 +30,6 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
-import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.api.value.Value;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.el.ExpressionManager;
@@ -50,14 +49,16 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 
@@ -69,6 +70,9 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * The cache is read without locking. Each cached instance keeps a count of the lookups in progress for it, so that it is only
+ * expired when no lookup is about to hand it out.
  *
  * @since 4.0.0
  */
@@ -82,10 +86,10 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final ConcurrentMap<ConfigurationKey, CacheEntry> cache = new ConcurrentHashMap<>();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder createdConfigurations = new LongAdder();
+  private final LongAdder expiredConfigurations = new LongAdder();
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
@@ -138,51 +142,63 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         if (connectionProviderResolver.getResolverSet().isPresent()) {
           providerResult = ((ResolverSet) connectionProviderResolver.getResolverSet().get()).resolve(resolvingContext);
         }
-        return getConfiguration(new Pair<>(result, providerResult), (CoreEvent) event);
+        return getConfiguration(new ConfigurationKey(result, providerResult), (CoreEvent) event);
       }
     });
   }
 
-  private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
-      throws Exception {
-
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
+  private ConfigurationInstance getConfiguration(ConfigurationKey key, CoreEvent event) throws Exception {
     try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
-      updateUsageStatistic(configuration);
-      return configuration;
+      while (true) {
+        CacheEntry entry = cache.get(key);
+        boolean hit = true;
+        if (entry == null) {
+          cacheMisses.increment();
+          entry = cache.computeIfAbsent(key, k -> new CacheEntry(createConfiguration(k, event)));
+          hit = false;
+        }
+
+        if (entry.acquire()) {
+          try {
+            MutableConfigurationStats stats = (MutableConfigurationStats) entry.configuration.getStatistics();
+            stats.updateLastUsed();
+            if (hit) {
+              stats.addCacheHit();
+            }
+            return entry.configuration;
+          } finally {
+            entry.release();
+          }
+        }
+
+        // The entry is being expired, either it stays in the cache or a new one has to be created
+        Thread.yield();
+      }
     } catch (WrappingRuntimeException e) {
       throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
     }
   }
 
-  private void updateUsageStatistic(ConfigurationInstance configuration) {
-    MutableConfigurationStats stats = (MutableConfigurationStats) configuration.getStatistics();
-    stats.updateLastUsed();
-  }
-
-  private ConfigurationInstance createConfiguration(Pair<ResolverSetResult, ResolverSetResult> values, CoreEvent event) {
+  private ConfigurationInstance createConfiguration(ConfigurationKey key, CoreEvent event) {
     assertNotStopping(muleContext, "Mule is shutting down... Cannot create new dynamic configurations");
 
     ConfigurationInstance configuration;
-    ResolverSetResult connectionProviderValues = values.getSecond();
+    ResolverSetResult connectionProviderValues = key.providerResult;
     try {
       if (connectionProviderValues != null) {
         configuration = configurationInstanceFactory.createConfiguration(getName(),
-                                                                         values.getFirst(),
+                                                                         key.result,
                                                                          event,
                                                                          connectionProviderResolver,
                                                                          connectionProviderValues);
       } else {
         configuration = configurationInstanceFactory.createConfiguration(getName(),
-                                                                         values.getFirst(),
+                                                                         key.result,
                                                                          event,
                                                                          ofNullable(connectionProviderResolver));
       }
       registerConfiguration(configuration);
+      createdConfigurations.increment();
       return configuration;
     } catch (MuleException e) {
       throw new WrappingRuntimeException(e);
@@ -228,16 +244,47 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    List<ConfigurationInstance> expired = new ArrayList<>();
+    for (Map.Entry<ConfigurationKey, CacheEntry> cacheEntry : cache.entrySet()) {
+      final CacheEntry entry = cacheEntry.getValue();
+      if (isExpired(entry.configuration) && entry.expire()) {
+        // A lookup may have used it right before it was marked
+        if (isExpired(entry.configuration)) {
+          cache.remove(cacheEntry.getKey(), entry);
+          unRegisterConfiguration(entry.configuration);
+          expired.add(entry.configuration);
+        } else {
+          entry.revive();
+        }
+      }
     }
+
+    expiredConfigurations.add(expired.size());
+    return unmodifiableList(expired);
+  }
+
+  /**
+   * @return how many times a configuration was not found in the cache, so a new one had to be created.
+   * @since 4.5.0
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * @return how many configuration instances were created by this provider.
+   * @since 4.5.0
+   */
+  public long getCreatedConfigurations() {
+    return createdConfigurations.sum();
+  }
+
+  /**
+   * @return how many configuration instances of this provider expired.
+   * @since 4.5.0
+   */
+  public long getExpiredConfigurations() {
+    return expiredConfigurations.sum();
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -354,6 +401,78 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * The key of a configuration in the cache, with the hash of the values it was created with computed only once.
+   */
+  private static final class ConfigurationKey {
+
+    private final ResolverSetResult result;
+    private final ResolverSetResult providerResult;
+    private final int hashCode;
+
+    private ConfigurationKey(ResolverSetResult result, ResolverSetResult providerResult) {
+      this.result = result;
+      this.providerResult = providerResult;
+      this.hashCode = 31 * Objects.hashCode(result) + Objects.hashCode(providerResult);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ConfigurationKey)) {
+        return false;
+      }
+      ConfigurationKey other = (ConfigurationKey) obj;
+      return hashCode == other.hashCode && Objects.equals(result, other.result)
+          && Objects.equals(providerResult, other.providerResult);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * A cached configuration, along with the amount of lookups in progress for it. Once expired, no lookup can acquire it.
+   */
+  private static final class CacheEntry {
+
+    private static final int EXPIRED = -1;
+
+    private final ConfigurationInstance configuration;
+    private final AtomicInteger lookups = new AtomicInteger(0);
+
+    private CacheEntry(ConfigurationInstance configuration) {
+      this.configuration = configuration;
+    }
+
+    private boolean acquire() {
+      int current;
+      do {
+        current = lookups.get();
+        if (current == EXPIRED) {
+          return false;
+        }
+      } while (!lookups.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    private void release() {
+      lookups.decrementAndGet();
+    }
+
+    private boolean expire() {
+      return lookups.compareAndSet(0, EXPIRED);
+    }
+
+    private void revive() {
+      lookups.set(0);
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no
    * longer throw checked exception as it is used inside {@link Map#computeIfAbsent}.
@@ -79,4 +79,19 @@ public interface MutableConfigurationStats extends ConfigurationStats {
    * @since 4.2.3 4.3.1 4.4.0
    */
   int discountActiveComponent();
+
+  /**
+   * Increments the return value of {@link #getCacheHits()} by one
+   *
+   * @return the new value
+   * @since 4.5.0
+   */
+  long addCacheHit();
+
+  /**
+   * @return how many times this configuration was obtained from the cache of its dynamic configuration provider, instead of being
+   *         created.
+   * @since 4.5.0
+   */
+  long getCacheHits();
 }
@@ -1070,6 +1070,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
   @Override
   public void doStart() throws MuleException {
     startIfNeeded(componentExecutor);
+    startIfNeeded(resultTransformer);
 
     if (nestedChain != null) {
       LOGGER.debug("Starting nested chain ({}) of component '{}'...", nestedChain, processorPath);
@@ -1116,6 +1117,8 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
       outerFluxCompletionScheduler.stop();
       outerFluxCompletionScheduler = null;
     }
+
+    stopIfNeeded(resultTransformer);
   }
 
   private Collection<RouteBuilderValueResolver> getRoutes() {
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.streaming.iterator.ConsumerStreamingIterator;
+import org.mule.runtime.core.api.streaming.iterator.ListConsumer;
+import org.mule.runtime.core.api.streaming.iterator.Producer;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
+import org.mule.runtime.module.extension.internal.runtime.operation.DefaultExecutionMediator.ResultTransformer;
+import org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link ResultTransformer} for paged operations, which turns the {@link PagingProvider} returned by the operation into an
+ * iterator that fetches its pages as they are consumed.
+ * <p>
+ * All the {@link PagingProviderProducer}s created for the operation prefetch their pages in the same {@link Scheduler}, which is
+ * created when first needed and stopped along with the operation. This way, producers that are never closed don't keep a
+ * {@link Scheduler} of their own. Producers still in use once the operation is stopped fetch their pages synchronously.
+ *
+ * @since 4.5.0
+ */
+final class PagingResultTransformer implements ResultTransformer, Startable, Stoppable {
+
+  private final ExtensionConnectionSupplier connectionSupplier;
+  private final boolean supportsOAuth;
+
+  private Scheduler prefetchScheduler;
+  private boolean stopped = false;
+
+  PagingResultTransformer(ExtensionConnectionSupplier connectionSupplier, boolean supportsOAuth) {
+    this.connectionSupplier = connectionSupplier;
+    this.supportsOAuth = supportsOAuth;
+  }
+
+  @Override
+  public Object applyChecked(ExecutionContextAdapter operationContext, Object value) {
+    if (value == null) {
+      throw new IllegalStateException("Obtained paging delegate cannot be null");
+    }
+    ConfigurationInstance config = (ConfigurationInstance) operationContext.getConfiguration().get();
+    Producer<?> producer = new PagingProviderProducer((PagingProvider) value,
+                                                      config,
+                                                      operationContext,
+                                                      connectionSupplier,
+                                                      supportsOAuth,
+                                                      () -> getPrefetchScheduler(operationContext.getMuleContext()));
+    ListConsumer<?> consumer = new ListConsumer(producer);
+    consumer.loadNextPage();
+    return new ConsumerStreamingIterator<>(consumer);
+  }
+
+  private synchronized Scheduler getPrefetchScheduler(MuleContext muleContext) {
+    if (stopped) {
+      throw new RejectedExecutionException("Operation is stopped");
+    }
+    if (prefetchScheduler == null) {
+      prefetchScheduler = muleContext.getSchedulerService().ioScheduler(muleContext.getSchedulerBaseConfig()
+          .withName(PagingProviderProducer.class.getSimpleName() + ".prefetch"));
+    }
+    return prefetchScheduler;
+  }
+
+  @Override
+  public synchronized void start() {
+    stopped = false;
+  }
+
+  @Override
+  public synchronized void stop() {
+    stopped = true;
+    if (prefetchScheduler != null) {
+      // Pages still to be prefetched are fetched by their consumers instead
+      prefetchScheduler.stop();
+      prefetchScheduler = null;
+    }
+  }
+}
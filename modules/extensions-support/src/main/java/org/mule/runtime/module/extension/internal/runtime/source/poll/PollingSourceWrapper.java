@@ -45,7 +45,12 @@ import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
+import org.mule.runtime.core.api.source.scheduler.PeriodicScheduler;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
+import org.mule.runtime.core.internal.lock.AsyncLockFactory;
+import org.mule.runtime.core.internal.lock.LockToken;
+import org.mule.runtime.core.internal.source.scheduler.SchedulerSourceStatistics;
+import org.mule.runtime.core.internal.source.scheduler.SchedulerSourceTimer;
 import org.mule.runtime.module.extension.internal.runtime.source.SourceCallbackContextAdapter;
 import org.mule.runtime.module.extension.internal.runtime.source.SourceWrapper;
 import org.mule.sdk.api.runtime.operation.Result;
@@ -61,6 +66,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
@@ -104,6 +111,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   private final SchedulingStrategy scheduler;
   private final int maxItemsPerPoll;
   private final SystemExceptionHandler systemExceptionHandler;
+  private final SchedulerSourceStatistics statistics = new SchedulerSourceStatistics();
 
   @Inject
   private LockFactory lockFactory;
@@ -124,6 +132,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   private String flowName;
   private final AtomicBoolean stopRequested = new AtomicBoolean(false);
   private org.mule.runtime.api.scheduler.Scheduler executor;
+  private ScheduledFuture<?> schedulingJob;
   private AtomicBoolean restarting = new AtomicBoolean(false);
   private DelegateRunnable delegateRunnable;
 
@@ -157,15 +166,30 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
       poll(sourceCallback);
       delegateRunnable.setDelegate(() -> poll(sourceCallback));
     } else {
+      final SchedulerSourceTimer sharedTimer =
+          scheduler instanceof PeriodicScheduler ? SchedulerSourceTimer.getSharedTimer() : null;
       executor = schedulerService.customScheduler(SchedulerConfig.config()
           .withMaxConcurrentTasks(1)
-          .withWaitAllowed(true)
+          // The shared timer skips a poll rejected while the previous one is still running, instead of blocking its thread
+          .withWaitAllowed(sharedTimer == null)
           .withName(formatKey("executor")));
       delegateRunnable = new DelegateRunnable(() -> poll(sourceCallback));
-      scheduler.schedule(executor, delegateRunnable);
+      if (sharedTimer != null) {
+        schedulingJob = sharedTimer.schedule((PeriodicScheduler) scheduler, executor, delegateRunnable,
+                                             componentLocation.getLocation(), statistics);
+      } else {
+        schedulingJob = scheduler.schedule(executor, delegateRunnable);
+      }
     }
   }
 
+  /**
+   * @return the statistics of the polls of this source.
+   */
+  public SchedulerSourceStatistics getStatistics() {
+    return statistics;
+  }
+
   private String formatKey(String key) {
     return format(OS_NAME_MASK, flowName, key);
   }
@@ -256,7 +280,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   public RestartContext beginRestart() {
     restarting.set(true);
     delegateRunnable.setDelegate(null);
-    return new RestartContext(executor, delegateRunnable);
+    return new RestartContext(executor, delegateRunnable, schedulingJob);
   }
 
   @Override
@@ -265,6 +289,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
     executor = restartContext.getExecutor();
     delegateRunnable = restartContext.getDelegateRunnable();
+    schedulingJob = restartContext.getSchedulingJob();
   }
 
   private class DefaultPollContext implements PollContext<T, A> {
@@ -587,6 +612,11 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   }
 
   private void withWatermarkLock(CheckedRunnable runnable) {
+    if (lockFactory instanceof AsyncLockFactory && ((AsyncLockFactory) lockFactory).isAsyncLockSupported()) {
+      withAsyncWatermarkLock((AsyncLockFactory) lockFactory, runnable);
+      return;
+    }
+
     Lock lock = getWatermarkLock();
     lock.lock();
     try {
@@ -596,6 +626,33 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     }
   }
 
+  private void withAsyncWatermarkLock(AsyncLockFactory asyncLockFactory, CheckedRunnable runnable) {
+    CompletableFuture<LockToken> lockAcquisition = asyncLockFactory.acquireAsync(formatKey("watermark"));
+    if (lockAcquisition.isDone()) {
+      runWithLock(lockAcquisition.join(), runnable);
+      return;
+    }
+
+    // The watermark is locked by a poll still in progress. Instead of keeping the polling thread waiting for it, this poll is
+    // resumed by the thread that hands the lock over. It is run right there rather than dispatched to the executor, which
+    // allows a single task at a time and is usually the one releasing the lock, so that the poll is never discarded.
+    lockAcquisition.thenAccept(lockToken -> {
+      try {
+        runWithLock(lockToken, runnable);
+      } catch (Throwable t) {
+        LOGGER.error(format("Found exception trying to poll source at flow '%s'. %s", flowName, t.getMessage()), t);
+      }
+    });
+  }
+
+  private void runWithLock(LockToken lockToken, CheckedRunnable runnable) {
+    try {
+      runnable.run();
+    } finally {
+      lockToken.release();
+    }
+  }
+
   private Lock getWatermarkLock() {
     return lockFactory.createLock(formatKey("watermark"));
   }
@@ -748,6 +805,11 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   }
 
   private void shutdownScheduler() {
+    // The shared timer is not stopped along with the executor, so its job has to be cancelled
+    if (schedulingJob != null) {
+      schedulingJob.cancel(false);
+      schedulingJob = null;
+    }
     if (executor != null) {
       executor.stop();
       executor = null;
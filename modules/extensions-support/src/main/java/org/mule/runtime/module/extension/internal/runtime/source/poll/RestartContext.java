@@ -8,6 +8,8 @@ package org.mule.runtime.module.extension.internal.runtime.source.poll;
 
 import org.mule.runtime.api.scheduler.Scheduler;
 
+import java.util.concurrent.ScheduledFuture;
+
 /**
  * Context needed to perform the restart of a source
  *
@@ -17,10 +19,16 @@ public class RestartContext {
 
   private final Scheduler executor;
   private final DelegateRunnable delegateRunnable;
+  private final ScheduledFuture<?> schedulingJob;
 
   public RestartContext(Scheduler executor, DelegateRunnable delegateRunnable) {
+    this(executor, delegateRunnable, null);
+  }
+
+  public RestartContext(Scheduler executor, DelegateRunnable delegateRunnable, ScheduledFuture<?> schedulingJob) {
     this.executor = executor;
     this.delegateRunnable = delegateRunnable;
+    this.schedulingJob = schedulingJob;
   }
 
   public Scheduler getExecutor() {
@@ -30,4 +38,11 @@ public class RestartContext {
   public DelegateRunnable getDelegateRunnable() {
     return delegateRunnable;
   }
+
+  /**
+   * @return the job that fires the source, or {@code null} if unknown.
+   */
+  public ScheduledFuture<?> getSchedulingJob() {
+    return schedulingJob;
+  }
 }
@@ -7,9 +7,13 @@
 
 package org.mule.runtime.module.extension.internal.runtime.streaming;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractConnectionException;
 import static org.mule.runtime.core.internal.util.FunctionalUtils.safely;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.COMPONENT_CONFIG_NAME;
@@ -26,6 +30,7 @@ import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
@@ -37,11 +42,14 @@ import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContext
 import org.mule.runtime.module.extension.internal.runtime.config.MutableConfigurationStats;
 import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 
@@ -59,6 +67,25 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   public static final String COULD_NOT_CREATE_A_CONNECTION_SUPPLIER =
       "Could not obtain a connection supplier for the configuration";
   public static final String COULD_NOT_EXECUTE = "Could not execute operation with connection";
+
+  /**
+   * Property to set how many pages to fetch in the background ahead of the one being consumed. Pages are not prefetched by
+   * default, nor by producers created without a prefetch {@link Scheduler}.
+   *
+   * @since 4.5.0
+   */
+  public static final String PREFETCH_PAGES_PROPERTY = "mule.extensions.paging.prefetchPages";
+
+  /**
+   * Property to set the maximum amount of elements held in the prefetched pages, so those don't take too much memory. Defaults to
+   * {@link #DEFAULT_PREFETCH_MAX_ELEMENTS}.
+   *
+   * @since 4.5.0
+   */
+  public static final String PREFETCH_MAX_ELEMENTS_PROPERTY = "mule.extensions.paging.prefetchMaxElements";
+
+  public static final int DEFAULT_PREFETCH_MAX_ELEMENTS = 10000;
+
   private PagingProvider<Object, T> delegate;
   private final ConfigurationInstance config;
   private final ExtensionConnectionSupplier extensionConnectionSupplier;
@@ -70,6 +97,18 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   private AtomicBoolean alreadyClosed = new AtomicBoolean(false);
   private final MutableConfigurationStats mutableStats;
 
+  // Calls to the delegate are serialized, as those were never concurrent before pages could be prefetched
+  private final Object delegateLock = new Object();
+  private final int prefetchPages;
+  private final int prefetchMaxElements;
+  private final Deque<CompletableFuture<List<T>>> prefetchedPages = new ArrayDeque<>();
+  private int prefetchedElements = 0;
+  private boolean fetchInProgress = false;
+  private boolean lastPageFetched = false;
+  private final Supplier<Scheduler> prefetchScheduler;
+  private ClassLoader prefetchClassLoader;
+  private volatile boolean closed = false;
+
   public PagingProviderProducer(PagingProvider<Object, T> delegate,
                                 ConfigurationInstance config,
                                 ExecutionContextAdapter executionContext,
@@ -82,6 +121,21 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
                                 ExecutionContextAdapter executionContext,
                                 ExtensionConnectionSupplier extensionConnectionSupplier,
                                 boolean supportsOAuth) {
+    this(delegate, config, executionContext, extensionConnectionSupplier, supportsOAuth, null);
+  }
+
+  /**
+   * @param prefetchScheduler supplies the {@link Scheduler} to prefetch the pages in, which is shared with other producers and not
+   *                          stopped by this one. If {@code null}, pages are not prefetched.
+   *
+   * @since 4.5.0
+   */
+  public PagingProviderProducer(PagingProvider<Object, T> delegate,
+                                ConfigurationInstance config,
+                                ExecutionContextAdapter executionContext,
+                                ExtensionConnectionSupplier extensionConnectionSupplier,
+                                boolean supportsOAuth,
+                                Supplier<Scheduler> prefetchScheduler) {
     this.delegate = new PagingProviderWrapper(delegate, executionContext.getExtensionModel());
     this.config = config;
     this.executionContext = executionContext;
@@ -90,24 +144,138 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     retryPolicy = (RetryPolicyTemplate) executionContext.getRetryPolicyTemplate().orElseGet(NoRetryPolicyTemplate::new);
     connectionSupplierFactory = createConnectionSupplierFactory();
     mutableStats = getMutableConfigurationStats(executionContext);
+    prefetchPages = getInteger(PREFETCH_PAGES_PROPERTY, 0);
+    prefetchMaxElements = getInteger(PREFETCH_MAX_ELEMENTS_PROPERTY, DEFAULT_PREFETCH_MAX_ELEMENTS);
+    this.prefetchScheduler = prefetchScheduler;
   }
 
   /**
-   * Asks the delegate for the next page
+   * Asks the delegate for the next page, or takes it from the ones already prefetched.
    */
   @Override
   public List<T> produce() {
-    List<T> page = performWithConnection(delegate::getPage);
-    isFirstPage = false;
+    if (isFirstPage) {
+      List<T> page = fetchPage();
+      isFirstPage = false;
+      // Pages fetched in another thread would not be part of the transaction of this one
+      if (prefetchPages > 0 && prefetchScheduler != null && !isPartOfActiveTransaction(config) && page != null
+          && !page.isEmpty()) {
+        prefetchClassLoader = currentThread().getContextClassLoader();
+        prefetchNextPage();
+      }
+      return page;
+    }
+
+    final CompletableFuture<List<T>> prefetchedPage;
+    synchronized (prefetchedPages) {
+      prefetchedPage = prefetchedPages.poll();
+      if (prefetchedPage == null && lastPageFetched) {
+        return emptyList();
+      }
+    }
+
+    if (prefetchedPage == null) {
+      return fetchPage();
+    }
+
+    final List<T> page = getPrefetchedPage(prefetchedPage);
+    synchronized (prefetchedPages) {
+      prefetchedElements -= page == null ? 0 : page.size();
+    }
+    prefetchNextPage();
     return page;
   }
 
+  private List<T> fetchPage() {
+    synchronized (delegateLock) {
+      return performWithConnection(delegate::getPage);
+    }
+  }
+
+  /**
+   * Fetches the next page in the background, unless one is already being fetched or the prefetched pages are over the limits.
+   * Pages are fetched one at a time and in order, so the delegate is still used sequentially.
+   * <p>
+   * If the page can't be fetched in the background (for instance, because the operation was stopped along with its
+   * {@link Scheduler}), it is fetched right away in the calling thread, so that the consumer still gets all the pages.
+   */
+  private void prefetchNextPage() {
+    final CompletableFuture<List<T>> page = new CompletableFuture<>();
+    synchronized (prefetchedPages) {
+      if (closed || fetchInProgress || lastPageFetched || prefetchedPages.size() >= prefetchPages
+          || prefetchedElements >= prefetchMaxElements) {
+        return;
+      }
+      fetchInProgress = true;
+      prefetchedPages.add(page);
+    }
+
+    try {
+      prefetchScheduler.get().execute(() -> withContextClassLoader(prefetchClassLoader, () -> doPrefetch(page)));
+    } catch (RuntimeException e) {
+      LOGGER.debug("Could not prefetch the next page in the background, fetching it synchronously", e);
+      withContextClassLoader(prefetchClassLoader, () -> doPrefetch(page));
+    }
+  }
+
+  private void doPrefetch(CompletableFuture<List<T>> page) {
+    List<T> fetched = null;
+    boolean failed = true;
+    try {
+      synchronized (delegateLock) {
+        if (closed) {
+          fetched = emptyList();
+        } else {
+          fetched = performWithConnection(delegate::getPage);
+        }
+      }
+      failed = false;
+    } catch (Throwable t) {
+      page.completeExceptionally(t);
+    } finally {
+      onPrefetchComplete(fetched, failed);
+    }
+
+    if (!failed) {
+      page.complete(fetched);
+      prefetchNextPage();
+    }
+  }
+
+  private void onPrefetchComplete(List<T> page, boolean failed) {
+    synchronized (prefetchedPages) {
+      fetchInProgress = false;
+      if (failed || page == null || page.isEmpty()) {
+        // The consumer will stop on the error or the empty page, there's nothing else to fetch
+        lastPageFetched = true;
+      } else {
+        prefetchedElements += page.size();
+      }
+    }
+  }
+
+  private List<T> getPrefetchedPage(CompletableFuture<List<T>> page) {
+    try {
+      return page.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e.getCause());
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e);
+    }
+  }
+
   /**
    * Returns the total amount of available results informed by delegate
    */
   @Override
   public int getSize() {
-    return performWithConnection(connection -> delegate.getTotalResults(connection)).orElse(-1);
+    synchronized (delegateLock) {
+      return performWithConnection(connection -> delegate.getTotalResults(connection)).orElse(-1);
+    }
   }
 
   /**
@@ -194,6 +362,17 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
    */
   @Override
   public void close() {
+    closed = true;
+    synchronized (delegateLock) {
+      doClose();
+    }
+
+    synchronized (prefetchedPages) {
+      prefetchedPages.clear();
+    }
+  }
+
+  private void doClose() {
     ConnectionSupplier connectionSupplier = null;
     try {
       connectionSupplier = connectionSupplierFactory.getConnectionSupplier();
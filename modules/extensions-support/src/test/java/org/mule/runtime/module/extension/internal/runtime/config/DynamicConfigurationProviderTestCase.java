@@ -236,6 +236,26 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(configs, containsInAnyOrder(instance1, instance2));
   }
 
+  @Test
+  public void cacheStatistics() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    ConfigurationInstance configuration = provider.get(event);
+    provider.get(event);
+    provider.get(event);
+
+    assertThat(((MutableConfigurationStats) configuration.getStatistics()).getCacheHits(), is(2L));
+    assertThat(provider.getCacheMisses(), is(1L));
+    assertThat(provider.getCreatedConfigurations(), is(1L));
+    assertThat(provider.getExpiredConfigurations(), is(0L));
+
+    timeSupplier.move(10, MINUTES);
+    provider.getExpired();
+
+    assertThat(provider.getExpiredConfigurations(), is(1L));
+    assertThat(provider.get(event), is(not(sameInstance(configuration))));
+    assertThat(provider.getCreatedConfigurations(), is(2L));
+  }
+
   @Test
   public void configurationInstanceIsRemovedFromLifecycleTrackingAfterExpired() throws Exception {
     HeisenbergExtension instance = (HeisenbergExtension) provider.get(event).getValue();
@@ -15,8 +15,10 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 import static org.mule.runtime.api.store.ObjectStoreSettings.DEFAULT_EXPIRATION_INTERVAL;
 import static org.mule.runtime.core.api.util.ClassUtils.setFieldValue;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.PollingSourceWrapper.WATERMARK_COMPARISON_MESSAGE;
@@ -39,6 +41,8 @@ import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.lock.AsyncLockFactory;
+import org.mule.runtime.core.internal.lock.LockToken;
 import org.mule.runtime.module.extension.internal.runtime.source.poll.PollingSourceWrapper;
 import org.mule.sdk.api.runtime.operation.Result;
 import org.mule.sdk.api.runtime.source.PollContext;
@@ -51,6 +55,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -92,6 +98,7 @@ public class PollingSourceWrapperTestCase {
 
   private PollingSource pollingSource = mock(PollingSource.class);
   private SchedulingStrategy schedulingStrategy = mock(SchedulingStrategy.class);
+  private ScheduledFuture<?> schedulingJob = mock(ScheduledFuture.class);
 
   private Logger logger;
   private List<String> debugMessages;
@@ -106,13 +113,13 @@ public class PollingSourceWrapperTestCase {
     when(componentLocationMock.getRootContainerName()).thenReturn(TEST_FLOW_NAME);
     setComponentLocationMock();
 
-    when(schedulingStrategy.schedule(any(), any())).thenAnswer(new Answer<Void>() {
+    when(schedulingStrategy.schedule(any(), any())).thenAnswer(new Answer<ScheduledFuture<?>>() {
 
       @Override
-      public Void answer(InvocationOnMock invocation) throws Throwable {
+      public ScheduledFuture<?> answer(InvocationOnMock invocation) throws Throwable {
         Runnable runnable = (Runnable) invocation.getArgument(1);
         runnable.run();
-        return null;
+        return schedulingJob;
       }
     });
 
@@ -206,6 +213,32 @@ public class PollingSourceWrapperTestCase {
     verifyLogMessage(traceMessages, WATERMARK_SAVED_MESSAGE, WATERMARK_ITEM_OS_KEY, 4, TEST_FLOW_NAME);
   }
 
+  @Test
+  public void schedulingJobIsCancelledOnStop() throws MuleException {
+    pollingSourceWrapper.onStart(callbackMock);
+    pollingSourceWrapper.onStop();
+    verify(schedulingJob).cancel(false);
+  }
+
+  @Test
+  public void pollWaitingForWatermarkLockRunsOnceLockIsHandedOver() throws Exception {
+    LockFactory asyncLockFactory = mock(LockFactory.class, withSettings().extraInterfaces(AsyncLockFactory.class));
+    CompletableFuture<LockToken> lockAcquisition = new CompletableFuture<>();
+    when(((AsyncLockFactory) asyncLockFactory).isAsyncLockSupported()).thenReturn(true);
+    when(((AsyncLockFactory) asyncLockFactory).acquireAsync(anyString())).thenReturn(lockAcquisition);
+    setFieldValue(pollingSourceWrapper, "lockFactory", asyncLockFactory, false);
+
+    pollingSourceWrapper.onStart(callbackMock);
+    verify(pollingSource, never()).poll(any());
+
+    // The executor of the source is a mock that never runs what it is given, so the poll must not be dispatched to it
+    LockToken lockToken = mock(LockToken.class);
+    lockAcquisition.complete(lockToken);
+
+    verify(pollingSource).poll(any());
+    verify(lockToken).release();
+  }
+
   private void assertPersistentStoreIsCreated(String expectedName, Long expirationInterval) {
     assertStoreIsCreated(expectedName, true, expirationInterval);
   }
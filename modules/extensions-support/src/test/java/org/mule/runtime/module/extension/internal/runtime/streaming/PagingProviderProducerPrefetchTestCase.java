@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.streaming;
+
+import static org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer.PREFETCH_MAX_ELEMENTS_PROPERTY;
+import static org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer.PREFETCH_PAGES_PROPERTY;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.extension.api.property.ClassLoaderModelProperty;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@SmallTest
+public class PagingProviderProducerPrefetchTestCase extends AbstractMuleTestCase {
+
+  private static final long PROBER_TIMEOUT = 5000;
+  private static final long PROBER_INTERVAL = 50;
+
+  @Rule
+  public SystemProperty prefetchPages = new SystemProperty(PREFETCH_PAGES_PROPERTY, "2");
+
+  @Rule
+  public SystemProperty prefetchMaxElements = new SystemProperty(PREFETCH_MAX_ELEMENTS_PROPERTY, "100");
+
+  private final ExtensionConnectionSupplier extensionConnectionSupplier = mock(ExtensionConnectionSupplier.class);
+  private final ExecutionContextAdapter executionContext = mock(ExecutionContextAdapter.class);
+  private final PagingProvider<Object, String> delegate = mock(PagingProvider.class);
+  private final ConfigurationInstance config = mock(ConfigurationInstance.class);
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private final Scheduler prefetchScheduler = mock(Scheduler.class);
+
+  private final List<String> firstPage = asList("a", "b");
+  private final List<String> secondPage = asList("c", "d");
+  private final List<String> thirdPage = asList("e");
+
+  private PagingProviderProducer<String> producer;
+
+  @Before
+  public void setUp() throws Exception {
+    ExtensionModel extensionModel = mock(ExtensionModel.class);
+    when(executionContext.getExtensionModel()).thenReturn(extensionModel);
+    ClassLoaderModelProperty property = new ClassLoaderModelProperty(getClass().getClassLoader());
+    when(extensionModel.getModelProperty(ClassLoaderModelProperty.class)).thenReturn(of(property));
+
+    Scheduler executor = schedulerService.ioScheduler();
+    doAnswer(invocation -> {
+      executor.execute(invocation.getArgument(0));
+      return null;
+    }).when(prefetchScheduler).execute(any());
+
+    ConnectionHandler handler = mock(ConnectionHandler.class);
+    when(handler.getConnection()).thenReturn(new Object());
+    when(extensionConnectionSupplier.getConnection(executionContext)).thenReturn(handler);
+
+    when(delegate.getPage(any())).thenReturn(firstPage, secondPage, thirdPage, emptyList());
+
+    producer = createProducer();
+  }
+
+  @After
+  public void after() throws Exception {
+    schedulerService.stop();
+  }
+
+  private PagingProviderProducer<String> createProducer() {
+    return new PagingProviderProducer<>(delegate, config, executionContext, extensionConnectionSupplier, false,
+                                        () -> prefetchScheduler);
+  }
+
+  @Test
+  public void nextPagesArePrefetched() {
+    assertThat(producer.produce(), sameInstance(firstPage));
+
+    // The first page was fetched by the consumer and the following 2 in the background
+    assertGetPageCalls(3);
+
+    assertThat(producer.produce(), sameInstance(secondPage));
+    assertThat(producer.produce(), sameInstance(thirdPage));
+    assertThat(producer.produce().isEmpty(), is(true));
+    assertThat(producer.produce().isEmpty(), is(true));
+    verify(delegate, times(4)).getPage(any());
+  }
+
+  @Test
+  public void prefetchIsBoundedByMaxElements() throws Exception {
+    System.setProperty(PREFETCH_MAX_ELEMENTS_PROPERTY, "1");
+    producer = createProducer();
+
+    producer.produce();
+    assertGetPageCalls(2);
+    // Give a chance to an unexpected prefetch to happen
+    Thread.sleep(200);
+    verify(delegate, times(2)).getPage(any());
+  }
+
+  @Test
+  public void prefetchErrorIsThrownWhenPageIsConsumed() {
+    IllegalStateException error = new IllegalStateException("Expected");
+    when(delegate.getPage(any())).thenReturn(firstPage).thenThrow(error);
+
+    producer.produce();
+    try {
+      producer.produce();
+    } catch (IllegalStateException e) {
+      assertThat(e, sameInstance(error));
+      return;
+    }
+    throw new AssertionError("Prefetch error not thrown");
+  }
+
+  @Test
+  public void closeStopsPrefetching() throws Exception {
+    producer.produce();
+    assertGetPageCalls(3);
+
+    producer.close();
+
+    verify(delegate).close(any());
+    verify(delegate, times(3)).getPage(any());
+    // The scheduler is shared with other producers
+    verify(prefetchScheduler, never()).stop();
+  }
+
+  @Test
+  public void pagesAreFetchedSynchronouslyWhenPrefetchIsRejected() {
+    doThrow(new RejectedExecutionException()).when(prefetchScheduler).execute(any());
+
+    assertThat(producer.produce(), sameInstance(firstPage));
+    assertThat(producer.produce(), sameInstance(secondPage));
+    assertThat(producer.produce(), sameInstance(thirdPage));
+    assertThat(producer.produce().isEmpty(), is(true));
+    verify(delegate, times(4)).getPage(any());
+  }
+
+  @Test
+  public void pagesAreNotPrefetchedWithoutScheduler() {
+    producer = new PagingProviderProducer<>(delegate, config, executionContext, extensionConnectionSupplier);
+
+    assertThat(producer.produce(), sameInstance(firstPage));
+    verify(delegate, times(1)).getPage(any());
+    assertThat(producer.produce(), sameInstance(secondPage));
+  }
+
+  private void assertGetPageCalls(int calls) {
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> {
+      verify(delegate, times(calls)).getPage(any());
+      return true;
+    }));
+  }
+}
@@ -19,6 +19,7 @@ import static org.mule.runtime.core.api.config.i18n.CoreMessages.fatalErrorWhile
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.api.util.StringMessageUtils.getBoilerPlate;
 import static org.mule.runtime.core.internal.logging.LogUtil.log;
+import static org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactClassLists.getArtifactClassLists;
 import static org.mule.runtime.module.deployment.internal.DeploymentDirectoryWatcher.DEPLOYMENT_APPLICATION_PROPERTY;
 import static org.mule.runtime.module.deployment.internal.MuleDeploymentService.findSchedulerService;
 
@@ -26,11 +27,13 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.container.api.MuleFoldersUtil;
 import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.util.SystemUtils;
 import org.mule.runtime.core.internal.context.DefaultMuleContext;
 import org.mule.runtime.core.internal.lock.ServerLockFactory;
+import org.mule.runtime.core.internal.source.scheduler.SchedulerSourceTimer;
 import org.mule.runtime.deployment.model.internal.artifact.extension.ExtensionModelLoaderManager;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.net.MuleArtifactUrlStreamHandler;
@@ -118,6 +121,7 @@ public class MuleContainer {
   private final ServiceManager serviceManager;
   private final ExtensionModelLoaderManager extensionModelLoaderManager;
   private boolean embeddedMode = false;
+  private Scheduler classListPreloader;
 
   /**
    * Application entry point.
@@ -248,6 +252,10 @@ public class MuleContainer {
       createExecutionMuleFolder();
 
       serviceManager.start();
+      getArtifactClassLists()
+          .ifPresent(classLists -> classListPreloader = classLists.preloadAsync(findSchedulerService(serviceManager),
+                                                                                 "MuleRuntime",
+                                                                                 getContainerArtifactClassLoaders()));
 
       coreExtensionManager.setDeploymentService(deploymentService);
       coreExtensionManager.setRepositoryService(repositoryService);
@@ -265,11 +273,22 @@ public class MuleContainer {
 
       extensionModelLoaderManager.start();
       deploymentService.start();
+      getArtifactClassLists().ifPresent(classLists -> getContainerArtifactClassLoaders().forEach(classLists::write));
     } catch (Throwable e) {
       shutdown(e);
     }
   }
 
+  /**
+   * @return the class loaders of the container and the services, and of any artifact already deployed.
+   */
+  private List<ArtifactClassLoader> getContainerArtifactClassLoaders() {
+    List<ArtifactClassLoader> artifactClassLoaders = new ArrayList<>();
+    artifactClassLoaders.add(artifactResourcesRegistry.getContainerClassLoader());
+    artifactClassLoaders.addAll(artifactResourcesRegistry.getArtifactClassLoaderManager().getArtifactClassLoaders());
+    return artifactClassLoaders;
+  }
+
   private void validateLicense() {
     try {
       invokeStaticMethod(MuleContainerBootstrap.class, "awaitLicenseValidation");
@@ -342,6 +361,8 @@ public class MuleContainer {
     if (deploymentService != null) {
       deploymentService.stop();
     }
+    // Once every artifact is stopped, no source is fired from it anymore
+    SchedulerSourceTimer.stopSharedTimer();
 
     if (muleLockFactory != null) {
       muleLockFactory.dispose();
@@ -354,6 +375,11 @@ public class MuleContainer {
     coreExtensionManager.stop();
     coreExtensionManager.dispose();
 
+    if (classListPreloader != null) {
+      classListPreloader.stop();
+      classListPreloader = null;
+    }
+
     if (serviceManager != null) {
       serviceManager.stop();
     }
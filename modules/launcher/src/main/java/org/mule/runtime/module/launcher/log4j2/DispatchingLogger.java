@@ -10,12 +10,15 @@ import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
 import static java.lang.Thread.currentThread;
 import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
+import static org.mule.runtime.module.launcher.log4j2.LoggerContextCache.getLoggerContextsGeneration;
+import static org.mule.runtime.module.launcher.log4j2.LoggerContextCache.loggerContextsChanged;
 import static org.reflections.ReflectionUtils.getAllMethods;
 import static org.reflections.ReflectionUtils.withName;
 import static org.reflections.ReflectionUtils.withParameters;
 
 import org.mule.runtime.api.util.Reference;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
@@ -62,6 +65,9 @@ abstract class DispatchingLogger extends Logger {
       .weakValues()
       .build(key -> new Reference<>());
 
+  // Avoids resolving the logger again while a thread keeps logging with the same context classloader
+  private final ThreadLocal<LastResolvedLogger> lastResolvedLogger = new ThreadLocal<>();
+
   private Method updateConfigurationMethod = null;
 
   DispatchingLogger(Logger originalLogger, int ownerClassLoaderHash, LoggerContext loggerContext, ContextSelector contextSelector,
@@ -73,28 +79,49 @@ abstract class DispatchingLogger extends Logger {
   }
 
   private Logger getLogger() {
-    return getLogger(resolveLoggerContextClassLoader(currentThread().getContextClassLoader()));
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+
+    final LastResolvedLogger lastResolved = lastResolvedLogger.get();
+    if (lastResolved != null) {
+      final Logger logger = lastResolved.getLogger(contextClassLoader);
+      if (logger != null) {
+        return logger;
+      }
+    }
+
+    // Read before resolving, so that changes in the logger contexts while resolving invalidate what is resolved now
+    final int loggerContextsGeneration = getLoggerContextsGeneration();
+    final ClassLoader resolvedCtxClassLoader = resolveLoggerContextClassLoader(contextClassLoader);
+    final Logger logger = getResolvedLogger(resolvedCtxClassLoader);
+    if (logger == null) {
+      // Not resolved yet, or its resolution fell back to another logger. Either way it is not remembered until it is.
+      return getLogger(resolvedCtxClassLoader);
+    }
+
+    if (contextClassLoader != null) {
+      lastResolvedLogger.set(new LastResolvedLogger(contextClassLoader, logger, loggerContextsGeneration));
+    }
+    return logger;
   }
 
-  private Logger getLogger(final ClassLoader resolvedCtxClassLoader) {
+  /**
+   * @return the logger already resolved for the given classloader, or {@code null} if it was not resolved yet.
+   */
+  private Logger getResolvedLogger(final ClassLoader resolvedCtxClassLoader) {
     if (useThisLoggerContextClassLoader(resolvedCtxClassLoader)) {
       return originalLogger;
     }
 
-    Reference<Logger> loggerReference;
+    return getLoggerReference(resolvedCtxClassLoader).get();
+  }
 
-    // Switch back the tccl for the cache lookup, to avoid caffeine internal threads to have a reference to an app classloader.
-    Thread thread = Thread.currentThread();
-    ClassLoader currentClassLoader = thread.getContextClassLoader();
-    setContextClassLoader(thread, currentClassLoader, getClass().getClassLoader());
-    try {
-      // we need to cache reference objects and do this double lookup to avoid cyclic resolutions of the same classloader
-      // key which would result in an exception or a deadlock, depending on the cache implementation
-      loggerReference = loggerCache.get(resolvedCtxClassLoader);
-    } finally {
-      setContextClassLoader(thread, getClass().getClassLoader(), currentClassLoader);
+  private Logger getLogger(final ClassLoader resolvedCtxClassLoader) {
+    if (useThisLoggerContextClassLoader(resolvedCtxClassLoader)) {
+      return originalLogger;
     }
 
+    Reference<Logger> loggerReference = getLoggerReference(resolvedCtxClassLoader);
+
     Logger logger = loggerReference.get();
     if (logger == null) {
       synchronized (loggerReference) {
@@ -114,6 +141,20 @@ abstract class DispatchingLogger extends Logger {
     return logger;
   }
 
+  private Reference<Logger> getLoggerReference(final ClassLoader resolvedCtxClassLoader) {
+    // Switch back the tccl for the cache lookup, to avoid caffeine internal threads to have a reference to an app classloader.
+    Thread thread = Thread.currentThread();
+    ClassLoader currentClassLoader = thread.getContextClassLoader();
+    setContextClassLoader(thread, currentClassLoader, getClass().getClassLoader());
+    try {
+      // we need to cache reference objects and do this double lookup to avoid cyclic resolutions of the same classloader
+      // key which would result in an exception or a deadlock, depending on the cache implementation
+      return loggerCache.get(resolvedCtxClassLoader);
+    } finally {
+      setContextClassLoader(thread, getClass().getClassLoader(), currentClassLoader);
+    }
+  }
+
   private Logger resolveLogger(ClassLoader resolvedCtxClassLoader) {
     Logger logger;
     // trick - this is probably a logger declared in a static field
@@ -152,6 +193,7 @@ abstract class DispatchingLogger extends Logger {
    */
   @Override
   protected void updateConfiguration(final Configuration config) {
+    loggerContextsChanged();
     if (lookupUpdateConfigurationMethod()) {
       try {
         updateConfigurationMethod.invoke(originalLogger, config);
@@ -994,4 +1036,35 @@ abstract class DispatchingLogger extends Logger {
   public void warn(String message, Throwable t) {
     getLogger().warn(message, t);
   }
+
+  /**
+   * The logger resolved for a context classloader by a thread, while the logger contexts are not changed.
+   * <p>
+   * Only weak references are kept, so that the thread does not keep the classloader nor its logger context from being collected.
+   */
+  private static final class LastResolvedLogger {
+
+    private final WeakReference<ClassLoader> contextClassLoader;
+    private final WeakReference<Logger> logger;
+    private final int loggerContextsGeneration;
+
+    private LastResolvedLogger(ClassLoader contextClassLoader, Logger logger, int loggerContextsGeneration) {
+      this.contextClassLoader = new WeakReference<>(contextClassLoader);
+      this.logger = new WeakReference<>(logger);
+      this.loggerContextsGeneration = loggerContextsGeneration;
+    }
+
+    /**
+     * @return the resolved logger if it was resolved for the given context classloader and is still valid, {@code null}
+     *         otherwise.
+     */
+    private Logger getLogger(ClassLoader contextClassLoader) {
+      if (contextClassLoader == null
+          || this.contextClassLoader.get() != contextClassLoader
+          || loggerContextsGeneration != getLoggerContextsGeneration()) {
+        return null;
+      }
+      return logger.get();
+    }
+  }
 }
@@ -29,6 +29,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -57,6 +58,8 @@ final class LoggerContextCache implements Disposable {
   private static final long DEFAULT_DISPOSE_DELAY_IN_MILLIS = 15000;
 
   private static final ThreadLocal<Boolean> isLoggerContextUnderConstruction = withInitial(() -> Boolean.FALSE);
+  // Changed each time a logger context is built, reconfigured or disposed, so that loggers already resolved are resolved again
+  private static final AtomicInteger loggerContextsGeneration = new AtomicInteger();
   private final ArtifactAwareContextSelector artifactAwareContextSelector;
   // Extra cache layer to avid some nasty implications for using Guava cache at this point. See the comments in
   // #doGetLoggerContext(final ClassLoader classLoader) for details.
@@ -79,6 +82,7 @@ final class LoggerContextCache implements Disposable {
           Int2ObjectMap<LoggerContext> newBuiltContexts = new Int2ObjectOpenHashMap<>(builtContexts);
           newBuiltContexts.remove(((Integer) key).intValue());
           builtContexts = newBuiltContexts;
+          loggerContextsChanged();
         }).build();
 
     executorService = newScheduledThreadPool(1, new LoggerContextReaperThreadFactory(reaperContextClassLoader));
@@ -165,6 +169,7 @@ final class LoggerContextCache implements Disposable {
         Int2ObjectMap<LoggerContext> newBuiltContexts = new Int2ObjectOpenHashMap<>(builtContexts);
         newBuiltContexts.put(k.intValue(), context);
         builtContexts = newBuiltContexts;
+        loggerContextsChanged();
 
         return context;
       }
@@ -198,6 +203,7 @@ final class LoggerContextCache implements Disposable {
     }
 
     disposedContexts.put(key, loggerContext);
+    loggerContextsChanged();
     synchronized (executorService) {
       if (!executorService.isShutdown()) {
         // add one millisecond to make sure entries will be expired
@@ -228,6 +234,23 @@ final class LoggerContextCache implements Disposable {
     builtContexts.clear();
     disposedContexts.invalidateAll();
     disposedContexts.cleanUp();
+    loggerContextsChanged();
+  }
+
+  /**
+   * @return a value that changes each time a {@link LoggerContext} is built, reconfigured or disposed. Anything resolved from the
+   *         logger contexts while this value is the same is still valid.
+   */
+  static int getLoggerContextsGeneration() {
+    return loggerContextsGeneration.get();
+  }
+
+  /**
+   * Registers that a {@link LoggerContext} was built, reconfigured or disposed, invalidating anything resolved from the logger
+   * contexts before.
+   */
+  static void loggerContextsChanged() {
+    loggerContextsGeneration.incrementAndGet();
   }
 
   /**
@@ -13,6 +13,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
+import static org.mule.runtime.module.launcher.log4j2.LoggerContextCache.loggerContextsChanged;
 import static org.mule.test.allure.AllureConstants.ComponentsFeature.CORE_COMPONENTS;
 import static org.mule.test.allure.AllureConstants.ComponentsFeature.LoggerStory.LOGGER;
 
@@ -146,4 +147,33 @@ public class DispatchingLoggerTestCase extends AbstractMuleTestCase {
     verify(regionClassLoaderLogger, times(1)).info("Test Message");
   }
 
+  @Test
+  public void resolvedLoggerFollowsContextClassLoader() {
+    Logger regionClassLoaderLogger = mock(Logger.class);
+    when(regionClassLoaderLoggerContext.getLogger(anyString(), any(MessageFactory.class))).thenReturn(regionClassLoaderLogger);
+    when(artifactAwareContextSelector.getContextWithResolvedContextClassLoader(regionClassLoader))
+        .thenAnswer(invocation -> regionClassLoaderLoggerContext);
+    DispatchingLogger dispatchingLogger = new DispatchingLogger(originalLogger, currentClassLoader.hashCode(),
+                                                                containerLoggerContext, artifactAwareContextSelector,
+                                                                messageFactory) {
+
+      @Override
+      public String getName() {
+        return LOGGER_NAME;
+      }
+    };
+
+    for (int i = 0; i < 3; ++i) {
+      withContextClassLoader(regionClassLoader, () -> dispatchingLogger.info("Region Message"));
+      dispatchingLogger.info("Container Message");
+    }
+    // Resolved loggers are not remembered across changes in the logger contexts
+    loggerContextsChanged();
+    withContextClassLoader(regionClassLoader, () -> dispatchingLogger.info("Region Message"));
+
+    verify(regionClassLoaderLogger, times(4)).info("Region Message");
+    verify(originalLogger, times(3)).info("Container Message");
+    verify(artifactAwareContextSelector, times(1)).getContextWithResolvedContextClassLoader(regionClassLoader);
+  }
+
 }
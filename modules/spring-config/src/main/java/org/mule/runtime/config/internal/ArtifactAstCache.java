@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal;
+
+import static org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider.JSON;
+import static org.mule.runtime.core.api.config.MuleManifest.getProductVersion;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparing;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.apache.commons.io.IOUtils.copy;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.serialization.ArtifactAstDeserializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.core.api.config.bootstrap.ArtifactType;
+import org.mule.runtime.dsl.api.ConfigResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps the {@link ArtifactAst} of an artifact serialized in its working directory, so that it doesn't have to be parsed and
+ * validated from its XML config files again when the artifact is redeployed or restarted without changes.
+ * <p>
+ * The cached AST is identified by a hash of everything the parsed AST depends on: the content of the config files, the name and
+ * version of the available extensions, the artifact properties, the parser settings and the runtime version. Only the AST for the
+ * latest hash is kept.
+ * <p>
+ * The files imported by the config files are resolved while parsing them, so they are not part of the hash. The AST of an
+ * artifact that imports files is not cached.
+ *
+ * @since 4.5.0
+ */
+public class ArtifactAstCache {
+
+  /**
+   * System property to enable caching the parsed {@link ArtifactAst} of the deployed artifacts.
+   */
+  public static final String ARTIFACT_AST_CACHE_PROPERTY_KEY = "mule.artifactAst.cache";
+
+  static final String CACHE_DIR = "artifact-ast-cache";
+
+  private static final Logger LOGGER = getLogger(ArtifactAstCache.class);
+
+  private static final String CACHE_FILE_EXTENSION = ".ast";
+  private static final String SERIALIZER_VERSION = "1.0";
+
+  private final File cacheDir;
+  private final ArtifactAstSerializerProvider serializerProvider = new ArtifactAstSerializerProvider();
+
+  public ArtifactAstCache(File workingDirectory) {
+    this.cacheDir = new File(workingDirectory, CACHE_DIR);
+  }
+
+  /**
+   * Computes the key under which the {@link ArtifactAst} parsed with the given parameters is cached.
+   *
+   * @return the key, or {@link Optional#empty()} if the AST can't be cached because some config resource can't be read twice.
+   */
+  public Optional<String> computeKey(ConfigResource[] artifactConfigResources, Set<ExtensionModel> extensions,
+                                     Map<String, String> artifactProperties, ArtifactType artifactType,
+                                     boolean disableXmlValidations, boolean failOnFirstError) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      LOGGER.warn("Unable to compute the key for the ArtifactAst cache", e);
+      return empty();
+    }
+
+    update(digest, getProductVersion());
+    update(digest, artifactType.name());
+    update(digest, Boolean.toString(disableXmlValidations));
+    update(digest, Boolean.toString(failOnFirstError));
+
+    for (ConfigResource configResource : artifactConfigResources) {
+      final URL url = configResource.getUrl();
+      if (url == null) {
+        // The content of the resource is an already open stream that will be needed for parsing it
+        return empty();
+      }
+
+      update(digest, configResource.getResourceName());
+      try (InputStream content = new DigestInputStream(url.openStream(), digest)) {
+        byte[] buffer = new byte[8192];
+        while (content.read(buffer) != -1) {
+          // just read it so its content is digested
+        }
+      } catch (IOException e) {
+        LOGGER.warn("Unable to read config resource '" + configResource.getResourceName() + "' for the ArtifactAst cache", e);
+        return empty();
+      }
+    }
+
+    List<ExtensionModel> sortedExtensions = new ArrayList<>(extensions);
+    sortedExtensions.sort(comparing(ExtensionModel::getName));
+    for (ExtensionModel extension : sortedExtensions) {
+      update(digest, extension.getName());
+      update(digest, extension.getVersion());
+    }
+
+    new TreeMap<>(artifactProperties).forEach((key, value) -> {
+      update(digest, key);
+      update(digest, value);
+    });
+
+    return of(format("%064x", new BigInteger(1, digest.digest())));
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    if (value == null) {
+      digest.update((byte) 0);
+    } else {
+      digest.update((byte) 1);
+      digest.update(value.getBytes(UTF_8));
+    }
+    // separator so that consecutive values are not ambiguous
+    digest.update((byte) 0xFF);
+  }
+
+  /**
+   * @param key        the key returned by {@link #computeKey}
+   * @param extensions the extensions available to the artifact
+   * @param parent     the AST of the parent artifact, if any
+   * @return the cached {@link ArtifactAst} for the given key, if present.
+   */
+  public Optional<ArtifactAst> get(String key, Set<ExtensionModel> extensions, ArtifactAst parent) {
+    final Path cacheFile = getCacheFile(key);
+    if (!cacheFile.toFile().exists()) {
+      return empty();
+    }
+
+    final ArtifactAstDeserializer deserializer = serializerProvider.getDeserializer();
+    try (InputStream serializedAst = newInputStream(cacheFile)) {
+      ArtifactAst artifactAst = deserializer.deserialize(serializedAst, extensionName -> extensions.stream()
+          .filter(extension -> extension.getName().equals(extensionName))
+          .findAny()
+          .orElse(null), parent);
+      LOGGER.debug("Using cached ArtifactAst from '{}'", cacheFile);
+      return of(artifactAst);
+    } catch (Exception e) {
+      LOGGER.warn("Unable to read the cached ArtifactAst from '" + cacheFile + "', it will be discarded", e);
+      discard(cacheFile);
+      return empty();
+    }
+  }
+
+  /**
+   * Stores the given {@link ArtifactAst} under the given key, replacing any previously cached one. Nothing is stored if the AST
+   * has imported resources.
+   *
+   * @param key         the key returned by {@link #computeKey}
+   * @param artifactAst the AST to cache
+   */
+  public void put(String key, ArtifactAst artifactAst) {
+    if (!artifactAst.getImportedResources().isEmpty()) {
+      // Changes in the imported files would go unnoticed, since the key only covers the content of the config resources
+      LOGGER.debug("ArtifactAst not cached since it has imported resources");
+      return;
+    }
+
+    final Path cacheFile = getCacheFile(key);
+    final Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+    try {
+      createDirectories(cacheDir.toPath());
+      try (InputStream serializedAst = serializerProvider.getSerializer(JSON, SERIALIZER_VERSION).serialize(artifactAst);
+          OutputStream out = newOutputStream(tempFile)) {
+        copy(serializedAst, out);
+      }
+      move(tempFile, cacheFile, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (Exception e) {
+      LOGGER.warn("Unable to cache the ArtifactAst in '" + cacheFile + "'", e);
+      discard(tempFile);
+      return;
+    }
+
+    // Only the AST of the current version of the artifact is of use
+    File[] cachedFiles = cacheDir.listFiles((dir, name) -> !name.equals(cacheFile.getFileName().toString()));
+    if (cachedFiles != null) {
+      for (File cachedFile : cachedFiles) {
+        discard(cachedFile.toPath());
+      }
+    }
+  }
+
+  private Path getCacheFile(String key) {
+    return new File(cacheDir, key + CACHE_FILE_EXTENSION).toPath();
+  }
+
+  private static void discard(Path file) {
+    try {
+      deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.debug("Unable to delete '" + file + "'", e);
+    }
+  }
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.config.internal;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.ENTITY_RESOLVER_FAIL_ON_FIRST_ERROR;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.ast.api.util.MuleAstUtils.emptyArtifact;
+import static org.mule.runtime.config.internal.ArtifactAstCache.ARTIFACT_AST_CACHE_PROPERTY_KEY;
 import static org.mule.runtime.config.api.dsl.ArtifactDeclarationUtils.toArtifactast;
 import static org.mule.runtime.config.internal.ApplicationFilteredFromPolicyArtifactAst.applicationFilteredFromPolicyArtifactAst;
 import static org.mule.runtime.config.internal.registry.AbstractSpringRegistry.SPRING_APPLICATION_CONTEXT;
@@ -18,6 +19,7 @@ import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.internal.config.RuntimeLockFactoryUtil.getRuntimeLockFactory;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Optional.empty;
@@ -62,6 +64,7 @@ import org.mule.runtime.core.internal.exception.ContributedErrorTypeRepository;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
 import org.mule.runtime.dsl.api.ConfigResource;
 
+import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -233,7 +236,7 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
     final ArtifactAst artifactAst =
         createApplicationModel(getExtensions(muleContext.getExtensionManager()),
                                artifactDeclaration, resolveArtifactConfigResources(), getArtifactProperties(),
-                               disableXmlValidations, featureFlaggingService);
+                               disableXmlValidations, featureFlaggingService, resolveArtifactAstCache(muleContext));
 
     MuleArtifactContext muleArtifactContext;
     if (enableLazyInit) {
@@ -273,7 +276,8 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
                                              ConfigResource[] artifactConfigResources,
                                              Map<String, String> artifactProperties,
                                              boolean disableXmlValidations,
-                                             FeatureFlaggingService featureFlaggingService) {
+                                             FeatureFlaggingService featureFlaggingService,
+                                             Optional<ArtifactAstCache> artifactAstCache) {
     try {
       final ArtifactAst artifactAst;
 
@@ -281,9 +285,21 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
         if (artifactConfigResources.length == 0) {
           artifactAst = emptyArtifact();
         } else {
-          final AstXmlParser parser =
-              createMuleXmlParser(extensions, artifactProperties, disableXmlValidations, featureFlaggingService);
-          artifactAst = parser.parse(artifactConfigResources);
+          final Optional<String> cacheKey = artifactAstCache
+              .flatMap(cache -> cache.computeKey(artifactConfigResources, extensions, artifactProperties, artifactType,
+                                                 disableXmlValidations,
+                                                 featureFlaggingService.isEnabled(ENTITY_RESOLVER_FAIL_ON_FIRST_ERROR)));
+          final Optional<ArtifactAst> cachedArtifactAst =
+              cacheKey.flatMap(key -> artifactAstCache.get().get(key, extensions, resolveParentArtifact(featureFlaggingService)));
+
+          if (cachedArtifactAst.isPresent()) {
+            artifactAst = cachedArtifactAst.get();
+          } else {
+            final AstXmlParser parser =
+                createMuleXmlParser(extensions, artifactProperties, disableXmlValidations, featureFlaggingService);
+            artifactAst = parser.parse(artifactConfigResources);
+            cacheKey.ifPresent(key -> artifactAstCache.get().put(key, artifactAst));
+          }
         }
       } else {
         artifactAst = toArtifactast(artifactDeclaration, extensions);
@@ -297,6 +313,18 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
     }
   }
 
+  /**
+   * The AST of policies is not cached, since it depends on the AST of the application the policy is applied to.
+   */
+  private Optional<ArtifactAstCache> resolveArtifactAstCache(MuleContext muleContext) {
+    if (!getBoolean(ARTIFACT_AST_CACHE_PROPERTY_KEY) || POLICY.equals(artifactType)
+        || muleContext.getConfiguration().getWorkingDirectory() == null) {
+      return empty();
+    }
+
+    return of(new ArtifactAstCache(new File(muleContext.getConfiguration().getWorkingDirectory())));
+  }
+
   private AstXmlParser createMuleXmlParser(Set<ExtensionModel> extensions,
                                            Map<String, String> artifactProperties, boolean disableXmlValidations,
                                            FeatureFlaggingService featureFlaggingService) {
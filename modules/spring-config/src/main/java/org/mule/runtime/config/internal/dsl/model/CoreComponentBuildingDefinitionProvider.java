@@ -258,7 +258,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .add(baseDefinition.withIdentifier(LOGGER).withTypeDefinition(fromType(LoggerMessageProcessor.class))
             .withSetterParameterDefinition("message", fromSimpleParameter("message").build())
             .withSetterParameterDefinition("category", fromSimpleParameter("category").build())
-            .withSetterParameterDefinition("level", fromSimpleParameter("level").build()).build());
+            .withSetterParameterDefinition("level", fromSimpleParameter("level").build())
+            .withSetterParameterDefinition("async", fromSimpleParameter("async").build()).build());
 
     componentBuildingDefinitions
         .add(getSetVariablePropertyBaseBuilder(getAddVariableTransformerInstanceFactory(AddFlowVariableProcessor.class),
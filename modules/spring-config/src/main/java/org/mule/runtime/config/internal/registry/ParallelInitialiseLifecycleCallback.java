@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.registry;
+
+import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.newSetFromMap;
+import static java.util.concurrent.CompletableFuture.allOf;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.lifecycle.LifecycleLockDelegation;
+import org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback;
+import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
+import org.mule.runtime.core.internal.registry.Registry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link RegistryLifecycleCallback} for the initialise phase that initialises concurrently the objects that don't depend on each
+ * other, in the IO scheduler.
+ * <p>
+ * The ordering guarantees of the sequential initialisation are kept: all the objects of a type in the
+ * {@link SpringLifecycleObjectSorter} order are initialised before any of the following type, and each object is initialised
+ * after the objects it depends on according to the {@link BeanDependencyResolver}.
+ * <p>
+ * The mule context lifecycle lock is held by the thread that fires the phase while the objects are initialised, so the
+ * initialisations running in the IO scheduler are run through a {@link LifecycleLockDelegation}, making any
+ * {@link MuleContext#withLifecycleLock(Runnable)} done by them use a lock of their own instead.
+ *
+ * @since 4.5.0
+ */
+class ParallelInitialiseLifecycleCallback extends RegistryLifecycleCallback<Registry> {
+
+  /**
+   * System property to enable the concurrent initialisation of the objects in the registry of the deployed artifacts.
+   */
+  public static final String PARALLEL_INITIALISATION_PROPERTY_KEY = "mule.lifecycle.parallelInitialisation";
+
+  private static final Logger LOGGER = getLogger(ParallelInitialiseLifecycleCallback.class);
+
+  private final SpringRegistryLifecycleManager lifecycleManager;
+  private final MuleContext muleContext;
+  private final String schedulerName;
+
+  ParallelInitialiseLifecycleCallback(SpringRegistryLifecycleManager lifecycleManager, MuleContext muleContext,
+                                      String schedulerName) {
+    super(lifecycleManager);
+    this.lifecycleManager = lifecycleManager;
+    this.muleContext = muleContext;
+    this.schedulerName = schedulerName;
+  }
+
+  @Override
+  protected void applyLifecycle(LifecyclePhase phase) throws LifecycleException {
+    final SchedulerService schedulerService = muleContext.getSchedulerService();
+    if (schedulerService == null) {
+      super.applyLifecycle(phase);
+      return;
+    }
+
+    final SpringLifecycleObjectSorter sorter = lifecycleManager.sortObjectsForPhase(phase);
+    final Set<Object> duplicates = newSetFromMap(new ConcurrentHashMap<>());
+    final Scheduler scheduler = schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig().withName(schedulerName));
+    try {
+      for (List<Object> group : sorter.getSortedObjectGroups()) {
+        applyLifecycle(phase, duplicates, group, sorter, scheduler);
+      }
+    } finally {
+      scheduler.stop();
+    }
+  }
+
+  private void applyLifecycle(LifecyclePhase phase, Set<Object> duplicates, List<Object> group,
+                              SpringLifecycleObjectSorter sorter, Scheduler scheduler)
+      throws LifecycleException {
+    // The position of each object is kept, an object only waits for the dependencies initialised before it sequentially
+    final Map<Object, Integer> positions = new LinkedHashMap<>();
+    for (Object target : group) {
+      if (target != null && !duplicates.contains(target)) {
+        positions.putIfAbsent(target, positions.size());
+      }
+    }
+
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    final LifecycleLockDelegation delegation = new LifecycleLockDelegation(muleContext);
+    final List<CompletableFuture<Void>> initialisations = new ArrayList<>(positions.size());
+    for (Map.Entry<Object, Integer> entry : positions.entrySet()) {
+      final Object target = entry.getKey();
+      final CompletableFuture<?>[] dependencies = sorter.getDependencies(target).stream()
+          .filter(dependency -> {
+            Integer dependencyPosition = positions.get(dependency);
+            return dependencyPosition != null && dependencyPosition < entry.getValue();
+          })
+          .map(dependency -> initialisations.get(positions.get(dependency)))
+          .toArray(CompletableFuture<?>[]::new);
+
+      initialisations.add(allOf(dependencies)
+          .thenRunAsync(() -> withContextClassLoader(contextClassLoader,
+                                                     () -> applyDelegatingLock(phase, duplicates, target, delegation)),
+                        scheduler));
+    }
+
+    try {
+      allOf(initialisations.toArray(new CompletableFuture<?>[initialisations.size()])).join();
+    } catch (CompletionException e) {
+      // Report the failure of the first object in order, the ones depending on it fail with the same cause.
+      for (CompletableFuture<Void> initialisation : initialisations) {
+        if (initialisation.isCompletedExceptionally()) {
+          try {
+            initialisation.join();
+          } catch (CompletionException failure) {
+            final Throwable cause = failure.getCause();
+            if (cause instanceof LifecycleException) {
+              throw (LifecycleException) cause;
+            } else if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+              throw (Error) cause;
+            }
+            throw failure;
+          }
+        }
+      }
+      throw e;
+    }
+
+    LOGGER.debug("Phase '{}' applied concurrently to {} objects", phase.getName(), positions.size());
+  }
+
+  private void applyDelegatingLock(LifecyclePhase phase, Set<Object> duplicates, Object target,
+                                   LifecycleLockDelegation delegation) {
+    delegation.runDelegated(() -> {
+      try {
+        if (!duplicates.contains(target)) {
+          applyLifecycle(phase, duplicates, target);
+        }
+      } catch (LifecycleException e) {
+        throw new CompletionException(e);
+      }
+    });
+  }
+}
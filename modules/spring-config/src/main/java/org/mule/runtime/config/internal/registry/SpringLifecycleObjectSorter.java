@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.config.internal.registry;
 
+import static java.util.Collections.emptyList;
+
 import org.mule.runtime.core.internal.lifecycle.phases.DefaultLifecycleObjectSorter;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -24,6 +28,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 public class SpringLifecycleObjectSorter extends DefaultLifecycleObjectSorter {
 
   private final SpringRegistry registry;
+  private final Map<Object, List<Object>> dependencies = new IdentityHashMap<>();
 
   /**
    * Creates a new instance
@@ -42,8 +47,17 @@ public class SpringLifecycleObjectSorter extends DefaultLifecycleObjectSorter {
   @Override
   protected int doAddObject(String name, Object object, List<Object> bucket) {
     final List<Object> dependencies = registry.getBeanDependencyResolver().resolveBeanDependencies(name);
+    this.dependencies.put(object, dependencies);
     bucket.addAll(dependencies);
     bucket.add(object);
     return dependencies.size() + 1;
   }
+
+  /**
+   * @param object an object added to this sorter
+   * @return the objects the given {@code object} depends on, or an empty list if it was only added as a dependency of another one.
+   */
+  public List<Object> getDependencies(Object object) {
+    return dependencies.getOrDefault(object, emptyList());
+  }
 }
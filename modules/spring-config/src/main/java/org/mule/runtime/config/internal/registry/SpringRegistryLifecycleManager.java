@@ -7,6 +7,9 @@
 package org.mule.runtime.config.internal.registry;
 
 import static org.mule.runtime.config.internal.MuleArtifactContext.INNER_BEAN_PREFIX;
+import static org.mule.runtime.config.internal.registry.ParallelInitialiseLifecycleCallback.PARALLEL_INITIALISATION_PROPERTY_KEY;
+
+import static java.lang.Boolean.getBoolean;
 
 import org.mule.runtime.api.el.ExpressionLanguage;
 import org.mule.runtime.api.exception.MuleException;
@@ -37,6 +40,7 @@ import org.mule.runtime.core.internal.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback;
 import org.mule.runtime.core.internal.lifecycle.RegistryLifecycleManager;
 import org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter;
+import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
 import org.mule.runtime.core.internal.lifecycle.phases.MuleContextDisposePhase;
 import org.mule.runtime.core.internal.lifecycle.phases.MuleContextInitialisePhase;
 import org.mule.runtime.core.internal.lifecycle.phases.MuleContextStartPhase;
@@ -61,7 +65,10 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
     final RegistryLifecycleCallback<Registry> callback = new RegistryLifecycleCallback<>(this);
 
     registerPhase(NotInLifecyclePhase.PHASE_NAME, new NotInLifecyclePhase(), new EmptyLifecycleCallback<>());
-    registerPhase(Initialisable.PHASE_NAME, new SpringContextInitialisePhase(), callback);
+    registerPhase(Initialisable.PHASE_NAME, new SpringContextInitialisePhase(),
+                  getBoolean(PARALLEL_INITIALISATION_PROPERTY_KEY)
+                      ? new ParallelInitialiseLifecycleCallback(this, muleContext, lifecycleManagerId + ".initialise")
+                      : callback);
     registerPhase(Startable.PHASE_NAME, new MuleContextStartPhase(), callback);
     registerPhase(Stoppable.PHASE_NAME, new MuleContextStopPhase(), callback);
     registerPhase(Disposable.PHASE_NAME, new SpringContextDisposePhase(), callback);
@@ -72,6 +79,12 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
     return getSpringRegistry().lookupEntriesForLifecycleIncludingAncestors(Object.class);
   }
 
+  SpringLifecycleObjectSorter sortObjectsForPhase(LifecyclePhase phase) {
+    SpringLifecycleObjectSorter sorter = (SpringLifecycleObjectSorter) phase.newLifecycleObjectSorter();
+    lookupObjectsForLifecycle().forEach(sorter::addObject);
+    return sorter;
+  }
+
   // ///////////////////////////////////////////////////////////////////////////////////
   // Spring custom lifecycle phases
   // ///////////////////////////////////////////////////////////////////////////////////
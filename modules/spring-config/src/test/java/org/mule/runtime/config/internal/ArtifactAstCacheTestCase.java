@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal;
+
+import static org.mule.runtime.ast.api.util.MuleAstUtils.emptyArtifact;
+import static org.mule.runtime.config.internal.ArtifactAstCache.CACHE_DIR;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.DOMAIN;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ImportedResource;
+import org.mule.runtime.dsl.api.ConfigResource;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactAstCacheTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder workingDir = new TemporaryFolder();
+
+  private ArtifactAstCache cache;
+  private File configFile;
+
+  @Before
+  public void before() throws IOException {
+    cache = new ArtifactAstCache(workingDir.getRoot());
+    configFile = workingDir.newFile("config.xml");
+    writeStringToFile(configFile, "<mule/>", UTF_8);
+  }
+
+  @Test
+  public void sameKeyForUnchangedArtifact() throws IOException {
+    assertThat(computeKey(), is(computeKey()));
+  }
+
+  @Test
+  public void keyChangesWithConfigContent() throws IOException {
+    final String key = computeKey();
+    writeStringToFile(configFile, "<mule><flow name=\"flow\"/></mule>", UTF_8);
+
+    assertThat(computeKey(), is(not(key)));
+  }
+
+  @Test
+  public void keyChangesWithArtifactProperties() throws IOException {
+    final String key = cache.computeKey(configResources(), emptySet(), singletonMap("env", "dev"), APP, false, false).get();
+
+    assertThat(cache.computeKey(configResources(), emptySet(), singletonMap("env", "prod"), APP, false, false).get(),
+               is(not(key)));
+  }
+
+  @Test
+  public void keyChangesWithParserSettings() throws IOException {
+    final String key = computeKey();
+
+    assertThat(cache.computeKey(configResources(), emptySet(), emptyMap(), APP, true, false).get(), is(not(key)));
+    assertThat(cache.computeKey(configResources(), emptySet(), emptyMap(), DOMAIN, false, false).get(), is(not(key)));
+  }
+
+  @Test
+  public void noKeyForStreamResources() {
+    ConfigResource streamResource = new ConfigResource("config.xml", new ByteArrayInputStream("<mule/>".getBytes(UTF_8)));
+
+    assertThat(cache.computeKey(new ConfigResource[] {streamResource}, emptySet(), emptyMap(), APP, false, false).isPresent(),
+               is(false));
+  }
+
+  @Test
+  public void missingEntry() throws IOException {
+    assertThat(cache.get(computeKey(), emptySet(), null).isPresent(), is(false));
+  }
+
+  @Test
+  public void onlyLatestEntryIsKept() throws IOException {
+    final String oldKey = computeKey();
+    cache.put(oldKey, emptyArtifact());
+    writeStringToFile(configFile, "<mule><flow name=\"flow\"/></mule>", UTF_8);
+    final String newKey = computeKey();
+    cache.put(newKey, emptyArtifact());
+
+    assertThat(cache.get(newKey, emptySet(), null).isPresent(), is(true));
+    assertThat(cache.get(oldKey, emptySet(), null).isPresent(), is(false));
+    assertThat(new File(workingDir.getRoot(), CACHE_DIR).list().length, is(1));
+  }
+
+  @Test
+  public void corruptedEntryIsDiscarded() throws IOException {
+    final String key = computeKey();
+    cache.put(key, emptyArtifact());
+    File cacheFile = new File(new File(workingDir.getRoot(), CACHE_DIR), key + ".ast");
+    writeStringToFile(cacheFile, "{not an ast", UTF_8);
+
+    assertThat(cache.get(key, emptySet(), null).isPresent(), is(false));
+    assertThat(cacheFile.exists(), is(false));
+  }
+
+  @Test
+  public void artifactWithImportsIsNotCached() throws IOException {
+    final ArtifactAst artifactAst = mock(ArtifactAst.class);
+    when(artifactAst.getImportedResources()).thenReturn(singletonList(mock(ImportedResource.class)));
+    final String key = computeKey();
+    cache.put(key, artifactAst);
+
+    assertThat(cache.get(key, emptySet(), null).isPresent(), is(false));
+    assertThat(new File(workingDir.getRoot(), CACHE_DIR).exists(), is(false));
+  }
+
+  private String computeKey() throws IOException {
+    return cache.computeKey(configResources(), emptySet(), emptyMap(), APP, false, false).get();
+  }
+
+  private ConfigResource[] configResources() throws IOException {
+    return new ConfigResource[] {new ConfigResource(configFile.toURI().toURL())};
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.registry;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.internal.lifecycle.LifecycleLockDelegation.getLifecycleLock;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LIFECYCLE_AND_DEPENDENCY_INJECTION;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LifecyclePhaseStory.LIFECYCLE_PHASE_STORY;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(LIFECYCLE_AND_DEPENDENCY_INJECTION)
+@Story(LIFECYCLE_PHASE_STORY)
+public class ParallelInitialiseLifecycleCallbackTestCase extends AbstractMuleTestCase {
+
+  private static final long INITIALISATION_MILLIS = 20;
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private final BeanDependencyResolver dependencyResolver = mock(BeanDependencyResolver.class);
+  private final LifecyclePhase phase = mock(LifecyclePhase.class);
+
+  // Logical clock to order the start and end of the initialisations
+  private final AtomicInteger clock = new AtomicInteger();
+  private final Map<Object, Integer> starts = new ConcurrentHashMap<>();
+  private final Map<Object, Integer> ends = new ConcurrentHashMap<>();
+
+  private MuleContext muleContext;
+  private SpringLifecycleObjectSorter sorter;
+  private ParallelInitialiseLifecycleCallback callback;
+
+  @Before
+  public void before() throws Exception {
+    muleContext = mock(MuleContext.class);
+    when(muleContext.getSchedulerService()).thenReturn(schedulerService);
+    when(muleContext.getSchedulerBaseConfig()).thenReturn(config());
+
+    final SpringRegistry registry = mock(SpringRegistry.class);
+    when(registry.getBeanDependencyResolver()).thenReturn(dependencyResolver);
+    sorter = new SpringLifecycleObjectSorter(new Class<?>[] {EarlyObject.class, Object.class}, registry);
+
+    final SpringRegistryLifecycleManager lifecycleManager = mock(SpringRegistryLifecycleManager.class);
+    when(lifecycleManager.sortObjectsForPhase(phase)).thenReturn(sorter);
+    callback = new ParallelInitialiseLifecycleCallback(lifecycleManager, muleContext, "test.initialise");
+
+    when(phase.getName()).thenReturn("initialise");
+    doAnswer(invocation -> {
+      final Object target = invocation.getArgument(0);
+      starts.put(target, clock.incrementAndGet());
+      Thread.sleep(INITIALISATION_MILLIS);
+      ends.put(target, clock.incrementAndGet());
+      return null;
+    }).when(phase).applyLifecycle(any());
+  }
+
+  @After
+  public void after() throws Exception {
+    schedulerService.stop();
+  }
+
+  @Test
+  public void groupsAreInitialisedInOrder() throws Exception {
+    final Object[] lateObjects = {new Object(), new Object(), new Object()};
+    final Object[] earlyObjects = {new EarlyObject(), new EarlyObject(), new EarlyObject()};
+    for (int i = 0; i < lateObjects.length; ++i) {
+      sorter.addObject("late" + i, lateObjects[i]);
+      sorter.addObject("early" + i, earlyObjects[i]);
+    }
+
+    callback.applyLifecycle(phase);
+
+    assertThat(ends.keySet(), hasSize(6));
+    for (Object early : earlyObjects) {
+      for (Object late : lateObjects) {
+        assertThat(starts.get(late), greaterThan(ends.get(early)));
+      }
+    }
+  }
+
+  @Test
+  public void dependenciesAreInitialisedFirst() throws Exception {
+    final Object first = new Object();
+    final Object second = new Object();
+    final Object dependant = new Object();
+    when(dependencyResolver.resolveBeanDependencies("dependant")).thenReturn(asList(first, second));
+    sorter.addObject("dependant", dependant);
+    sorter.addObject("first", first);
+    sorter.addObject("second", second);
+
+    callback.applyLifecycle(phase);
+
+    assertThat(ends.keySet(), hasSize(3));
+    assertThat(starts.get(dependant), greaterThan(ends.get(first)));
+    assertThat(starts.get(dependant), greaterThan(ends.get(second)));
+  }
+
+  @Test
+  public void independentObjectsAreInitialisedConcurrently() throws Exception {
+    final CyclicBarrier barrier = new CyclicBarrier(2);
+    doAnswer(invocation -> barrier.await(5, SECONDS)).when(phase).applyLifecycle(any());
+    sorter.addObject("first", new Object());
+    sorter.addObject("second", new Object());
+
+    // Would time out if the objects were initialised one after the other
+    callback.applyLifecycle(phase);
+  }
+
+  @Test
+  public void firstFailureIsReported() throws Exception {
+    final Object first = new Object();
+    final Object second = new Object();
+    final LifecycleException firstFailure = new LifecycleException(createStaticMessage("first"), first);
+    doAnswer(invocation -> {
+      final Object target = invocation.getArgument(0);
+      if (target == first) {
+        // Let the other one fail before
+        Thread.sleep(INITIALISATION_MILLIS);
+        throw firstFailure;
+      }
+      throw new LifecycleException(createStaticMessage("second"), target);
+    }).when(phase).applyLifecycle(any());
+    sorter.addObject("first", first);
+    sorter.addObject("second", second);
+
+    try {
+      callback.applyLifecycle(phase);
+      fail("Expected the initialisation to fail");
+    } catch (LifecycleException e) {
+      assertThat(e, is(sameInstance(firstFailure)));
+    }
+  }
+
+  @Test
+  public void lifecycleLockHolderDoesNotDeadlockInitialisations() throws Exception {
+    final Object lifecycleLock = new Object();
+    final AtomicInteger initialised = new AtomicInteger();
+    // The same as MuleContext#withLifecycleLock, done for instance when registering objects while initialising
+    doAnswer(invocation -> {
+      synchronized (getLifecycleLock(muleContext, lifecycleLock)) {
+        initialised.incrementAndGet();
+      }
+      return null;
+    }).when(phase).applyLifecycle(any());
+    sorter.addObject("first", new Object());
+    sorter.addObject("second", new Object());
+
+    synchronized (lifecycleLock) {
+      callback.applyLifecycle(phase);
+    }
+
+    assertThat(initialised.get(), is(2));
+  }
+
+  public static class EarlyObject {
+
+  }
+}
@@ -439,6 +439,14 @@ class MuleExtensionModelDeclarer {
         .ofType(STRING_TYPE)
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("Sets the log category.");
+
+    logger.onDefaultParameterGroup()
+        .withOptionalParameter("async")
+        .ofType(BOOLEAN_TYPE)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Whether the message is written to the log in the background instead of in the flow thread. The message is "
+            + "still evaluated in the flow thread. If not specified, the value of the '"
+            + "mule.logger.async' system property is used.");
   }
 
   private void declareSetPayload(ExtensionDeclarer extensionDeclarer) {
@@ -262,7 +262,7 @@ public class CoreExtensionModelTestCase {
     assertOutputSameAsInput(loggerModel);
 
     final List<ParameterModel> paramModels = loggerModel.getAllParameterModels();
-    assertThat(paramModels, hasSize(3));
+    assertThat(paramModels, hasSize(4));
 
     assertThat(paramModels.get(0).getName(), is("message"));
     assertThat(paramModels.get(0).getExpressionSupport(), is(SUPPORTED));
@@ -278,6 +278,11 @@ public class CoreExtensionModelTestCase {
     assertThat(paramModels.get(2).getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(paramModels.get(2).getType(), instanceOf(StringType.class));
     assertThat(paramModels.get(2).isRequired(), is(false));
+
+    assertThat(paramModels.get(3).getName(), is("async"));
+    assertThat(paramModels.get(3).getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(paramModels.get(3).getType(), instanceOf(DefaultBooleanType.class));
+    assertThat(paramModels.get(3).isRequired(), is(false));
   }
 
   @Test
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.context.notification.FlowCallStack;
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of keeping the {@link DefaultFlowCallStack} of an event going through nested flow-refs, with the flow stack
+ * being cloned for each processor as {@link MessageProcessingFlowTraceManager} does when flow tracing is enabled.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class FlowCallStackBenchmark extends AbstractBenchmark {
+
+  private static final int PROCESSORS_PER_FLOW = 5;
+
+  @Param({"1", "10", "40"})
+  public int nesting;
+
+  private FlowStackElement[] flowElements;
+  private String[][] processorPaths;
+  private DefaultFlowCallStack deepStack;
+
+  @Setup
+  public void setUp() {
+    flowElements = new FlowStackElement[nesting];
+    processorPaths = new String[nesting][PROCESSORS_PER_FLOW];
+    deepStack = new DefaultFlowCallStack();
+    for (int i = 0; i < nesting; ++i) {
+      flowElements[i] = new FlowStackElement("flow" + i, null);
+      for (int j = 0; j < PROCESSORS_PER_FLOW; ++j) {
+        processorPaths[i][j] = "flow" + i + "/processors/" + j;
+      }
+      deepStack.push(flowElements[i]);
+    }
+  }
+
+  @Benchmark
+  public void nestedFlowRefs(Blackhole blackhole) {
+    final DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    for (int i = 0; i < nesting; ++i) {
+      stack.push(flowElements[i]);
+      for (String processorPath : processorPaths[i]) {
+        stack.pushCurrentProcessorPath(processorPath);
+        blackhole.consume(stack.clone());
+      }
+    }
+    for (int i = 0; i < nesting; ++i) {
+      blackhole.consume(stack.pop());
+    }
+  }
+
+  @Benchmark
+  public FlowCallStack cloneDeepStack() {
+    return deepStack.clone();
+  }
+
+  @Benchmark
+  public FlowStackElement peekDeepStack() {
+    return deepStack.peek();
+  }
+}
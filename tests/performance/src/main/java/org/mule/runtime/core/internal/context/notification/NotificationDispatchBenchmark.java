@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.notification.AbstractServerNotification;
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.core.api.context.notification.ListenerSubscriptionPair;
+import org.mule.runtime.core.api.context.notification.NotifierCallback;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the overhead of dispatching a notification and checking whether it is enabled, as done for each processor of each
+ * event when {@link org.mule.runtime.api.notification.MessageProcessorNotification} listeners are registered.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class NotificationDispatchBenchmark extends AbstractBenchmark {
+
+  @Param({"0", "1", "10"})
+  public int listeners;
+
+  private Configuration configuration;
+  private Notification notification;
+  private Notification subNotification;
+  private NotifierCallback notifier;
+  private Blackhole blackhole;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    configuration = new Configuration();
+    configuration.addInterfaceToType(BenchmarkNotificationListener.class, BenchmarkNotification.class);
+    for (int i = 0; i < listeners; ++i) {
+      configuration.addListenerSubscriptionPair(new ListenerSubscriptionPair(new BenchmarkNotificationListener()));
+    }
+
+    notification = new BenchmarkNotification();
+    subNotification = new BenchmarkSubNotification();
+    notifier = (listener, nfn) -> listener.onNotification(nfn);
+  }
+
+  @Benchmark
+  public void dispatch() {
+    configuration.getPolicy().dispatch(notification, notifier);
+  }
+
+  @Benchmark
+  public void dispatchSubclass() {
+    configuration.getPolicy().dispatch(subNotification, notifier);
+  }
+
+  @Benchmark
+  public boolean isNotificationEnabled() {
+    return configuration.getPolicy().isNotificationEnabled(BenchmarkNotification.class);
+  }
+
+  public static class BenchmarkNotification extends AbstractServerNotification {
+
+    public BenchmarkNotification() {
+      super("", 0);
+    }
+
+    @Override
+    public String getEventName() {
+      return "BenchmarkNotification";
+    }
+  }
+
+  public static class BenchmarkSubNotification extends BenchmarkNotification {
+
+  }
+
+  public class BenchmarkNotificationListener implements NotificationListener<BenchmarkNotification> {
+
+    @Override
+    public void onNotification(BenchmarkNotification notification) {
+      blackhole.consume(notification);
+    }
+  }
+}
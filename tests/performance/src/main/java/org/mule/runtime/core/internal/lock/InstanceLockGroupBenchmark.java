@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import org.mule.AbstractBenchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the throughput of many threads locking and unlocking through the same {@link InstanceLockGroup}, as happens with every
+ * user of a {@link org.mule.runtime.api.lock.LockFactory} in an application (i.e.: idempotent redelivery policy or polling
+ * sources watermark).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "64", "4096"})
+  public int lockIds;
+
+  private InstanceLockGroup lockGroup;
+  private String[] keys;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+    keys = new String[lockIds];
+    for (int i = 0; i < lockIds; i++) {
+      keys[i] = "lock-" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void lockUnlockSingleThread() {
+    lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void lockUnlock32Threads() {
+    lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void lockUnlock64Threads() {
+    lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public boolean tryLockUnlock32Threads() {
+    final String key = randomKey();
+    if (lockGroup.tryLock(key)) {
+      lockGroup.unlock(key);
+      return true;
+    }
+    return false;
+  }
+
+  private void lockUnlock() {
+    final String key = randomKey();
+    lockGroup.lock(key);
+    lockGroup.unlock(key);
+  }
+
+  private String randomKey() {
+    return keys[ThreadLocalRandom.current().nextInt(lockIds)];
+  }
+}
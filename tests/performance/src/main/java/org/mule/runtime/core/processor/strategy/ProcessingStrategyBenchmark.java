@@ -19,7 +19,9 @@ import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.TransactionAwareStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -41,6 +43,8 @@ import reactor.core.publisher.MonoSink;
 @BenchmarkMode(Mode.Throughput)
 public class ProcessingStrategyBenchmark extends AbstractBenchmark {
 
+  private static final int SKEWED_EVENTS_RATIO = 50;
+
   private MuleContext muleContext;
 
   private ProcessingStrategy directPs;
@@ -59,6 +63,8 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   private Sink directAllSink;
   private Sink emitterAllSink;
 
+  private Sink emitterSkewedSink;
+
   @Setup(Level.Trial)
   public void setUp() throws MuleException {
     muleContext = createMuleContextWithServices();
@@ -94,6 +100,25 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
         directPs.createSink(flow, publisher -> baseFlux(publisher, directPs.onPipeline(directPs.onProcessor(processor))));
     emitterAllSink =
         emitterPs.createSink(flow, publisher -> baseFlux(publisher, emitterPs.onPipeline(emitterPs.onProcessor(processor))));
+
+    // One in every SKEWED_EVENTS_RATIO events takes much longer than the rest, as a slow request would
+    final AtomicLong eventCount = new AtomicLong();
+    final ReactiveProcessor skewedProcessor = p -> Flux.from(p).doOnNext(e -> {
+      Blackhole.consumeCPU(eventCount.incrementAndGet() % SKEWED_EVENTS_RATIO == 0 ? 100 * SKEWED_EVENTS_RATIO : 100);
+    });
+    emitterSkewedSink =
+        emitterPs.createSink(flow,
+                             publisher -> completingFlux(publisher, emitterPs.onPipeline(emitterPs.onProcessor(skewedProcessor))));
+  }
+
+  /**
+   * Same as {@link #baseFlux(Publisher, Function)}, but also completes the event context of each event, as the flow would do, so
+   * that the sink sees the events as no longer in flight.
+   */
+  private Flux<CoreEvent> completingFlux(Publisher<CoreEvent> publisher,
+                                         Function<? super Flux<CoreEvent>, ? extends Publisher<CoreEvent>> transformFunction) {
+    return baseFlux(Flux.from(publisher).transform(transformFunction),
+                    flux -> flux.doOnNext(event -> ((BaseEventContext) event.getContext()).success(event)));
   }
 
   private Flux<CoreEvent> baseFlux(Publisher<CoreEvent> publisher,
@@ -153,4 +178,10 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   public CoreEvent emitterAllSink() {
     return Mono.<CoreEvent>create(resultSink -> emitterAllSink.accept(createEvent(flow, resultSink))).block();
   }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent emitterSkewedSink() {
+    return Mono.<CoreEvent>create(resultSink -> emitterSkewedSink.accept(createEvent(flow, resultSink))).block();
+  }
 }
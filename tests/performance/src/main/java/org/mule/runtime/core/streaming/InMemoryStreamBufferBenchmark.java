@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.api.util.DataUnit.KB;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.internal.streaming.bytes.InMemoryStreamBuffer;
+import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the throughput of many threads reading already buffered data from the same {@link InMemoryStreamBuffer}, as happens
+ * when several cursors of the same provider are consumed concurrently (i.e.: scatter-gather or parallel-foreach).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class InMemoryStreamBufferBenchmark extends AbstractBenchmark {
+
+  private static final int READ_LENGTH = KB.toBytes(8);
+
+  @Param({"1048576", "20971520"})
+  public int dataSize;
+
+  private PoolingByteBufferManager bufferManager;
+  private InMemoryStreamBuffer buffer;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    bufferManager = new PoolingByteBufferManager();
+    InMemoryCursorStreamConfig config = new InMemoryCursorStreamConfig(new DataSize(KB.toBytes(256), BYTE),
+                                                                       new DataSize(KB.toBytes(256), BYTE),
+                                                                       new DataSize(0, BYTE));
+
+    buffer = new InMemoryStreamBuffer(new ByteArrayInputStream(randomAlphanumeric(dataSize).getBytes()), config,
+                                      bufferManager);
+
+    // fully buffer the stream so that the benchmark only measures the read path
+    long position = 0;
+    ByteBuffer read;
+    while ((read = buffer.get(position, READ_LENGTH)) != null) {
+      position += read.remaining();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    buffer.close();
+    bufferManager.dispose();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public ByteBuffer singleReader() {
+    return randomRead();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public ByteBuffer eightReaders() {
+    return randomRead();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public ByteBuffer maxReaders() {
+    return randomRead();
+  }
+
+  private ByteBuffer randomRead() {
+    return buffer.get(ThreadLocalRandom.current().nextInt(dataSize - READ_LENGTH), READ_LENGTH);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.file.Files.createTempDirectory;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.core.api.util.queue.QueueConfiguration.MAXIMUM_CAPACITY;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.queue.DualRandomAccessFileQueueStoreDelegate;
+import org.mule.runtime.core.internal.util.queue.QueueStoreDelegate;
+import org.mule.runtime.core.internal.util.queue.SegmentedFileQueueStoreDelegate;
+
+import java.io.File;
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the enqueue/dequeue throughput of the persistent {@link QueueStoreDelegate} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class PersistentQueueStoreDelegateBenchmark extends AbstractBenchmark {
+
+  private static final String QUEUE_NAME = "benchmark-queue";
+
+  @Param({"dual", "segmented"})
+  public String delegateType;
+
+  private MuleContext muleContext;
+  private File workingDirectory;
+  private QueueStoreDelegate delegate;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    muleContext = createMuleContextWithServices();
+    workingDirectory = createTempDirectory("queue-benchmark").toFile();
+
+    if ("segmented".equals(delegateType)) {
+      delegate = new SegmentedFileQueueStoreDelegate(QUEUE_NAME, workingDirectory.getAbsolutePath(), muleContext,
+                                                     MAXIMUM_CAPACITY);
+    } else {
+      delegate = new DualRandomAccessFileQueueStoreDelegate(QUEUE_NAME, workingDirectory.getAbsolutePath(), muleContext,
+                                                            MAXIMUM_CAPACITY);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    delegate.dispose();
+    muleContext.dispose();
+    deleteQuietly(workingDirectory);
+  }
+
+  @Benchmark
+  public Serializable putAndPoll() throws InterruptedException {
+    delegate.putNow(PAYLOAD);
+    return delegate.poll(0);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.impl.internal.artifact;
+
+import static org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader.CLASS_LIST_PROPERTY_KEY;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.FileUtils.toFile;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.container.internal.MuleClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the start of an artifact with and without the classes of its class loader preloaded from the list stored by
+ * {@link ArtifactClassLists} in a previous start.
+ * <p>
+ * Each invocation creates a new class loader, runs the initialisation work of the artifact, simulated by {@link #initialisation}
+ * tokens of CPU work, and then loads the classes the artifact uses. When {@link #preload} is set, the classes are preloaded in
+ * the background from the moment the class loader is created, as done when deploying an artifact.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+public class ArtifactClassListsBenchmark extends AbstractBenchmark {
+
+  private static final String ARTIFACT_ID = "benchmark";
+
+  @Param({"false", "true"})
+  public boolean preload;
+
+  @Param({"0", "5000000"})
+  public long initialisation;
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private final List<String> classNames = new ArrayList<>();
+  private File classListsFolder;
+  private ArtifactClassLists classLists;
+  private URL jarUrl;
+
+  private MuleArtifactClassLoader classLoader;
+  private Scheduler preloader;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    System.setProperty(CLASS_LIST_PROPERTY_KEY, "true");
+    classListsFolder = createTempDirectory("class-lists-benchmark").toFile();
+    classLists = new ArtifactClassLists(classListsFolder);
+
+    // The classes of a jar not loaded by the class loaders of the benchmark
+    jarUrl = IOUtils.class.getProtectionDomain().getCodeSource().getLocation();
+    try (JarFile jarFile = new JarFile(toFile(jarUrl))) {
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        final String entryName = entries.nextElement().getName();
+        if (entryName.endsWith(".class") && !entryName.contains("-")) {
+          classNames.add(entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.'));
+        }
+      }
+    }
+
+    // Training start, storing the list of loaded classes
+    final MuleArtifactClassLoader trainingClassLoader = createClassLoader();
+    loadClasses(trainingClassLoader);
+    classLists.write(trainingClassLoader);
+    trainingClassLoader.dispose();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    schedulerService.stop();
+    System.clearProperty(CLASS_LIST_PROPERTY_KEY);
+    deleteQuietly(classListsFolder);
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    classLoader = createClassLoader();
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDownInvocation() {
+    if (preloader != null) {
+      preloader.stop();
+      preloader = null;
+    }
+    classLoader.dispose();
+  }
+
+  @Benchmark
+  public int start() {
+    if (preload) {
+      preloader = classLists.preloadAsync(schedulerService, ARTIFACT_ID, singletonList(classLoader));
+    }
+    Blackhole.consumeCPU(initialisation);
+    return loadClasses(classLoader);
+  }
+
+  private MuleArtifactClassLoader createClassLoader() {
+    return new MuleArtifactClassLoader(ARTIFACT_ID, new ArtifactDescriptor(ARTIFACT_ID), new URL[] {jarUrl},
+                                       ArtifactClassListsBenchmark.class.getClassLoader(),
+                                       new MuleClassLoaderLookupPolicy(emptyMap(), emptySet()));
+  }
+
+  private int loadClasses(ClassLoader classLoader) {
+    int loadedClasses = 0;
+    for (String className : classNames) {
+      try {
+        Class.forName(className, false, classLoader);
+        loadedClasses++;
+      } catch (ClassNotFoundException | LinkageError e) {
+        // Not loaded in any of the cases
+      }
+    }
+    return loadedClasses;
+  }
+}
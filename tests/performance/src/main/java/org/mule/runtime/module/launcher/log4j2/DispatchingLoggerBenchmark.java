@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.selector.BasicContextSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the overhead of checking whether a level is enabled through a {@link DispatchingLogger}, as done by DEBUG guarded
+ * logging when DEBUG is disabled, both when the logger is used from the classloader that owns it and from another one.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class DispatchingLoggerBenchmark extends AbstractBenchmark {
+
+  private static final String LOGGER_NAME = DispatchingLoggerBenchmark.class.getName();
+
+  @Param({"true", "false"})
+  public boolean ownerContextClassLoader;
+
+  private LoggerContext loggerContext;
+  private Logger logger;
+
+  @Setup
+  public void setUp() {
+    loggerContext = new LoggerContext("benchmark");
+    loggerContext.start();
+
+    int resolvedClassLoaderHash = resolveLoggerContextClassLoader(currentThread().getContextClassLoader()).hashCode();
+    logger = new DispatchingLogger(loggerContext.getLogger(LOGGER_NAME),
+                                   ownerContextClassLoader ? resolvedClassLoaderHash : resolvedClassLoaderHash + 1,
+                                   loggerContext, new BasicContextSelector(), loggerContext.getLogger(LOGGER_NAME)
+                                       .getMessageFactory()) {};
+  }
+
+  @TearDown
+  public void tearDown() {
+    loggerContext.stop();
+  }
+
+  @Benchmark
+  public boolean isDebugEnabled() {
+    return logger.isDebugEnabled();
+  }
+
+  @Benchmark
+  public void debugNotLogged() {
+    logger.debug("Not logged {}", LOGGER_NAME);
+  }
+}